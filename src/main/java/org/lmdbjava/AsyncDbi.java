@@ -0,0 +1,88 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Asynchronous operations on a {@link Dbi}, run on the threads of an {@link AsyncEnv}.
+ *
+ * <p>The passed buffers must remain unchanged until the returned future completes.
+ *
+ * @param <T> buffer type
+ */
+public final class AsyncDbi<T> {
+
+  private final Dbi<T> dbi;
+  private final AsyncEnv<T> env;
+  private final BufferProxy<T> proxy;
+
+  AsyncDbi(final AsyncEnv<T> env, final Dbi<T> dbi) {
+    this.env = env;
+    this.dbi = dbi;
+    this.proxy = dbi.proxy();
+  }
+
+  /**
+   * Delete a key in its own read-write transaction.
+   *
+   * @param key key to delete from the database (not null)
+   * @return a future completed with true if the key/data pair was found
+   * @see Dbi#delete(Txn, Object)
+   */
+  public CompletableFuture<Boolean> delete(final T key) {
+    requireNonNull(key);
+    return env.write(txn -> dbi.delete(txn, key));
+  }
+
+  /**
+   * Get the value of a key.
+   *
+   * <p>The value is copied out of the transaction, so the returned buffer is owned by the caller.
+   *
+   * @param key key to search for in the database (not null)
+   * @return a future completed with a copy of the data, or null if not found
+   * @see Dbi#get(Txn, Object)
+   */
+  public CompletableFuture<T> get(final T key) {
+    requireNonNull(key);
+    return env.read(
+        txn -> {
+          final T val = dbi.get(txn, key);
+          return val == null ? null : proxy.fromBytes(proxy.getBytes(val));
+        });
+  }
+
+  /**
+   * Store a key/data pair in its own read-write transaction.
+   *
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   * @return a future completed once the transaction commits
+   * @see Dbi#put(Txn, Object, Object)
+   */
+  public CompletableFuture<Void> put(final T key, final T val) {
+    requireNonNull(key);
+    requireNonNull(val);
+    return env.write(
+        txn -> {
+          dbi.put(txn, key, val);
+          return null;
+        });
+  }
+}
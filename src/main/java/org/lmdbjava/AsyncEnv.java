@@ -0,0 +1,181 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+/**
+ * Asynchronous access to an {@link Env}, so that callers such as event loops never block on page
+ * faults or commits.
+ *
+ * <p>Reads run on a fixed pool of threads. Each pool thread owns one read-only {@link Txn}, which
+ * is reset after every task and renewed for the next, so no transaction is created per read. The
+ * pool therefore holds one reader slot per thread for its lifetime, and its size must leave room
+ * within the {@link Env}'s maximum readers for any other readers. As each transaction stays on the
+ * thread that began it, the {@link Env} does not need {@link EnvFlags#MDB_NOTLS}, and closing this
+ * instance releases the slots.
+ *
+ * <p>Writes run one at a time on a single writer thread, each in its own read-write {@link Txn}
+ * that commits if the function returns normally and aborts otherwise.
+ *
+ * <p>Functions run on these threads and must not return buffers owned by their {@link Txn}, as the
+ * transaction ends before the future completes. Buffers passed in must remain unchanged until the
+ * future completes. Dependent stages added without an executor may also run on these threads, so
+ * use the asynchronous variants for blocking or lengthy work.
+ *
+ * <p>Closing this instance waits for queued work to finish, but does not close the {@link Env}.
+ *
+ * @param <T> buffer type
+ */
+public final class AsyncEnv<T> implements AutoCloseable {
+
+  private final Env<T> env;
+  private final ExecutorService readers;
+  private final ThreadLocal<Txn<T>> readTxn = new ThreadLocal<>();
+  private final List<Txn<T>> readTxns = new ArrayList<>();
+  private final ExecutorService writer;
+
+  /**
+   * Create an instance and start its threads.
+   *
+   * @param env the environment (required)
+   * @param readThreads number of read threads (must be positive)
+   */
+  public AsyncEnv(final Env<T> env, final int readThreads) {
+    requireNonNull(env);
+    if (readThreads <= 0) {
+      throw new IllegalArgumentException("Read threads must be positive");
+    }
+    this.env = env;
+    final AtomicInteger count = new AtomicInteger();
+    this.readers =
+        Executors.newFixedThreadPool(
+            readThreads,
+            r -> {
+              final Thread thread = new Thread(r, "lmdb-async-reader-" + count.getAndIncrement());
+              thread.setDaemon(true);
+              return thread;
+            });
+    this.writer =
+        Executors.newSingleThreadExecutor(
+            r -> {
+              final Thread thread = new Thread(r, "lmdb-async-writer");
+              thread.setDaemon(true);
+              return thread;
+            });
+  }
+
+  /** Wait for queued work to finish, then stop the threads and close the read transactions. */
+  @Override
+  public void close() {
+    readers.shutdown();
+    writer.shutdown();
+    try {
+      while (!readers.awaitTermination(1, TimeUnit.SECONDS)
+          || !writer.awaitTermination(1, TimeUnit.SECONDS)) {
+        // keep waiting; tasks cannot be abandoned while they use the transactions
+      }
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LmdbException("Interrupted waiting for asynchronous work", e);
+    }
+    synchronized (readTxns) {
+      for (final Txn<T> txn : readTxns) {
+        txn.close();
+      }
+      readTxns.clear();
+    }
+  }
+
+  /**
+   * Obtain an asynchronous view of a database of this environment.
+   *
+   * @param dbi the database (required)
+   * @return the asynchronous view
+   */
+  public AsyncDbi<T> dbi(final Dbi<T> dbi) {
+    requireNonNull(dbi);
+    if (dbi.env() != env) {
+      throw new IllegalArgumentException("Database belongs to another environment");
+    }
+    return new AsyncDbi<>(this, dbi);
+  }
+
+  /**
+   * Apply a function to a read-only transaction on a read thread.
+   *
+   * @param <R> result type
+   * @param fn the function, which must not return buffers owned by the transaction (required)
+   * @return a future completed with the result of the function
+   */
+  public <R> CompletableFuture<R> read(final Function<Txn<T>, R> fn) {
+    requireNonNull(fn);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          final Txn<T> txn = readTxn();
+          try {
+            return fn.apply(txn);
+          } finally {
+            txn.reset();
+          }
+        },
+        readers);
+  }
+
+  /**
+   * Apply a function to a read-write transaction on the writer thread, committing the transaction
+   * if the function returns normally.
+   *
+   * @param <R> result type
+   * @param fn the function, which must not return buffers owned by the transaction (required)
+   * @return a future completed with the result of the function once the transaction commits
+   */
+  public <R> CompletableFuture<R> write(final Function<Txn<T>, R> fn) {
+    requireNonNull(fn);
+    return CompletableFuture.supplyAsync(
+        () -> {
+          try (Txn<T> txn = env.txnWrite()) {
+            final R result = fn.apply(txn);
+            txn.commit();
+            return result;
+          }
+        },
+        writer);
+  }
+
+  private Txn<T> readTxn() {
+    final Txn<T> txn = readTxn.get();
+    if (txn != null) {
+      txn.renew();
+      return txn;
+    }
+    final Txn<T> created = env.txnRead();
+    readTxn.set(created);
+    synchronized (readTxns) {
+      readTxns.add(created);
+    }
+    return created;
+  }
+}
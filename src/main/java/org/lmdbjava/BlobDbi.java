@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.lang.Math.min;
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Arrays;
+
+/**
+ * Large values streamed to and from a {@link Dbi} without being held in memory.
+ *
+ * <p>A blob is stored as one or more chunks of at most the chunk size, each keyed by the blob key
+ * followed by the 4 byte big-endian chunk index. Chunks are written by reading the source directly
+ * into {@link PutFlags#MDB_RESERVE} space, and read through channels over the memory map, so blob
+ * content is never copied through an intermediate buffer. Chunking also allows blobs larger than
+ * the 2 GiB a single buffer can address.
+ *
+ * <p>The database must be dedicated to this class and must not use {@link DbiFlags#MDB_DUPSORT}.
+ *
+ * @param <T> buffer type
+ */
+public final class BlobDbi<T> {
+
+  /** The default maximum chunk size of 64 MiB. */
+  public static final int DEFAULT_CHUNK_SIZE = 64 * 1_024 * 1_024;
+
+  private final int chunkSize;
+  private final Dbi<T> dbi;
+  private final BufferProxy<T> proxy;
+
+  /**
+   * Create an instance with the default chunk size.
+   *
+   * @param dbi the database holding the chunks (required)
+   */
+  public BlobDbi(final Dbi<T> dbi) {
+    this(dbi, DEFAULT_CHUNK_SIZE);
+  }
+
+  /**
+   * Create an instance.
+   *
+   * @param dbi the database holding the chunks (required)
+   * @param chunkSize the maximum size of each chunk (must be positive)
+   */
+  public BlobDbi(final Dbi<T> dbi, final int chunkSize) {
+    requireNonNull(dbi);
+    if (chunkSize <= 0) {
+      throw new IllegalArgumentException("Chunk size must be positive");
+    }
+    this.dbi = dbi;
+    this.chunkSize = chunkSize;
+    this.proxy = dbi.proxy();
+  }
+
+  /**
+   * Delete a blob.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key of the blob (not null)
+   * @return true if the blob was present
+   */
+  public boolean delete(final Txn<T> txn, final T key) {
+    final byte[] keyBytes = proxy.getBytes(requireNonNull(key));
+    int index = 0;
+    while (dbi.delete(txn, chunkKey(keyBytes, index))) {
+      index++;
+    }
+    return index > 0;
+  }
+
+  /**
+   * Open a channel reading a blob.
+   *
+   * <p>The channel reads directly from the memory map and is only valid while the transaction is
+   * open, and for a read-write transaction until the database is next written.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key of the blob (not null)
+   * @return the channel, or null if the blob is not present
+   */
+  public ReadableByteChannel open(final Txn<T> txn, final T key) {
+    final byte[] keyBytes = proxy.getBytes(requireNonNull(key));
+    final ByteBuffer first = chunk(txn, keyBytes, 0, PROXY_OPTIMAL.allocate());
+    return first == null ? null : new BlobChannel(txn, keyBytes, first);
+  }
+
+  /**
+   * Open a stream reading a blob.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key of the blob (not null)
+   * @return the stream, or null if the blob is not present
+   * @see #open(Txn, Object)
+   */
+  public InputStream openStream(final Txn<T> txn, final T key) {
+    final ReadableByteChannel channel = open(txn, key);
+    return channel == null ? null : Channels.newInputStream(channel);
+  }
+
+  /**
+   * Store a blob read from a channel, replacing any existing blob of the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key of the blob (not null)
+   * @param src the content, of which exactly size bytes are read (not null)
+   * @param size the size of the blob (must not be negative)
+   * @throws IOException if the channel fails or ends before size bytes
+   */
+  public void put(final Txn<T> txn, final T key, final ReadableByteChannel src, final long size)
+      throws IOException {
+    requireNonNull(src);
+    if (size < 0) {
+      throw new IllegalArgumentException("Size must not be negative");
+    }
+    delete(txn, key);
+    final byte[] keyBytes = proxy.getBytes(key);
+    final ByteBuffer view = PROXY_OPTIMAL.allocate();
+    long remaining = size;
+    int index = 0;
+    do {
+      final int length = (int) min(chunkSize, remaining);
+      dbi.reserve(txn, chunkKey(keyBytes, index++), length);
+      final ByteBuffer dst = PROXY_OPTIMAL.out(view, txn.kv().pointerVal());
+      while (dst.hasRemaining()) {
+        if (src.read(dst) < 0) {
+          throw new EOFException("Source ended " + (remaining - dst.position()) + " bytes early");
+        }
+      }
+      remaining -= length;
+    } while (remaining > 0);
+  }
+
+  /**
+   * Store a blob read from a stream, replacing any existing blob of the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key of the blob (not null)
+   * @param src the content, of which exactly size bytes are read (not null)
+   * @param size the size of the blob (must not be negative)
+   * @throws IOException if the stream fails or ends before size bytes
+   */
+  public void put(final Txn<T> txn, final T key, final InputStream src, final long size)
+      throws IOException {
+    put(txn, key, Channels.newChannel(requireNonNull(src)), size);
+  }
+
+  /**
+   * The size of a blob.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key of the blob (not null)
+   * @return the size in bytes, or -1 if the blob is not present
+   */
+  public long size(final Txn<T> txn, final T key) {
+    final byte[] keyBytes = proxy.getBytes(requireNonNull(key));
+    long size = -1;
+    int index = 0;
+    while (dbi.get(txn, chunkKey(keyBytes, index++)) != null) {
+      size = (size < 0 ? 0 : size) + txn.kv().valSize();
+    }
+    return size;
+  }
+
+  private ByteBuffer chunk(
+      final Txn<T> txn, final byte[] keyBytes, final int index, final ByteBuffer view) {
+    if (dbi.get(txn, chunkKey(keyBytes, index)) == null) {
+      return null;
+    }
+    return PROXY_OPTIMAL.out(view, txn.kv().pointerVal());
+  }
+
+  private T chunkKey(final byte[] keyBytes, final int index) {
+    final byte[] bytes = Arrays.copyOf(keyBytes, keyBytes.length + Integer.BYTES);
+    ByteBuffer.wrap(bytes, keyBytes.length, Integer.BYTES).putInt(index);
+    return proxy.fromBytes(bytes);
+  }
+
+  /** Reads the chunks of a blob in turn. */
+  private final class BlobChannel implements ReadableByteChannel {
+
+    private ByteBuffer chunk;
+    private int index;
+    private final byte[] keyBytes;
+    private boolean open = true;
+    private final Txn<T> txn;
+
+    BlobChannel(final Txn<T> txn, final byte[] keyBytes, final ByteBuffer first) {
+      this.txn = txn;
+      this.keyBytes = keyBytes;
+      this.chunk = first;
+    }
+
+    @Override
+    public void close() {
+      open = false;
+    }
+
+    @Override
+    public boolean isOpen() {
+      return open;
+    }
+
+    @Override
+    public int read(final ByteBuffer dst) throws IOException {
+      if (!open) {
+        throw new ClosedChannelException();
+      }
+      while (chunk != null && !chunk.hasRemaining()) {
+        chunk = chunk(txn, keyBytes, ++index, chunk);
+      }
+      if (chunk == null) {
+        return -1;
+      }
+      final int n = min(chunk.remaining(), dst.remaining());
+      final int limit = chunk.limit();
+      chunk.limit(chunk.position() + n);
+      dst.put(chunk);
+      chunk.limit(limit);
+      return n;
+    }
+  }
+}
@@ -16,9 +16,16 @@
 package org.lmdbjava;
 
 import static java.lang.Long.BYTES;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERDUP;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEDUP;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
+import static org.lmdbjava.Library.RUNTIME;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import jnr.ffi.Pointer;
+import jnr.ffi.provider.MemoryManager;
 
 /**
  * The strategy for mapping memory address to a given buffer type.
@@ -40,6 +47,8 @@ public abstract class BufferProxy<T> {
   /** Offset from a pointer of the <code>MDB_val.mv_size</code> field. */
   protected static final int STRUCT_FIELD_OFFSET_SIZE = 0;
 
+  private static final MemoryManager MEM_MGR = RUNTIME.getMemoryManager();
+
   /** Explicitly-defined default constructor to avoid warnings. */
   protected BufferProxy() {}
 
@@ -65,17 +74,102 @@ public abstract class BufferProxy<T> {
    */
   protected abstract byte[] getBytes(T buffer);
 
+  /**
+   * Create a new buffer holding a copy of the passed bytes.
+   *
+   * <p>The returned buffer is owned by the caller and is not associated with any {@link Txn}, so it
+   * remains valid after transactions end.
+   *
+   * <p>The default implementation stages the bytes in native memory and copies them out with {@link
+   * #out(Object, Pointer)}, which only yields an owned buffer if {@link #outIsView()} is false.
+   * Proxies returning views must override this method to support it.
+   *
+   * @param bytes the bytes to copy (required)
+   * @return a new buffer containing the bytes
+   * @throws UnsupportedOperationException if the proxy returns views and does not override this
+   */
+  protected T fromBytes(final byte[] bytes) {
+    if (outIsView()) {
+      throw new UnsupportedOperationException(
+          getClass().getName() + " returns views, so must override fromBytes(byte[])");
+    }
+    final Pointer data = MEM_MGR.allocateTemporary(Math.max(1, bytes.length), false);
+    data.put(0, bytes, 0, bytes.length);
+    final Pointer ptr = MEM_MGR.allocateTemporary(MDB_VAL_STRUCT_SIZE, false);
+    ptr.putLong(STRUCT_FIELD_OFFSET_SIZE, bytes.length);
+    ptr.putAddress(STRUCT_FIELD_OFFSET_DATA, data.address());
+    final T copy = out(allocate(), ptr);
+    ReferenceUtil.reachabilityFence0(data);
+    return copy;
+  }
+
+  /**
+   * Create a view of part of the passed buffer without copying.
+   *
+   * <p>The returned buffer shares memory with the passed buffer and is therefore only valid for as
+   * long as the passed buffer is.
+   *
+   * <p>The default implementation locates the buffer's memory with {@link #in(Object, Pointer)} and
+   * presents the requested part with {@link #out(Object, Pointer)}. If the buffer has to be staged
+   * in temporary memory to be passed to LMDB, the bytes are copied with {@link #fromBytes(byte[])}
+   * instead.
+   *
+   * @param buffer a non-null buffer created by this proxy instance
+   * @param offset the first byte of the view, relative to the start of the buffer's contents
+   * @param length the number of bytes in the view
+   * @return a buffer presenting the requested bytes
+   */
+  protected T slice(final T buffer, final int offset, final int length) {
+    final Pointer ptr = MEM_MGR.allocateTemporary(MDB_VAL_STRUCT_SIZE, false);
+    final Pointer staged = in(buffer, ptr);
+    final long size = ptr.getLong(STRUCT_FIELD_OFFSET_SIZE);
+    if (offset < 0 || length < 0 || offset > size - length) {
+      throw new IndexOutOfBoundsException(
+          "Slice " + offset + "+" + length + " exceeds buffer size " + size);
+    }
+    if (staged != null && outIsView()) {
+      // A view would outlive the staged copy
+      return fromBytes(Arrays.copyOfRange(getBytes(buffer), offset, offset + length));
+    }
+    ptr.putLong(STRUCT_FIELD_OFFSET_SIZE, length);
+    ptr.putAddress(STRUCT_FIELD_OFFSET_DATA, ptr.getAddress(STRUCT_FIELD_OFFSET_DATA) + offset);
+    final T view = out(allocate(), ptr);
+    ReferenceUtil.reachabilityFence0(staged);
+    return view;
+  }
+
   /**
    * Get a suitable default {@link Comparator} given the provided flags.
    *
-   * <p>The provided comparator must strictly match the lexicographical order of keys in the native
-   * LMDB database.
+   * <p>The provided comparator must strictly match the order LMDB uses for keys in a database
+   * opened with these flags, namely {@link DbiFlags#MDB_REVERSEKEY} order if set, otherwise {@link
+   * DbiFlags#MDB_INTEGERKEY} order if set, otherwise lexicographical order.
    *
    * @param dbiFlagSet The {@link DbiFlags} set for the database.
    * @return a comparator that can be used (never null)
    */
   public abstract Comparator<T> getComparator(final DbiFlagSet dbiFlagSet);
 
+  /**
+   * Get a {@link Comparator} matching the order LMDB uses for the duplicate values of a key in a
+   * {@link DbiFlags#MDB_DUPSORT} database opened with the provided flags.
+   *
+   * <p>This is {@link DbiFlags#MDB_INTEGERDUP} order if set, otherwise {@link
+   * DbiFlags#MDB_REVERSEDUP} order if set, otherwise lexicographical order.
+   *
+   * @param dbiFlagSet The {@link DbiFlags} set for the database.
+   * @return a comparator that can be used (never null)
+   */
+  public Comparator<T> getDupComparator(final DbiFlagSet dbiFlagSet) {
+    if (dbiFlagSet.isSet(MDB_INTEGERDUP)) {
+      return getComparator(MDB_INTEGERKEY);
+    } else if (dbiFlagSet.isSet(MDB_REVERSEDUP)) {
+      return getComparator(MDB_REVERSEKEY);
+    } else {
+      return getComparator(DbiFlagSet.empty());
+    }
+  }
+
   /**
    * Get a suitable default {@link Comparator}
    *
@@ -118,6 +212,27 @@ public abstract class BufferProxy<T> {
    */
   protected abstract T out(T buffer, Pointer ptr);
 
+  /**
+   * Whether buffers returned by {@link #out(Object, Pointer)} refer to the memory of the <code>
+   * MDB_val</code>, so writes to them reach LMDB, rather than holding a copy.
+   *
+   * @return true if returned buffers are views of the native memory
+   */
+  protected boolean outIsView() {
+    return true;
+  }
+
+  /**
+   * Hash the bytes of the buffer as {@link DbiBloomFilter#hash(byte[])} does. Proxies override this
+   * to read the buffer in place rather than copy it with {@link #getBytes(Object)}.
+   *
+   * @param buffer the buffer to hash
+   * @return the hash
+   */
+  long hash(final T buffer) {
+    return DbiBloomFilter.hash(getBytes(buffer));
+  }
+
   /**
    * Create a new {@link KeyVal} to hold pointers for this buffer proxy.
    *
@@ -16,9 +16,13 @@
 package org.lmdbjava;
 
 import static java.lang.Math.min;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.Library.RUNTIME;
 
+import java.nio.ByteOrder;
 import java.util.Arrays;
 import java.util.Comparator;
 import jnr.ffi.Pointer;
@@ -35,6 +39,7 @@ public final class ByteArrayProxy extends BufferProxy<byte[]> {
   public static final BufferProxy<byte[]> PROXY_BA = new ByteArrayProxy();
 
   private static final MemoryManager MEM_MGR = RUNTIME.getMemoryManager();
+  private static final ByteOrder NATIVE_ORDER = ByteOrder.nativeOrder();
 
   private ByteArrayProxy() {}
 
@@ -65,6 +70,76 @@ public final class ByteArrayProxy extends BufferProxy<byte[]> {
     return o1.length - o2.length;
   }
 
+  /**
+   * Compare two byte arrays in the order of {@link DbiFlags#MDB_REVERSEKEY}, which compares bytes
+   * from the end of each array towards the start.
+   *
+   * @param o1 left operand (required)
+   * @param o2 right operand (required)
+   * @return as specified by {@link Comparable} interface
+   */
+  public static int compareReverseLexicographically(final byte[] o1, final byte[] o2) {
+    requireNonNull(o1);
+    requireNonNull(o2);
+    if (o1 == o2) {
+      return 0;
+    }
+    final int minLength = min(o1.length, o2.length);
+
+    for (int i = 1; i <= minLength; i++) {
+      final int lw = Byte.toUnsignedInt(o1[o1.length - i]);
+      final int rw = Byte.toUnsignedInt(o2[o2.length - i]);
+      final int result = Integer.compareUnsigned(lw, rw);
+      if (result != 0) {
+        return result;
+      }
+    }
+
+    return o1.length - o2.length;
+  }
+
+  /**
+   * Byte array comparator specifically for 4/8 byte keys that are unsigned ints/longs, i.e. when
+   * using MDB_INTEGER_KEY/MDB_INTEGERDUP. Compares the arrays numerically.
+   *
+   * @param o1 left operand (required)
+   * @param o2 right operand (required)
+   * @return as specified by {@link Comparable} interface
+   */
+  public static int compareAsIntegerKeys(final byte[] o1, final byte[] o2) {
+    requireNonNull(o1);
+    requireNonNull(o2);
+    final int len1 = o1.length;
+    final int len2 = o2.length;
+    if (len1 != len2) {
+      throw new RuntimeException(
+          "Length mismatch, len1: "
+              + len1
+              + ", len2: "
+              + len2
+              + ". Lengths must be identical and either 4 or 8 bytes.");
+    }
+    if (len1 == Long.BYTES || len1 == Integer.BYTES) {
+      return Long.compareUnsigned(nativeOrderValue(o1), nativeOrderValue(o2));
+    } else {
+      return compareLexicographically(o1, o2);
+    }
+  }
+
+  private static long nativeOrderValue(final byte[] bytes) {
+    long value = 0;
+    if (NATIVE_ORDER == LITTLE_ENDIAN) {
+      for (int i = bytes.length - 1; i >= 0; i--) {
+        value = value << 8 | Byte.toUnsignedInt(bytes[i]);
+      }
+    } else {
+      for (int i = 0; i < bytes.length; i++) {
+        value = value << 8 | Byte.toUnsignedInt(bytes[i]);
+      }
+    }
+    return value;
+  }
+
   @Override
   protected byte[] allocate() {
     return new byte[0];
@@ -80,9 +155,30 @@ public final class ByteArrayProxy extends BufferProxy<byte[]> {
     return Arrays.copyOf(buffer, buffer.length);
   }
 
+  @Override
+  long hash(final byte[] buffer) {
+    return DbiBloomFilter.hash(buffer);
+  }
+
+  @Override
+  protected byte[] fromBytes(final byte[] bytes) {
+    return Arrays.copyOf(bytes, bytes.length);
+  }
+
+  @Override
+  protected byte[] slice(final byte[] buffer, final int offset, final int length) {
+    return Arrays.copyOfRange(buffer, offset, offset + length);
+  }
+
   @Override
   public Comparator<byte[]> getComparator(final DbiFlagSet dbiFlagSet) {
-    return ByteArrayProxy::compareLexicographically;
+    if (dbiFlagSet.isSet(MDB_REVERSEKEY)) {
+      return ByteArrayProxy::compareReverseLexicographically;
+    } else if (dbiFlagSet.isSet(MDB_INTEGERKEY)) {
+      return ByteArrayProxy::compareAsIntegerKeys;
+    } else {
+      return ByteArrayProxy::compareLexicographically;
+    }
   }
 
   @Override
@@ -96,10 +192,16 @@ public final class ByteArrayProxy extends BufferProxy<byte[]> {
 
   @Override
   protected Pointer in(final byte[] buffer, final int size, final Pointer ptr) {
-    // cannot reserve for byte arrays
+    // the reserved space is not visible through a byte array, but its size must still be passed
+    ptr.putLong(STRUCT_FIELD_OFFSET_SIZE, size);
     return null;
   }
 
+  @Override
+  protected boolean outIsView() {
+    return false;
+  }
+
   @Override
   protected byte[] out(final byte[] buffer, final Pointer ptr) {
     final long addr = ptr.getAddress(STRUCT_FIELD_OFFSET_DATA);
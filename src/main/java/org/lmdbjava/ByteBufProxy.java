@@ -17,12 +17,17 @@ package org.lmdbjava;
 
 import static io.netty.buffer.PooledByteBufAllocator.DEFAULT;
 import static java.lang.Class.forName;
+import static java.nio.ByteBuffer.allocateDirect;
 import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.UnsafeAccess.UNSAFE;
 
 import io.netty.buffer.ByteBuf;
 import io.netty.buffer.PooledByteBufAllocator;
+import io.netty.buffer.Unpooled;
 import java.lang.reflect.Field;
+import java.nio.ByteBuffer;
 import java.nio.ByteOrder;
 import java.util.Comparator;
 import jnr.ffi.Pointer;
@@ -88,6 +93,44 @@ public final class ByteBufProxy extends BufferProxy<ByteBuf> {
     return o1.compareTo(o2);
   }
 
+  /**
+   * Compare two buffers in the order of {@link DbiFlags#MDB_REVERSEKEY}, which compares bytes from
+   * the end of each buffer's readable bytes towards the start.
+   *
+   * @param o1 left operand (required)
+   * @param o2 right operand (required)
+   * @return as specified by {@link Comparable} interface
+   */
+  public static int compareReverseLexicographically(final ByteBuf o1, final ByteBuf o2) {
+    requireNonNull(o1);
+    requireNonNull(o2);
+
+    final int end1 = o1.writerIndex();
+    final int end2 = o2.writerIndex();
+    final int len1 = o1.readableBytes();
+    final int len2 = o2.readableBytes();
+    final int minLength = Math.min(len1, len2);
+    final int minWords = minLength / Long.BYTES;
+
+    // Read each word little endian, so the byte nearest the end is the most significant
+    for (int i = Long.BYTES; i <= minWords * Long.BYTES; i += Long.BYTES) {
+      final int diff = Long.compareUnsigned(o1.getLongLE(end1 - i), o2.getLongLE(end2 - i));
+      if (diff != 0) {
+        return diff;
+      }
+    }
+
+    for (int i = minWords * Long.BYTES + 1; i <= minLength; i++) {
+      final int result =
+          Integer.compareUnsigned(o1.getUnsignedByte(end1 - i), o2.getUnsignedByte(end2 - i));
+      if (result != 0) {
+        return result;
+      }
+    }
+
+    return len1 - len2;
+  }
+
   /**
    * Buffer comparator specifically for 4/8 byte keys that are unsigned ints/longs, i.e. when using
    * MDB_INTEGER_KEY/MDB_INTEGERDUP. Compares the buffers numerically.
@@ -113,26 +156,29 @@ public final class ByteBufProxy extends BufferProxy<ByteBuf> {
               + len2
               + ". Lengths must be identical and either 4 or 8 bytes.");
     }
+    // Absolute reads, so the reader indexes are left unchanged
+    final int i1 = o1.readerIndex();
+    final int i2 = o2.readerIndex();
     if (len1 == 8) {
       final long lw;
       final long rw;
       if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
-        lw = o1.readLongLE();
-        rw = o2.readLongLE();
+        lw = o1.getLongLE(i1);
+        rw = o2.getLongLE(i2);
       } else {
-        lw = o1.readLong();
-        rw = o2.readLong();
+        lw = o1.getLong(i1);
+        rw = o2.getLong(i2);
       }
       return Long.compareUnsigned(lw, rw);
     } else if (len1 == 4) {
       final int lw;
       final int rw;
       if (ByteOrder.nativeOrder() == ByteOrder.LITTLE_ENDIAN) {
-        lw = o1.readIntLE();
-        rw = o2.readIntLE();
+        lw = o1.getIntLE(i1);
+        rw = o2.getIntLE(i2);
       } else {
-        lw = o1.readInt();
-        rw = o2.readInt();
+        lw = o1.getInt(i1);
+        rw = o2.getInt(i2);
       }
       return Integer.compareUnsigned(lw, rw);
     } else {
@@ -174,7 +220,9 @@ public final class ByteBufProxy extends BufferProxy<ByteBuf> {
 
   @Override
   public Comparator<ByteBuf> getComparator(final DbiFlagSet dbiFlagSet) {
-    if (dbiFlagSet.areAnySet(DbiFlagSet.INTEGER_KEY_FLAGS)) {
+    if (dbiFlagSet.isSet(MDB_REVERSEKEY)) {
+      return ByteBufProxy::compareReverseLexicographically;
+    } else if (dbiFlagSet.isSet(MDB_INTEGERKEY)) {
       return ByteBufProxy::compareAsIntegerKeys;
     } else {
       return ByteBufProxy::compareLexicographically;
@@ -188,11 +236,41 @@ public final class ByteBufProxy extends BufferProxy<ByteBuf> {
 
   @Override
   protected byte[] getBytes(final ByteBuf buffer) {
-    final byte[] dest = new byte[buffer.capacity()];
-    buffer.getBytes(0, dest);
+    // Same window as presented to LMDB by in(ByteBuf, Pointer)
+    final byte[] dest = new byte[buffer.writerIndex() - buffer.readerIndex()];
+    buffer.getBytes(buffer.readerIndex(), dest);
     return dest;
   }
 
+  @Override
+  long hash(final ByteBuf buffer) {
+    final int start = buffer.readerIndex();
+    final int len = buffer.writerIndex() - start;
+    long h = DbiBloomFilter.hashStart(len);
+    final int tail = len - len % Long.BYTES;
+    for (int i = 0; i < tail; i += Long.BYTES) {
+      h = DbiBloomFilter.hashBlock(h, buffer.getLongLE(start + i));
+    }
+    long k = 0;
+    for (int b = len - 1; b >= tail; b--) {
+      k = (k << 8) | (buffer.getByte(start + b) & 0xFFL);
+    }
+    return DbiBloomFilter.hashEnd(h, len - tail, k);
+  }
+
+  @Override
+  protected ByteBuf fromBytes(final byte[] bytes) {
+    // Wrapping a JDK direct buffer leaves the memory to the garbage collector
+    final ByteBuffer buffer = allocateDirect(bytes.length);
+    buffer.put(bytes).flip();
+    return Unpooled.wrappedBuffer(buffer);
+  }
+
+  @Override
+  protected ByteBuf slice(final ByteBuf buffer, final int offset, final int length) {
+    return buffer.slice(buffer.readerIndex() + offset, length);
+  }
+
   @Override
   protected Pointer in(final ByteBuf buffer, final Pointer ptr) {
     final long ptrAddr = ptr.address();
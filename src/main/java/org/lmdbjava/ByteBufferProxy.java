@@ -21,6 +21,8 @@ import static java.nio.ByteBuffer.allocateDirect;
 import static java.nio.ByteOrder.BIG_ENDIAN;
 import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.Env.SHOULD_CHECK;
 import static org.lmdbjava.UnsafeAccess.UNSAFE;
 
@@ -139,6 +141,47 @@ public final class ByteBufferProxy {
       return o1.remaining() - o2.remaining();
     }
 
+    /**
+     * Compare two buffers in the order of {@link DbiFlags#MDB_REVERSEKEY}, which compares bytes
+     * from the end of each buffer towards the start.
+     *
+     * @param o1 left operand (required)
+     * @param o2 right operand (required)
+     * @return as specified by {@link Comparable} interface
+     */
+    public static int compareReverseLexicographically(final ByteBuffer o1, final ByteBuffer o2) {
+      requireNonNull(o1);
+      requireNonNull(o2);
+
+      final int len1 = o1.limit();
+      final int len2 = o2.limit();
+      final int minLength = Math.min(len1, len2);
+      final int minWords = minLength / Long.BYTES;
+
+      // Read each word little endian, so the byte nearest the end is the most significant
+      final boolean reverse1 = o1.order() == BIG_ENDIAN;
+      final boolean reverse2 = o2.order() == BIG_ENDIAN;
+      for (int i = Long.BYTES; i <= minWords * Long.BYTES; i += Long.BYTES) {
+        final long lw = reverse1 ? reverseBytes(o1.getLong(len1 - i)) : o1.getLong(len1 - i);
+        final long rw = reverse2 ? reverseBytes(o2.getLong(len2 - i)) : o2.getLong(len2 - i);
+        final int diff = Long.compareUnsigned(lw, rw);
+        if (diff != 0) {
+          return diff;
+        }
+      }
+
+      for (int i = minWords * Long.BYTES + 1; i <= minLength; i++) {
+        final int lw = Byte.toUnsignedInt(o1.get(len1 - i));
+        final int rw = Byte.toUnsignedInt(o2.get(len2 - i));
+        final int result = Integer.compareUnsigned(lw, rw);
+        if (result != 0) {
+          return result;
+        }
+      }
+
+      return len1 - len2;
+    }
+
     /**
      * Buffer comparator specifically for 4/8 byte keys that are unsigned ints/longs, i.e. when
      * using MDB_INTEGER_KEY/MDB_INTEGERDUP. Compares the buffers numerically.
@@ -223,7 +266,9 @@ public final class ByteBufferProxy {
 
     @Override
     public Comparator<ByteBuffer> getComparator(final DbiFlagSet dbiFlagSet) {
-      if (dbiFlagSet.areAnySet(DbiFlagSet.INTEGER_KEY_FLAGS)) {
+      if (dbiFlagSet.isSet(MDB_REVERSEKEY)) {
+        return AbstractByteBufferProxy::compareReverseLexicographically;
+      } else if (dbiFlagSet.isSet(MDB_INTEGERKEY)) {
         return AbstractByteBufferProxy::compareAsIntegerKeys;
       } else {
         return AbstractByteBufferProxy::compareLexicographically;
@@ -239,10 +284,32 @@ public final class ByteBufferProxy {
 
     @Override
     protected byte[] getBytes(final ByteBuffer buffer) {
-      final byte[] dest = new byte[buffer.limit()];
-      buffer.get(dest, 0, buffer.limit());
+      // Use a duplicate so the caller's position is left untouched
+      final ByteBuffer src = buffer.duplicate();
+      final byte[] dest = new byte[src.remaining()];
+      src.get(dest);
       return dest;
     }
+
+    @Override
+    long hash(final ByteBuffer buffer) {
+      return DbiBloomFilter.hash(buffer);
+    }
+
+    @Override
+    protected ByteBuffer fromBytes(final byte[] bytes) {
+      final ByteBuffer buffer = allocateDirect(bytes.length);
+      buffer.put(bytes).flip();
+      return buffer;
+    }
+
+    @Override
+    protected ByteBuffer slice(final ByteBuffer buffer, final int offset, final int length) {
+      final ByteBuffer view = buffer.duplicate();
+      view.position(buffer.position() + offset);
+      view.limit(buffer.position() + offset + length);
+      return view.slice().order(buffer.order());
+    }
   }
 
   /**
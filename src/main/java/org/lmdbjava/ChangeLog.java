@@ -0,0 +1,388 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+import static org.lmdbjava.GetOp.MDB_SET_RANGE;
+import static org.lmdbjava.PutFlags.MDB_APPEND;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Ordered log of the changes committed to an {@link Env}, for incremental replication.
+ *
+ * <p>The log observes every read-write {@link Txn} of the {@link Env} and appends one record per
+ * put, delete or drop made through a {@link Dbi} or {@link Cursor} to a dedicated log {@link Dbi}.
+ * Records are written in the same transaction as the change they describe, so the log commits or
+ * aborts atomically with the data. Each record is keyed by the transaction id followed by a
+ * sequence number within the transaction, making the log naturally ordered by commit.
+ *
+ * <p>The log {@link Dbi} must use the default comparator and must not be written by other code.
+ * Writes from other processes or other {@link Env} instances are not captured. Use {@link
+ * #truncate(Txn, long)} to discard records that every consumer has read.
+ *
+ * @param <T> buffer type
+ */
+public final class ChangeLog<T> implements AutoCloseable {
+
+  private static final int KEY_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final Env<T> env;
+  private final Listener listener = new Listener();
+  private final Dbi<T> log;
+  private final BufferProxy<T> proxy;
+  private final Map<Txn<T>, List<Reservation<T>>> reservations = new IdentityHashMap<>();
+  private final Map<Txn<T>, int[]> sequences = new IdentityHashMap<>();
+
+  /**
+   * Create a log and begin recording changes to every other {@link Dbi} of the {@link Env}.
+   *
+   * @param log the database to hold the records (required)
+   */
+  public ChangeLog(final Dbi<T> log) {
+    requireNonNull(log);
+    this.log = log;
+    this.env = log.env();
+    this.proxy = log.proxy();
+    env.addWriteListener(listener);
+  }
+
+  /** Stop recording changes. */
+  @Override
+  public void close() {
+    env.removeWriteListener(listener);
+  }
+
+  /**
+   * Pass each change recorded from the passed transaction id onwards to the consumer, in order.
+   *
+   * <p>A consumer tailing the log passes the returned value to the next call.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param fromTxnId the first transaction id to read
+   * @param consumer receives the changes, which are only valid during the call (not null)
+   * @return the transaction id following the last change read, or fromTxnId if none were read
+   */
+  public long read(final Txn<T> txn, final long fromTxnId, final Consumer<Change<T>> consumer) {
+    requireNonNull(consumer);
+    long next = fromTxnId;
+    try (Cursor<T> cursor = log.openCursor(txn)) {
+      boolean found = cursor.get(proxy.fromBytes(key(fromTxnId, 0)), MDB_SET_RANGE);
+      while (found) {
+        final Change<T> change = decode(proxy, cursor.key(), cursor.val());
+        consumer.accept(change);
+        next = change.txnId + 1;
+        found = cursor.next();
+      }
+    }
+    return next;
+  }
+
+  /**
+   * Delete the records of transactions older than the passed id.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param beforeTxnId the oldest transaction id to keep
+   * @return the number of records deleted
+   */
+  public int truncate(final Txn<T> txn, final long beforeTxnId) {
+    int deleted = 0;
+    try (Cursor<T> cursor = log.openCursor(txn)) {
+      while (cursor.first()
+          && ByteBuffer.wrap(proxy.getBytes(cursor.key())).getLong() < beforeTxnId) {
+        cursor.delete();
+        deleted++;
+      }
+    }
+    return deleted;
+  }
+
+  Dbi<T> dbi() {
+    return log;
+  }
+
+  static <T> Change<T> decode(final BufferProxy<T> proxy, final T key, final T val) {
+    final ByteBuffer k = ByteBuffer.wrap(proxy.getBytes(key));
+    final byte[] bytes = proxy.getBytes(val);
+    final ByteBuffer in = ByteBuffer.wrap(bytes);
+    final Op op = Op.values()[in.get()];
+    final int nameLength = in.getInt();
+    byte[] name = null;
+    if (nameLength >= 0) {
+      name = new byte[nameLength];
+      in.get(name);
+    }
+    T changeKey = null;
+    T changeVal = null;
+    if (op != Op.DROP) {
+      final int keyLength = in.getInt();
+      changeKey = proxy.slice(val, in.position(), keyLength);
+      in.position(in.position() + keyLength);
+      final int valLength = in.getInt();
+      if (valLength >= 0) {
+        changeVal = proxy.slice(val, in.position(), valLength);
+      }
+    }
+    return new Change<>(k.getLong(), k.getInt(), op, name, changeKey, changeVal);
+  }
+
+  private static byte[] encode(final Op op, final byte[] name, final byte[] key, final byte[] val) {
+    final int size =
+        1
+            + Integer.BYTES * 3
+            + (name == null ? 0 : name.length)
+            + (key == null ? 0 : key.length)
+            + (val == null ? 0 : val.length);
+    final ByteBuffer out = ByteBuffer.allocate(size);
+    out.put((byte) op.ordinal());
+    putBytes(out, name);
+    if (op != Op.DROP) {
+      putBytes(out, key);
+      putBytes(out, val);
+    }
+    return Arrays.copyOf(out.array(), out.position());
+  }
+
+  private static void putBytes(final ByteBuffer out, final byte[] bytes) {
+    if (bytes == null) {
+      out.putInt(-1);
+    } else {
+      out.putInt(bytes.length).put(bytes);
+    }
+  }
+
+  static byte[] key(final long txnId, final int sequence) {
+    return ByteBuffer.allocate(KEY_SIZE).putLong(txnId).putInt(sequence).array();
+  }
+
+  private static <T> Txn<T> root(final Txn<T> txn) {
+    Txn<T> root = txn;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return root;
+  }
+
+  /** The kind of change recorded. */
+  public enum Op {
+    /** A key/data pair was stored. */
+    PUT,
+    /** A key, or a single duplicate of a key, was deleted. */
+    DELETE,
+    /** All data in a database was deleted. */
+    DROP
+  }
+
+  /**
+   * A recorded change.
+   *
+   * @param <T> buffer type
+   */
+  public static final class Change<T> {
+
+    private final T key;
+    private final byte[] name;
+    private final Op op;
+    private final int sequence;
+    private final long txnId;
+    private final T val;
+
+    Change(
+        final long txnId,
+        final int sequence,
+        final Op op,
+        final byte[] name,
+        final T key,
+        final T val) {
+      this.txnId = txnId;
+      this.sequence = sequence;
+      this.op = op;
+      this.name = name;
+      this.key = key;
+      this.val = val;
+    }
+
+    /**
+     * The key changed.
+     *
+     * @return the key, or null for {@link Op#DROP}
+     */
+    public T key() {
+      return key;
+    }
+
+    /**
+     * The name of the database changed.
+     *
+     * @return the name, or null for the unnamed database
+     */
+    public byte[] name() {
+      return name == null ? null : name.clone();
+    }
+
+    /**
+     * The kind of change.
+     *
+     * @return the operation
+     */
+    public Op op() {
+      return op;
+    }
+
+    /**
+     * The position of this change within its transaction.
+     *
+     * @return the sequence number
+     */
+    public int sequence() {
+      return sequence;
+    }
+
+    /**
+     * The id of the transaction that made the change.
+     *
+     * @return the transaction id
+     */
+    public long txnId() {
+      return txnId;
+    }
+
+    /**
+     * The value stored, or the single duplicate deleted.
+     *
+     * @return the value, or null if not applicable
+     */
+    public T val() {
+      return val;
+    }
+  }
+
+  /** A reserved value, which is recorded once the transaction is about to commit. */
+  private static final class Reservation<T> {
+
+    final Dbi<T> dbi;
+    final byte[] key;
+    final byte[] logKey;
+
+    Reservation(final Dbi<T> dbi, final byte[] key, final byte[] logKey) {
+      this.dbi = dbi;
+      this.key = key;
+      this.logKey = logKey;
+    }
+  }
+
+  /** Appends a record for each change. */
+  private final class Listener implements WriteListener<T> {
+
+    @Override
+    public void afterPut(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {
+      if (dbi != log) {
+        append(txn, encode(Op.PUT, dbi.getName(), proxy.getBytes(key), proxy.getBytes(val)));
+      }
+    }
+
+    @Override
+    public void afterReserve(final Txn<T> txn, final Dbi<T> dbi, final T key, final T reserved) {
+      if (dbi == log) {
+        return;
+      }
+      final byte[] keyBytes = proxy.getBytes(key);
+      final byte[] logKey = append(txn, encode(Op.PUT, dbi.getName(), keyBytes, new byte[0]));
+      synchronized (ChangeLog.this) {
+        reservations
+            .computeIfAbsent(root(txn), t -> new ArrayList<>())
+            .add(new Reservation<>(dbi, keyBytes, logKey));
+      }
+    }
+
+    @Override
+    public void beforeDelete(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {
+      if (dbi != log) {
+        final byte[] valBytes = val == null ? null : proxy.getBytes(val);
+        append(txn, encode(Op.DELETE, dbi.getName(), proxy.getBytes(key), valBytes));
+      }
+    }
+
+    @Override
+    public void beforeDrop(final Txn<T> txn, final Dbi<T> dbi) {
+      if (dbi != log) {
+        append(txn, encode(Op.DROP, dbi.getName(), null, null));
+      }
+    }
+
+    @Override
+    public void beforeCommit(final Txn<T> txn) {
+      final List<Reservation<T>> reserved;
+      synchronized (ChangeLog.this) {
+        reserved = reservations.remove(txn);
+      }
+      if (reserved == null) {
+        return;
+      }
+      // Reserved values are written by the caller after the put, so record them now
+      try (Cursor<T> records = log.openCursor(txn)) {
+        for (final Reservation<T> r : reserved) {
+          if (!records.get(proxy.fromBytes(r.logKey), MDB_SET_KEY)) {
+            continue; // recorded by a nested transaction that was aborted
+          }
+          try (Cursor<T> data = r.dbi.openCursor(txn)) {
+            final T key = proxy.fromBytes(r.key);
+            final byte[] val = data.get(key, MDB_SET_KEY) ? proxy.getBytes(data.val()) : null;
+            final byte[] record = encode(Op.PUT, r.dbi.getName(), r.key, val);
+            records.put(proxy.fromBytes(r.logKey), proxy.fromBytes(record));
+          }
+        }
+      }
+    }
+
+    @Override
+    public void afterCommit(final Txn<T> txn) {
+      end(txn);
+    }
+
+    @Override
+    public void afterAbort(final Txn<T> txn) {
+      end(txn);
+    }
+
+    private byte[] append(final Txn<T> txn, final byte[] record) {
+      final Txn<T> root = root(txn);
+      final int sequence;
+      synchronized (ChangeLog.this) {
+        sequence = sequences.computeIfAbsent(root, t -> new int[1])[0]++;
+      }
+      final byte[] logKey = key(root.getId(), sequence);
+      try (Cursor<T> records = log.openCursor(txn)) {
+        records.put(proxy.fromBytes(logKey), proxy.fromBytes(record), MDB_APPEND);
+      }
+      return logKey;
+    }
+
+    private void end(final Txn<T> txn) {
+      synchronized (ChangeLog.this) {
+        sequences.remove(txn);
+        reservations.remove(txn);
+      }
+    }
+  }
+}
@@ -0,0 +1,54 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Carries batches of changes from a {@link LogShipper} to a {@link Replica}.
+ *
+ * <p>Batches must be delivered in the order sent. Each batch holds only complete transactions. A
+ * batch received is delivered again by {@link #receive()} until it is acknowledged, so a batch that
+ * fails to apply is not lost.
+ */
+public interface ChangeTransport extends Closeable {
+
+  /**
+   * Deliver a batch.
+   *
+   * @param batch the encoded batch (not null)
+   * @throws IOException if the batch could not be delivered
+   */
+  void send(byte[] batch) throws IOException;
+
+  /**
+   * Obtain the first batch not yet acknowledged, if one is available.
+   *
+   * <p>Whether this method waits for a batch depends on the implementation.
+   *
+   * @return the batch, or null if none is available
+   * @throws IOException if the batch could not be read
+   */
+  byte[] receive() throws IOException;
+
+  /**
+   * Discard the batch last returned by {@link #receive()}, once its changes have been committed.
+   *
+   * @throws IOException if the batch could not be discarded, in which case it is received again
+   */
+  void acknowledge() throws IOException;
+}
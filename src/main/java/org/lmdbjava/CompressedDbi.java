@@ -0,0 +1,423 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.BufferProxy.MDB_VAL_STRUCT_SIZE;
+import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_DATA;
+import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_SIZE;
+import static org.lmdbjava.Library.RUNTIME;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import jnr.ffi.Pointer;
+import jnr.ffi.provider.MemoryManager;
+
+/**
+ * Key/value pairs whose values are transparently compressed.
+ *
+ * <p>Each value stored in the data {@link Dbi} starts with a header. Values of at least {@link
+ * #MIN_COMPRESS_SIZE} bytes that the {@link CompressionCodec} can shrink are stored as the codec
+ * id, the 4 byte big-endian id of the dictionary used (zero if none) and the 4 byte big-endian
+ * uncompressed length, followed by the compressed bytes. Other values are stored as a zero byte
+ * followed by the value. The codec id in the header selects the codec that reads each value, so
+ * changing codecs leaves existing values readable. Values are written into {@link
+ * PutFlags#MDB_RESERVE} space. A value stored uncompressed is copied there straight from the passed
+ * buffer, while one worth compressing is first copied to a per-thread array, as codecs work on
+ * arrays, and its compressed bytes are then copied into the reservation. Read values are
+ * decompressed into memory held per thread, so neither direction allocates buffers for the value.
+ *
+ * <p>An optional dictionaries {@link Dbi} holds dictionaries built by {@link #train(int, int)} from
+ * a sample of the stored values, keyed by 4 byte big-endian id. New values use the newest
+ * dictionary, while existing values keep the dictionary they were compressed with. Dictionaries
+ * greatly improve the compression of small values with shared structure, such as JSON documents or
+ * protocol buffers. Both databases must be dedicated to this class and must not use {@link
+ * DbiFlags#MDB_DUPSORT}.
+ *
+ * @param <T> buffer type
+ */
+public final class CompressedDbi<T> {
+
+  /** Values smaller than this are stored without compression. */
+  public static final int MIN_COMPRESS_SIZE = 32;
+
+  private static final int GRAM = 8;
+  private static final int HEADER = 1 + Integer.BYTES * 2;
+  private static final MemoryManager MEM_MGR = RUNTIME.getMemoryManager();
+  private static final byte STORED = 0;
+
+  private volatile int active = -1;
+  private final CompressionCodec codec;
+  private final CompressionCodec[] codecs = new CompressionCodec[Byte.MAX_VALUE + 1];
+  private final Map<Integer, byte[]> cache = new ConcurrentHashMap<>();
+  private final Dbi<T> dbi;
+  private final Dbi<T> dictionaries;
+  private final Env<T> env;
+  private final BufferProxy<T> proxy;
+  private final ThreadLocal<Scratch<T>> scratch;
+
+  /**
+   * Create an instance without dictionaries.
+   *
+   * @param dbi the database holding the values (required)
+   * @param codec the compression codec (required)
+   */
+  public CompressedDbi(final Dbi<T> dbi, final CompressionCodec codec) {
+    this(dbi, null, codec);
+  }
+
+  /**
+   * Create an instance.
+   *
+   * <p>Each value is read with the codec whose id it was stored with, so values written by an
+   * earlier codec remain readable. The built-in codecs are always known, and other codecs used in
+   * the past can be passed as decoders.
+   *
+   * @param dbi the database holding the values (required)
+   * @param dictionaries the database holding the trained dictionaries, or null for none
+   * @param codec the compression codec for values stored from now on (required)
+   * @param decoders further codecs able to read existing values
+   */
+  public CompressedDbi(
+      final Dbi<T> dbi,
+      final Dbi<T> dictionaries,
+      final CompressionCodec codec,
+      final CompressionCodec... decoders) {
+    requireNonNull(dbi);
+    requireNonNull(codec);
+    if (dbi == dictionaries) {
+      throw new IllegalArgumentException("Dictionaries must be a separate database");
+    }
+    register(CompressionCodec.DEFLATE);
+    register(CompressionCodec.LZ4);
+    for (final CompressionCodec decoder : decoders) {
+      register(requireNonNull(decoder));
+    }
+    register(codec);
+    this.dbi = dbi;
+    this.dictionaries = dictionaries;
+    this.codec = codec;
+    this.env = dbi.env();
+    this.proxy = dbi.proxy();
+    this.scratch = ThreadLocal.withInitial(() -> new Scratch<>(proxy));
+  }
+
+  /**
+   * Delete a key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to delete from the database (not null)
+   * @return true if the key was present
+   */
+  public boolean delete(final Txn<T> txn, final T key) {
+    return dbi.delete(txn, key);
+  }
+
+  /**
+   * Get the uncompressed value of a key.
+   *
+   * <p>A decompressed value is held in memory owned by the calling thread, and is only valid until
+   * the thread next calls this method on this instance. Other values follow the usual {@link
+   * Dbi#get(Txn, Object)} validity rules.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @return the data or null if not found
+   */
+  public T get(final Txn<T> txn, final T key) {
+    final T stored = dbi.get(txn, key);
+    if (stored == null) {
+      return null;
+    }
+    final KeyVal<T> kv = txn.kv();
+    final int size = kv.valSize();
+    if (size == 0) {
+      return stored;
+    }
+    final Scratch<T> s = scratch.get();
+    final byte[] header = s.header;
+    kv.valRead(0, header, Math.min(size, HEADER));
+    if (header[0] == STORED) {
+      return proxy.slice(stored, 1, size - 1);
+    }
+    final CompressionCodec decoder = header[0] > STORED ? codecs[header[0]] : null;
+    if (decoder == null || size < HEADER) {
+      throw new IllegalStateException("Value was written by unknown codec " + header[0]);
+    }
+    final int dictionary = readInt(header, 1);
+    final int length = readInt(header, 1 + Integer.BYTES);
+    // Only the compressed bytes are copied, as the codec reads from an array
+    final byte[] in = s.in(size - HEADER);
+    kv.valRead(HEADER, in, size - HEADER);
+    final byte[] out = s.out(length);
+    decoder.decompress(
+        in, 0, size - HEADER, dictionary == 0 ? null : dictionary(txn, dictionary), out, length);
+    return s.view(out, length);
+  }
+
+  /**
+   * Store a key/data pair, replacing any existing value of the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   */
+  public void put(final Txn<T> txn, final T key, final T val) {
+    requireNonNull(txn);
+    requireNonNull(key);
+    requireNonNull(val);
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientVal = kv.valIn(val);
+    final int size = kv.valSize();
+    final long source = kv.valAddress();
+    final Scratch<T> s = scratch.get();
+
+    int dictionary = 0;
+    int compressed = -1;
+    if (size >= MIN_COMPRESS_SIZE) {
+      // Codecs work on arrays, so only a value worth compressing is copied to the heap
+      final byte[] raw = s.in(size);
+      kv.valRead(0, raw, size);
+      dictionary = activeDictionary(txn);
+      final byte[] dict = dictionary == 0 ? null : dictionary(txn, dictionary);
+      compressed = codec.compress(raw, size, dict, s.out(size));
+    }
+    if (compressed < 0 || HEADER + compressed > size) {
+      dbi.reserve(txn, key, 1 + size);
+      s.header[0] = STORED;
+      kv.valWrite(0, s.header, 0, 1);
+      kv.valWrite(1, source, size);
+    } else {
+      dbi.reserve(txn, key, HEADER + compressed);
+      s.header[0] = codec.id();
+      writeInt(s.header, 1, dictionary);
+      writeInt(s.header, 1 + Integer.BYTES, size);
+      kv.valWrite(0, s.header, 0, HEADER);
+      kv.valWrite(HEADER, s.out(size), 0, compressed);
+    }
+    ReferenceUtil.reachabilityFence0(transientVal);
+    ReferenceUtil.reachabilityFence0(val);
+  }
+
+  /**
+   * Build a dictionary from a sample of the stored values and use it for values stored from now on.
+   *
+   * <p>The dictionary is formed from the byte sequences that recur across the sampled values, with
+   * the most common placed last. This method begins its own transactions and must not be called by
+   * a thread that holds a read-write transaction.
+   *
+   * @param samples the number of values to sample (must be positive)
+   * @param size the maximum dictionary size in bytes (must be positive)
+   * @return the id of the new dictionary, or of the current one if the sample found nothing to
+   *     share
+   */
+  public int train(final int samples, final int size) {
+    if (dictionaries == null) {
+      throw new IllegalStateException("No dictionaries database was provided");
+    }
+    if (samples <= 0 || size <= 0) {
+      throw new IllegalArgumentException("Samples and size must be positive");
+    }
+    final List<byte[]> values = new ArrayList<>();
+    try (Txn<T> txn = env.txnRead()) {
+      for (final T key : dbi.sample(txn, KeyRange.all(), samples)) {
+        final T val = get(txn, key);
+        if (val != null) {
+          values.add(proxy.getBytes(val));
+        }
+      }
+    }
+    final byte[] dict = buildDictionary(values, size);
+    try (Txn<T> txn = env.txnWrite()) {
+      final int current = activeDictionary(txn);
+      if (dict.length == 0) {
+        return current;
+      }
+      final int id = current + 1;
+      dictionaries.put(txn, proxy.fromBytes(intBytes(id)), proxy.fromBytes(dict));
+      txn.commit();
+      cache.put(id, dict);
+      active = id;
+      return id;
+    }
+  }
+
+  private int activeDictionary(final Txn<T> txn) {
+    int id = active;
+    if (id < 0) {
+      id = 0;
+      if (dictionaries != null) {
+        try (Cursor<T> cursor = dictionaries.openCursor(txn)) {
+          if (cursor.last()) {
+            id = ByteBuffer.wrap(proxy.getBytes(cursor.key())).getInt();
+          }
+        }
+      }
+      active = id;
+    }
+    return id;
+  }
+
+  private void register(final CompressionCodec c) {
+    if (c.id() <= STORED) {
+      throw new IllegalArgumentException("Codec id must be positive");
+    }
+    codecs[c.id()] = c;
+  }
+
+  private static byte[] buildDictionary(final List<byte[]> samples, final int size) {
+    // Count the samples containing each gram
+    final Map<Long, Integer> counts = new HashMap<>();
+    for (final byte[] sample : samples) {
+      final Set<Long> seen = new HashSet<>();
+      for (int i = 0; i + GRAM <= sample.length; i++) {
+        final long gram = gram(sample, i);
+        if (seen.add(gram)) {
+          counts.merge(gram, 1, Integer::sum);
+        }
+      }
+    }
+    // Collect the longest runs of common grams, scored by how common they are
+    final int common = Math.max(2, samples.size() / 10);
+    final Map<ByteBuffer, Long> spans = new HashMap<>();
+    for (final byte[] sample : samples) {
+      int i = 0;
+      while (i + GRAM <= sample.length) {
+        final int start = i;
+        long score = 0;
+        int count;
+        while (i + GRAM <= sample.length && (count = counts.get(gram(sample, i))) >= common) {
+          score += count;
+          i++;
+        }
+        if (i == start) {
+          i++;
+        } else {
+          final byte[] span = Arrays.copyOfRange(sample, start, i + GRAM - 1);
+          spans.merge(ByteBuffer.wrap(span), score, Math::max);
+        }
+      }
+    }
+    final List<Map.Entry<ByteBuffer, Long>> ranked = new ArrayList<>(spans.entrySet());
+    ranked.sort((a, b) -> Long.compare(b.getValue(), a.getValue()));
+    final List<ByteBuffer> chosen = new ArrayList<>();
+    int total = 0;
+    for (final Map.Entry<ByteBuffer, Long> e : ranked) {
+      final int length = e.getKey().remaining();
+      if (total + length <= size) {
+        chosen.add(e.getKey());
+        total += length;
+      }
+    }
+    // Codecs reach the end of a dictionary most cheaply, so the most common content goes last
+    final ByteBuffer dict = ByteBuffer.allocate(total);
+    for (int i = chosen.size() - 1; i >= 0; i--) {
+      dict.put(chosen.get(i).duplicate());
+    }
+    return dict.array();
+  }
+
+  private byte[] dictionary(final Txn<T> txn, final int id) {
+    final byte[] cached = cache.get(id);
+    if (cached != null) {
+      return cached;
+    }
+    final T found =
+        dictionaries == null ? null : dictionaries.get(txn, proxy.fromBytes(intBytes(id)));
+    if (found == null) {
+      throw new IllegalStateException("Dictionary " + id + " not found");
+    }
+    final byte[] dict = proxy.getBytes(found);
+    cache.put(id, dict);
+    return dict;
+  }
+
+  private static long gram(final byte[] bytes, final int i) {
+    long gram = 0;
+    for (int j = 0; j < GRAM; j++) {
+      gram = gram << 8 | bytes[i + j] & 0xFF;
+    }
+    return gram;
+  }
+
+  private static byte[] intBytes(final int value) {
+    return ByteBuffer.allocate(Integer.BYTES).putInt(value).array();
+  }
+
+  private static int readInt(final byte[] bytes, final int offset) {
+    return (bytes[offset] & 0xFF) << 24
+        | (bytes[offset + 1] & 0xFF) << 16
+        | (bytes[offset + 2] & 0xFF) << 8
+        | bytes[offset + 3] & 0xFF;
+  }
+
+  private static void writeInt(final byte[] bytes, final int offset, final int value) {
+    bytes[offset] = (byte) (value >>> 24);
+    bytes[offset + 1] = (byte) (value >>> 16);
+    bytes[offset + 2] = (byte) (value >>> 8);
+    bytes[offset + 3] = (byte) value;
+  }
+
+  /** Per-thread buffers, grown as needed and reused by every call. */
+  private static final class Scratch<T> {
+
+    private T buffer;
+    final byte[] header = new byte[HEADER];
+    private byte[] in = new byte[0];
+    private Pointer memory = MEM_MGR.allocateDirect(1);
+    private byte[] out = new byte[0];
+    private final BufferProxy<T> proxy;
+    private final Pointer val = MEM_MGR.allocateDirect(MDB_VAL_STRUCT_SIZE);
+
+    Scratch(final BufferProxy<T> proxy) {
+      this.proxy = proxy;
+      this.buffer = proxy.allocate();
+    }
+
+    byte[] in(final int size) {
+      if (in.length < size) {
+        in = new byte[size];
+      }
+      return in;
+    }
+
+    byte[] out(final int size) {
+      if (out.length < size) {
+        out = new byte[size];
+      }
+      return out;
+    }
+
+    /** Copy the bytes to native memory and return a buffer over them. */
+    T view(final byte[] bytes, final int length) {
+      if (memory.size() < length) {
+        memory = MEM_MGR.allocateDirect(length);
+      }
+      memory.put(0, bytes, 0, length);
+      val.putLong(STRUCT_FIELD_OFFSET_SIZE, length);
+      val.putAddress(STRUCT_FIELD_OFFSET_DATA, memory.address());
+      buffer = proxy.out(buffer, val);
+      return buffer;
+    }
+  }
+}
@@ -0,0 +1,63 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+/**
+ * Block compression algorithm used by {@link CompressedDbi}.
+ *
+ * <p>Implementations must be thread safe. A dictionary, if passed, holds content expected to recur
+ * in values and is passed unchanged to both methods.
+ */
+public interface CompressionCodec {
+
+  /** DEFLATE (RFC 1951) as implemented by {@link java.util.zip.Deflater}, favouring speed. */
+  CompressionCodec DEFLATE = new DeflateCodec();
+
+  /** Pure Java LZ4 block format compression, favouring speed over ratio. */
+  CompressionCodec LZ4 = new Lz4Codec();
+
+  /**
+   * Compress a value.
+   *
+   * @param src the value
+   * @param length the length of the value in src
+   * @param dictionary the dictionary, or null if none
+   * @param dst receives the compressed value, and is at least length bytes long
+   * @return the compressed length, or -1 if the value cannot be compressed into fewer than length
+   *     bytes
+   */
+  int compress(byte[] src, int length, byte[] dictionary, byte[] dst);
+
+  /**
+   * Decompress a value.
+   *
+   * @param src holds the compressed value
+   * @param offset the offset of the compressed value in src
+   * @param length the compressed length
+   * @param dictionary the dictionary passed to {@link #compress}, or null if none
+   * @param dst receives the value
+   * @param dstLength the length of the value
+   * @throws IllegalStateException if the compressed value is corrupt
+   */
+  void decompress(byte[] src, int offset, int length, byte[] dictionary, byte[] dst, int dstLength);
+
+  /**
+   * Identifies the codec in each stored value, so must be unique and stable.
+   *
+   * @return an identifier between 1 and 127
+   */
+  byte id();
+}
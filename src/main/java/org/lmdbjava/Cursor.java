@@ -18,18 +18,23 @@ package org.lmdbjava;
 import static java.util.Objects.requireNonNull;
 import static org.lmdbjava.Dbi.KeyExistsException.MDB_KEYEXIST;
 import static org.lmdbjava.Dbi.KeyNotFoundException.MDB_NOTFOUND;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
 import static org.lmdbjava.Env.SHOULD_CHECK;
 import static org.lmdbjava.Library.LIB;
+import static org.lmdbjava.PutFlags.MDB_CURRENT;
 import static org.lmdbjava.PutFlags.MDB_MULTIPLE;
 import static org.lmdbjava.PutFlags.MDB_NODUPDATA;
 import static org.lmdbjava.PutFlags.MDB_NOOVERWRITE;
 import static org.lmdbjava.PutFlags.MDB_RESERVE;
 import static org.lmdbjava.ResultCodeMapper.checkRc;
 import static org.lmdbjava.SeekOp.MDB_FIRST;
+import static org.lmdbjava.SeekOp.MDB_GET_CURRENT;
 import static org.lmdbjava.SeekOp.MDB_LAST;
 import static org.lmdbjava.SeekOp.MDB_NEXT;
 import static org.lmdbjava.SeekOp.MDB_PREV;
 
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
 import jnr.ffi.Pointer;
 import jnr.ffi.byref.NativeLongByReference;
 
@@ -42,30 +47,45 @@ public final class Cursor<T> implements AutoCloseable {
 
   private boolean closed;
   private final KeyVal<T> kv;
+  private CursorPool<T> pool;
   private final Pointer ptrCursor;
   private Txn<T> txn;
   private final Env<T> env;
+  private final Dbi<T> dbi;
 
-  Cursor(final Pointer ptr, final Txn<T> txn, final Env<T> env) {
+  Cursor(final Pointer ptr, final Txn<T> txn, final Env<T> env, final Dbi<T> dbi) {
     requireNonNull(ptr);
     requireNonNull(txn);
     this.ptrCursor = ptr;
     this.txn = txn;
     this.kv = txn.newKeyVal();
     this.env = env;
+    this.dbi = dbi;
   }
 
   /**
    * Close a cursor handle.
    *
    * <p>The cursor handle will be freed and must not be used again after this call. Its transaction
-   * must still be live if it is a write-transaction.
+   * must still be live if it is a write-transaction. A cursor obtained from a {@link CursorPool} is
+   * instead returned to the pool for reuse, unless the pool is full or closed.
    */
   @Override
   public void close() {
     if (closed) {
       return;
     }
+    if (pool != null) {
+      // Marked closed first, as once offered the cursor may be reused by another thread
+      closed = true;
+      if (pool.offer(this)) {
+        return;
+      }
+    }
+    free();
+  }
+
+  void free() {
     kv.close();
     if (SHOULD_CHECK) {
       env.checkNotClosed();
@@ -130,6 +150,13 @@ public final class Cursor<T> implements AutoCloseable {
       txn.checkWritesAllowed();
     }
     final PutFlagSet putFlagSet = flags != null ? flags : PutFlagSet.EMPTY;
+    if (txn.hasWriteListeners()) {
+      // A put only stages its arguments, so load the pair the cursor is actually positioned at
+      checkRc(
+          LIB.mdb_cursor_get(
+              ptrCursor, kv.pointerKey(), kv.pointerVal(), MDB_GET_CURRENT.getCode()));
+      txn.notifyDelete(dbi, kv.keyOut(), putFlagSet.isSet(MDB_NODUPDATA) ? null : kv.valOut());
+    }
     checkRc(LIB.mdb_cursor_del(ptrCursor, putFlagSet.getMask()));
   }
 
@@ -211,6 +238,28 @@ public final class Cursor<T> implements AutoCloseable {
     return true;
   }
 
+  boolean get(final long key, final GetOp op) {
+    if (SHOULD_CHECK) {
+      requireNonNull(op);
+      env.checkNotClosed();
+      checkNotClosed();
+      txn.checkReady();
+    }
+    final Pointer transientKey = kv.keyIn(key);
+
+    final int rc = LIB.mdb_cursor_get(ptrCursor, kv.pointerKey(), kv.pointerVal(), op.getCode());
+
+    if (rc == MDB_NOTFOUND) {
+      return false;
+    }
+
+    checkRc(rc);
+    kv.keyOut();
+    kv.valOut();
+    ReferenceUtil.reachabilityFence0(transientKey);
+    return true;
+  }
+
   /**
    * Obtain the key.
    *
@@ -224,6 +273,10 @@ public final class Cursor<T> implements AutoCloseable {
     return kv;
   }
 
+  Dbi<T> dbi() {
+    return dbi;
+  }
+
   /**
    * Position at last key/data item.
    *
@@ -300,6 +353,7 @@ public final class Cursor<T> implements AutoCloseable {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    txn.notifyBeforePut(dbi, key);
     final Pointer transientKey = kv.keyIn(key);
     final Pointer transientVal = kv.valIn(val);
     final int rc = LIB.mdb_cursor_put(ptrCursor, kv.pointerKey(), kv.pointerVal(), flags.getMask());
@@ -312,6 +366,7 @@ public final class Cursor<T> implements AutoCloseable {
       return false;
     }
     checkRc(rc);
+    txn.notifyPut(dbi, key, val);
     ReferenceUtil.reachabilityFence0(transientKey);
     ReferenceUtil.reachabilityFence0(transientVal);
     ReferenceUtil.reachabilityFence0(key);
@@ -319,6 +374,60 @@ public final class Cursor<T> implements AutoCloseable {
     return true;
   }
 
+  /**
+   * Store a key and value already staged in native memory. Write listeners are not notified, so
+   * callers must check {@link Txn#hasWriteListeners()} first.
+   *
+   * @return false if an append was refused as the key or value is not after the last
+   */
+  boolean put(
+      final Pointer key,
+      final int keySize,
+      final Pointer val,
+      final int valSize,
+      final PutFlagSet flags) {
+    if (SHOULD_CHECK) {
+      env.checkNotClosed();
+      checkNotClosed();
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+    kv.keyIn(key, keySize);
+    kv.valIn(val, valSize);
+    final int rc = LIB.mdb_cursor_put(ptrCursor, kv.pointerKey(), kv.pointerVal(), flags.getMask());
+    if (rc == MDB_KEYEXIST) {
+      return false;
+    }
+    checkRc(rc);
+    return true;
+  }
+
+  void putNumber(final T key, final long val, final int size, final PutFlagSet flags) {
+    if (txn.hasWriteListeners()) {
+      final ByteBuffer bytes = ByteBuffer.allocate(size).order(ByteOrder.nativeOrder());
+      if (size == Integer.BYTES) {
+        bytes.putInt((int) val);
+      } else {
+        bytes.putLong(val);
+      }
+      put(key, dbi.proxy().fromBytes(bytes.array()), flags);
+      return;
+    }
+    if (SHOULD_CHECK) {
+      requireNonNull(key);
+      env.checkNotClosed();
+      checkNotClosed();
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+    final Pointer transientKey = kv.keyIn(key);
+    final Pointer transientVal = kv.valIn(val, size);
+    checkRc(LIB.mdb_cursor_put(ptrCursor, kv.pointerKey(), kv.pointerVal(), flags.getMask()));
+    ReferenceUtil.reachabilityFence0(transientKey);
+    ReferenceUtil.reachabilityFence0(transientVal);
+    ReferenceUtil.reachabilityFence0(key);
+  }
+
   /**
    * @deprecated Use {@link Cursor#put(Object, Object, PutFlagSet)} instead. <hr> Put multiple
    *     values into the database in one <code>MDB_MULTIPLE</code> operation.
@@ -379,10 +488,12 @@ public final class Cursor<T> implements AutoCloseable {
       }
     }
 
+    txn.notifyBeforePut(dbi, key);
     final Pointer transientKey = txn.kv().keyIn(key);
     final Pointer dataPtr = txn.kv().valInMulti(val, elements);
     final int rc = LIB.mdb_cursor_put(ptrCursor, txn.kv().pointerKey(), dataPtr, flags.getMask());
     checkRc(rc);
+    txn.notifyPutMultiple(dbi, key, val, txn.kv().valSize(), elements);
     ReferenceUtil.reachabilityFence0(transientKey);
     ReferenceUtil.reachabilityFence0(dataPtr);
     ReferenceUtil.reachabilityFence0(key);
@@ -412,6 +523,15 @@ public final class Cursor<T> implements AutoCloseable {
     this.txn = newTxn;
   }
 
+  void pool(final CursorPool<T> owner) {
+    this.pool = owner;
+  }
+
+  void reuse(final Txn<T> newTxn) {
+    closed = false;
+    renew(newTxn);
+  }
+
   /**
    * @deprecated Use {@link Cursor#reserve(Object, int, PutFlagSet)} instead. <hr> Reserve space for
    *     data of the given size, but don't copy the given val. Instead, return a pointer to the
@@ -470,12 +590,13 @@ public final class Cursor<T> implements AutoCloseable {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    txn.notifyBeforePut(dbi, key);
     final Pointer transientKey = kv.keyIn(key);
     final Pointer transientVal = kv.valIn(size);
     // This is inconsistent with putMultiple which require MDB_MULTIPLE to be in the set.
     final int flagsMask = flags.getMaskWith(MDB_RESERVE);
     checkRc(LIB.mdb_cursor_put(ptrCursor, kv.pointerKey(), kv.pointerVal(), flagsMask));
-    kv.valOut();
+    txn.notifyReserve(dbi, key, kv.valOut());
     ReferenceUtil.reachabilityFence0(transientKey);
     ReferenceUtil.reachabilityFence0(transientVal);
     ReferenceUtil.reachabilityFence0(key);
@@ -517,6 +638,47 @@ public final class Cursor<T> implements AutoCloseable {
     return kv.val();
   }
 
+  /**
+   * Obtain the value at the cursor as a buffer that can be modified in place.
+   *
+   * <p>The value is first stored over itself, which makes LMDB copy the page holding it into the
+   * transaction as it would for any write, so readers of earlier snapshots are unaffected. Writes
+   * to the returned buffer then update the value directly, without storing it again. This is most
+   * useful under {@link EnvFlags#MDB_WRITEMAP}, where the page is in the memory map itself, and for
+   * repeated updates within a transaction, which reuse the page already copied. The size of the
+   * value cannot change.
+   *
+   * <p>The buffer is only valid until the next write to the database or the end of the transaction.
+   * {@link WriteListener}s are notified as for a reserved value, since the new contents are only
+   * written after this call returns; {@link ChangeLog} and {@link SecondaryIndex} read the written
+   * value when the transaction is about to commit. The database must not use {@link
+   * DbiFlags#MDB_DUPSORT}, and the {@link BufferProxy} must return views of native memory (so
+   * {@link ByteArrayProxy} is not supported).
+   *
+   * @return the writable value the cursor is located at
+   */
+  public T valForUpdate() {
+    if (SHOULD_CHECK) {
+      env.checkNotClosed();
+      checkNotClosed();
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+    if (!dbi.proxy().outIsView() || dbi.dbiFlagSet().isSet(MDB_DUPSORT)) {
+      throw new UnsupportedOperationException(
+          "In-place updates need buffer views and a database without " + MDB_DUPSORT);
+    }
+    checkRc(
+        LIB.mdb_cursor_get(ptrCursor, kv.pointerKey(), kv.pointerVal(), MDB_GET_CURRENT.getCode()));
+    txn.notifyBeforePut(dbi, kv.keyOut());
+    checkRc(LIB.mdb_cursor_put(ptrCursor, kv.pointerKey(), kv.pointerVal(), MDB_CURRENT.getMask()));
+    // The value is now on a page owned by this transaction
+    checkRc(
+        LIB.mdb_cursor_get(ptrCursor, kv.pointerKey(), kv.pointerVal(), MDB_GET_CURRENT.getCode()));
+    txn.notifyReserve(dbi, kv.keyOut(), kv.valOut());
+    return val();
+  }
+
   private void checkNotClosed() {
     if (closed) {
       throw new ClosedException();
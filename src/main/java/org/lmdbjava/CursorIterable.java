@@ -36,17 +36,22 @@ import org.lmdbjava.KeyRangeType.IteratorOp;
  * {@link Iterable} that creates a single {@link Iterator} that will iterate over a {@link Cursor}
  * as specified by a {@link KeyRange}.
  *
- * <p>An instance will create and close its own cursor.
+ * <p>An instance will create and close its own cursor, unless obtained from a {@link CursorPool}.
+ * An instance created with a read-only transaction may be re-targeted with {@link #reset(Txn,
+ * KeyRange)}.
  *
  * @param <T> buffer type
  */
 public final class CursorIterable<T> implements Iterable<CursorIterable.KeyVal<T>>, AutoCloseable {
 
-  private final RangeComparator rangeComparator;
+  private final Comparator<T> comparator;
   private final Cursor<T> cursor;
+  private final Dbi<T> dbi;
   private final KeyVal<T> entry;
   private boolean iteratorReturned;
-  private final KeyRange<T> range;
+  private final BufferProxy<T> proxy;
+  private KeyRange<T> range;
+  private RangeComparator rangeComparator;
   private State state = REQUIRES_INITIAL_OP;
 
   CursorIterable(
@@ -55,27 +60,29 @@ public final class CursorIterable<T> implements Iterable<CursorIterable.KeyVal<T
       final KeyRange<T> range,
       final Comparator<T> comparator,
       final BufferProxy<T> proxy) {
-    this.cursor = dbi.openCursor(txn);
+    this(txn, dbi, range, comparator, proxy, dbi.openCursor(txn));
+  }
+
+  CursorIterable(
+      final Txn<T> txn,
+      final Dbi<T> dbi,
+      final KeyRange<T> range,
+      final Comparator<T> comparator,
+      final BufferProxy<T> proxy,
+      final Cursor<T> cursor) {
+    this.cursor = cursor;
+    this.dbi = dbi;
+    this.comparator = comparator;
+    this.proxy = proxy;
     this.range = range;
     this.entry = new KeyVal<>();
-
-    if (comparator != null) {
-      // User supplied Java-side comparator so use that
-      this.rangeComparator = new JavaRangeComparator<>(range, comparator, cursor::key);
-    } else {
-      // No Java-side comparator, so call down to LMDB to do the comparison
-      this.rangeComparator = new LmdbRangeComparator<>(txn, dbi, cursor, range, proxy);
-    }
+    this.rangeComparator = createRangeComparator(txn);
   }
 
   @Override
   public void close() {
     cursor.close();
-    try {
-      rangeComparator.close();
-    } catch (Exception e) {
-      throw new RuntimeException(e);
-    }
+    closeRangeComparator();
   }
 
   /**
@@ -120,6 +127,137 @@ public final class CursorIterable<T> implements Iterable<CursorIterable.KeyVal<T
     };
   }
 
+  /**
+   * Re-target this instance at a new read-only transaction and range, so a further iterator can be
+   * obtained without opening a new cursor.
+   *
+   * <p>The underlying cursor is renewed onto the passed transaction, which avoids the allocation
+   * and native setup of {@link Dbi#iterate(Txn, KeyRange)}. Any iterator previously returned must
+   * no longer be used.
+   *
+   * @param txn read-only transaction handle (not null; not committed)
+   * @param range range of acceptable keys (not null)
+   */
+  public void reset(final Txn<T> txn, final KeyRange<T> range) {
+    Objects.requireNonNull(range);
+    cursor.renew(txn);
+    closeRangeComparator();
+    this.range = range;
+    this.rangeComparator = createRangeComparator(txn);
+    entry.setK(null);
+    entry.setV(null);
+    state = REQUIRES_INITIAL_OP;
+    iteratorReturned = false;
+  }
+
+  /**
+   * Pass each entry in the range to the visitor, stopping early if the visitor returns false.
+   *
+   * <p>This is an alternative to {@link #iterator()} for callers that do not need an {@link
+   * Iterator}. The start key is only checked while positioning and each subsequent entry costs a
+   * single stop key comparison, avoiding the per-entry state handling of the iterator. As with
+   * {@link #iterator()}, this method may only be called once per iteration.
+   *
+   * @param visitor receives each key and value, which are only valid during the call (not null)
+   * @return the number of entries passed to the visitor
+   */
+  public long scan(final Visitor<T> visitor) {
+    Objects.requireNonNull(visitor);
+    if (iteratorReturned) {
+      throw new IllegalStateException("Iterator can only be returned once");
+    }
+    iteratorReturned = true;
+    state = TERMINATED;
+    final KeyRangeType type = range.getType();
+    executeCursorOp(type.initialOp());
+    final boolean found = entry.key() != null;
+    entry.setK(null);
+    entry.setV(null);
+    if (!found) {
+      return 0;
+    }
+    return type.isDirectionForward() ? scanForward(type, visitor) : scanBackward(type, visitor);
+  }
+
+  private long scanBackward(final KeyRangeType type, final Visitor<T> visitor) {
+    boolean found = true;
+    if (type.isStartKeyRequired()) {
+      // Positioning may land after the start key, so rewind to it
+      final int limit = type.isStartKeyInclusive() ? 0 : -1;
+      while (found && rangeComparator.compareToStartKey() > limit) {
+        found = cursor.prev();
+      }
+    }
+    long visited = 0;
+    if (type.isStopKeyRequired()) {
+      final int limit = type.isStopKeyInclusive() ? 0 : 1;
+      while (found && rangeComparator.compareToStopKey() >= limit) {
+        visited++;
+        if (!visitor.visit(cursor.key(), cursor.val())) {
+          break;
+        }
+        found = cursor.prev();
+      }
+    } else {
+      while (found) {
+        visited++;
+        if (!visitor.visit(cursor.key(), cursor.val())) {
+          break;
+        }
+        found = cursor.prev();
+      }
+    }
+    return visited;
+  }
+
+  private long scanForward(final KeyRangeType type, final Visitor<T> visitor) {
+    boolean found = true;
+    if (type.isStartKeyRequired() && !type.isStartKeyInclusive()) {
+      // Positioning lands on the start key if present, including each of its duplicates
+      while (found && rangeComparator.compareToStartKey() == 0) {
+        found = cursor.next();
+      }
+    }
+    long visited = 0;
+    if (type.isStopKeyRequired()) {
+      final int limit = type.isStopKeyInclusive() ? 0 : -1;
+      while (found && rangeComparator.compareToStopKey() <= limit) {
+        visited++;
+        if (!visitor.visit(cursor.key(), cursor.val())) {
+          break;
+        }
+        found = cursor.next();
+      }
+    } else {
+      while (found) {
+        visited++;
+        if (!visitor.visit(cursor.key(), cursor.val())) {
+          break;
+        }
+        found = cursor.next();
+      }
+    }
+    return visited;
+  }
+
+  private void closeRangeComparator() {
+    try {
+      rangeComparator.close();
+    } catch (Exception e) {
+      throw new RuntimeException(e);
+    }
+  }
+
+  private RangeComparator createRangeComparator(final Txn<T> txn) {
+    if (comparator != null) {
+      // User supplied Java-side comparator so use that
+      return new JavaRangeComparator<>(range, comparator, cursor::key);
+    } else {
+      // No Java-side comparator, so call down to LMDB to do the comparison
+      return new LmdbRangeComparator<>(txn, dbi, cursor, range, proxy);
+    }
+  }
+
   private void executeCursorOp(final CursorOp op) {
     boolean found;
     switch (op) {
@@ -254,6 +392,24 @@ public final class CursorIterable<T> implements Iterable<CursorIterable.KeyVal<T
     }
   }
 
+  /**
+   * Receives the entries of a {@link CursorIterable#scan(Visitor)}.
+   *
+   * @param <T> buffer type
+   */
+  @FunctionalInterface
+  public interface Visitor<T> {
+
+    /**
+     * Visit an entry.
+     *
+     * @param key the key, which is only valid during the call
+     * @param val the value, which is only valid during the call
+     * @return true to continue the scan, or false to stop it
+     */
+    boolean visit(T key, T val);
+  }
+
   /** Represents the internal {@link CursorIterable} state. */
   enum State {
     REQUIRES_INITIAL_OP,
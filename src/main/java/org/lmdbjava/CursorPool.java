@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.Env.SHOULD_CHECK;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Pool of read-only {@link Cursor}s for a {@link Dbi}, reused across read-only transactions.
+ *
+ * <p>Opening a cursor allocates a native cursor and the buffers used to pass keys and values, and
+ * closing it frees them again. For short reads this setup can cost more than the read itself. A
+ * pooled cursor is instead renewed onto the caller's transaction with {@code mdb_cursor_renew}, and
+ * closing it returns it to the pool. Up to {@code maxIdle} cursors are retained; further cursors
+ * are freed when closed.
+ *
+ * <p>Only read-only transactions may be used. Instances are thread safe, although each acquired
+ * cursor must only be used by the thread holding its transaction. Close the pool before closing the
+ * {@link Env}.
+ *
+ * @param <T> buffer type
+ */
+public final class CursorPool<T> implements AutoCloseable {
+
+  private boolean closed;
+  private final Dbi<T> dbi;
+  private final Deque<Cursor<T>> idle = new ArrayDeque<>();
+  private final int maxIdle;
+
+  /**
+   * Create an empty pool.
+   *
+   * @param dbi the database the cursors are opened on (required)
+   * @param maxIdle maximum number of cursors retained while not in use (must be positive)
+   */
+  public CursorPool(final Dbi<T> dbi, final int maxIdle) {
+    requireNonNull(dbi);
+    if (maxIdle <= 0) {
+      throw new IllegalArgumentException("Maximum idle cursors must be positive");
+    }
+    this.dbi = dbi;
+    this.maxIdle = maxIdle;
+  }
+
+  /**
+   * Obtain a cursor positioned nowhere in the passed transaction.
+   *
+   * <p>Closing the returned cursor returns it to the pool.
+   *
+   * @param txn read-only transaction handle (not null; not committed)
+   * @return a cursor (never null)
+   */
+  public Cursor<T> acquire(final Txn<T> txn) {
+    requireNonNull(txn);
+    txn.checkReadOnly();
+    final Cursor<T> pooled;
+    synchronized (this) {
+      if (closed) {
+        throw new IllegalStateException("Cursor pool is closed");
+      }
+      pooled = idle.pollFirst();
+    }
+    if (pooled == null) {
+      final Cursor<T> cursor = dbi.openCursor(txn);
+      cursor.pool(this);
+      return cursor;
+    }
+    try {
+      pooled.reuse(txn);
+    } catch (final RuntimeException e) {
+      pooled.free();
+      throw e;
+    }
+    return pooled;
+  }
+
+  /** Free every idle cursor. Cursors in use are freed when closed. */
+  @Override
+  public void close() {
+    final Cursor<T>[] cursors;
+    synchronized (this) {
+      if (closed) {
+        return;
+      }
+      closed = true;
+      @SuppressWarnings("unchecked")
+      final Cursor<T>[] drained = idle.toArray(new Cursor[0]);
+      cursors = drained;
+      idle.clear();
+    }
+    for (final Cursor<T> cursor : cursors) {
+      cursor.free();
+    }
+  }
+
+  /**
+   * The number of cursors retained while not in use.
+   *
+   * @return the number of idle cursors
+   */
+  public synchronized int idle() {
+    return idle.size();
+  }
+
+  /**
+   * Iterate the database in accordance with the provided {@link KeyRange}, using a pooled cursor.
+   *
+   * <p>Closing the returned iterable returns its cursor to the pool. The iterable may instead be
+   * kept and re-targeted with {@link CursorIterable#reset(Txn, KeyRange)}.
+   *
+   * @param txn read-only transaction handle (not null; not committed)
+   * @param range range of acceptable keys (not null)
+   * @return iterator (never null)
+   * @see Dbi#iterate(Txn, KeyRange)
+   */
+  public CursorIterable<T> iterate(final Txn<T> txn, final KeyRange<T> range) {
+    if (SHOULD_CHECK) {
+      requireNonNull(range);
+    }
+    return new CursorIterable<>(txn, dbi, range, dbi.comparator(), dbi.proxy(), acquire(txn));
+  }
+
+  synchronized boolean offer(final Cursor<T> cursor) {
+    if (closed || idle.size() >= maxIdle) {
+      return false;
+    }
+    idle.addFirst(cursor);
+    return true;
+  }
+}
@@ -18,24 +18,35 @@ package org.lmdbjava;
 import static java.util.Objects.requireNonNull;
 import static jnr.ffi.Memory.allocateDirect;
 import static jnr.ffi.NativeType.ADDRESS;
+import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
 import static org.lmdbjava.Dbi.KeyExistsException.MDB_KEYEXIST;
 import static org.lmdbjava.Dbi.KeyNotFoundException.MDB_NOTFOUND;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
 import static org.lmdbjava.Env.SHOULD_CHECK;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
 import static org.lmdbjava.KeyRange.all;
 import static org.lmdbjava.Library.LIB;
 import static org.lmdbjava.Library.RUNTIME;
 import static org.lmdbjava.MaskedFlag.isSet;
 import static org.lmdbjava.MaskedFlag.mask;
+import static org.lmdbjava.PutFlags.MDB_CURRENT;
 import static org.lmdbjava.PutFlags.MDB_NODUPDATA;
 import static org.lmdbjava.PutFlags.MDB_NOOVERWRITE;
 import static org.lmdbjava.PutFlags.MDB_RESERVE;
 import static org.lmdbjava.ResultCodeMapper.checkRc;
+import static org.lmdbjava.SeekOp.MDB_GET_BOTH;
 
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
 import java.nio.charset.Charset;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 import jnr.ffi.Pointer;
 import jnr.ffi.byref.IntByReference;
 import jnr.ffi.byref.PointerByReference;
@@ -49,6 +60,8 @@ import org.lmdbjava.Library.MDB_stat;
  */
 public final class Dbi<T> {
 
+  private static final PutFlagSet CURRENT = PutFlagSet.of(MDB_CURRENT);
+
   @SuppressWarnings("FieldCanBeLocal") // Needs to be instance variable for FFI
   private final ComparatorCallback callbackComparator;
 
@@ -121,6 +134,37 @@ public final class Dbi<T> {
     return ptr;
   }
 
+  Env<T> env() {
+    return env;
+  }
+
+  BufferProxy<T> proxy() {
+    return proxy;
+  }
+
+  DbiFlagSet dbiFlagSet() {
+    return dbiFlagSet;
+  }
+
+  Comparator<T> comparator() {
+    return comparator;
+  }
+
+  /**
+   * Add to the {@code long} value of a key, which is stored as 8 bytes in native byte order.
+   *
+   * <p>A missing key is treated as zero. The key is located once and its value replaced in place.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key of the counter (not null)
+   * @param delta the amount to add
+   * @return the new value
+   * @see NumericOperator#ADD_LONG
+   */
+  public long addAndGet(final Txn<T> txn, final T key, final long delta) {
+    return merge(txn, key, delta, NumericOperator.ADD_LONG);
+  }
+
   /**
    * Close the database handle (normally unnecessary; use with caution).
    *
@@ -153,6 +197,39 @@ public final class Dbi<T> {
     }
   }
 
+  /**
+   * Atomically replace the value of a key if it currently holds the expected bytes.
+   *
+   * <p>The key is located once and, if the value matches, replaced in place. The database must not
+   * use {@link DbiFlags#MDB_DUPSORT}.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to update (not null)
+   * @param expect the expected value, or null to require that the key is not present
+   * @param update the new value (not null)
+   * @return true if the value was replaced, false if the current value did not match
+   */
+  public boolean compareAndSet(final Txn<T> txn, final T key, final T expect, final T update) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      requireNonNull(key);
+      requireNonNull(update);
+      txn.checkWritesAllowed();
+    }
+    final Cursor<T> cursor = txn.takeCursor(this);
+    try {
+      final boolean found = cursor.get(key, MDB_SET_KEY);
+      if (expect == null
+          ? found
+          : !found || proxy.getComparator().compare(cursor.val(), expect) != 0) {
+        return false;
+      }
+      return cursor.put(key, update, found ? CURRENT : PutFlagSet.EMPTY);
+    } finally {
+      txn.giveBackCursor(cursor);
+    }
+  }
+
   /**
    * Deletes the key using the passed transaction.
    *
@@ -185,6 +262,13 @@ public final class Dbi<T> {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    if (txn.hasWriteListeners()) {
+      // Listeners are only told of a pair that is present and so will be deleted
+      if (!exists(txn, key, val)) {
+        return false;
+      }
+      txn.notifyDelete(this, key, val);
+    }
 
     final Pointer transientKey = txn.kv().keyIn(key);
 
@@ -206,6 +290,18 @@ public final class Dbi<T> {
     return true;
   }
 
+  private boolean exists(final Txn<T> txn, final T key, final T val) {
+    final Cursor<T> cursor = txn.takeCursor(this);
+    try {
+      // The value only selects a pair in a database with duplicates
+      return val == null || !dbiFlagSet.isSet(MDB_DUPSORT)
+          ? cursor.get(key, MDB_SET_KEY)
+          : cursor.get(key, val, MDB_GET_BOTH);
+    } finally {
+      txn.giveBackCursor(cursor);
+    }
+  }
+
   /**
    * Drops the data in this database, leaving the database open for further use.
    *
@@ -233,6 +329,7 @@ public final class Dbi<T> {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    txn.notifyDrop(this);
     if (delete) {
       clean();
     }
@@ -272,6 +369,34 @@ public final class Dbi<T> {
     return result;
   }
 
+  /**
+   * Get the value of a key as a buffer that can be modified in place until the next write to the
+   * database or the end of the transaction.
+   *
+   * <p>The returned buffer belongs to the caller and is not reused by later reads through the
+   * transaction, but a later write may move the value, after which the buffer must not be used.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to search for in the database (not null)
+   * @return the writable value or null if not found
+   * @see Cursor#valForUpdate()
+   */
+  public T getForUpdate(final Txn<T> txn, final T key) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      requireNonNull(key);
+      txn.checkWritesAllowed();
+    }
+    try (Cursor<T> cursor = openCursor(txn)) {
+      if (!cursor.get(key, MDB_SET_KEY)) {
+        return null;
+      }
+      cursor.valForUpdate();
+      // A buffer of its own, as the cursor's are released on close and the txn's are re-pointed
+      return proxy.out(proxy.allocate(), cursor.keyVal().pointerVal());
+    }
+  }
+
   /**
    * Obtains the name of this database.
    *
@@ -380,6 +505,77 @@ public final class Dbi<T> {
     return result;
   }
 
+  /**
+   * Combine the value of a key with an operand and store the result.
+   *
+   * <p>The key is located once with a cursor and its value replaced in place with {@link
+   * PutFlags#MDB_CURRENT}, avoiding the second descent of the tree made by a separate {@link
+   * #get(Txn, Object)} and {@link #put(Txn, Object, Object)}. The transaction keeps the cursor for
+   * its next such operation on this database. The database must not use {@link
+   * DbiFlags#MDB_DUPSORT}.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to update (not null)
+   * @param operand the operand passed to the operator (not null)
+   * @param op the operator (not null)
+   */
+  public void merge(final Txn<T> txn, final T key, final T operand, final MergeOperator<T> op) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      requireNonNull(key);
+      requireNonNull(operand);
+      requireNonNull(op);
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+    final Cursor<T> cursor = txn.takeCursor(this);
+    try {
+      final boolean found = cursor.get(key, MDB_SET_KEY);
+      final T existing = found ? cursor.val() : null;
+      final T merged = op.merge(existing, operand);
+      if (merged != null && merged != existing) {
+        cursor.put(key, merged, found ? CURRENT : PutFlagSet.EMPTY);
+      }
+    } finally {
+      txn.giveBackCursor(cursor);
+    }
+  }
+
+  /**
+   * Combine the integer value of a key with an operand and store the result.
+   *
+   * <p>The key is located once with a cursor, and the stored value read and replaced in place
+   * without creating buffers. The transaction keeps the cursor for its next such operation on this
+   * database. The database must not use {@link DbiFlags#MDB_DUPSORT}.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to update (not null)
+   * @param operand the operand, which must fit in an {@code int} for the {@code int} operators
+   * @param op the operator (not null)
+   * @return the stored value
+   */
+  public long merge(final Txn<T> txn, final T key, final long operand, final NumericOperator op) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      requireNonNull(key);
+      requireNonNull(op);
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+    if (op.size() == Integer.BYTES && operand != (int) operand) {
+      throw new IllegalArgumentException("Operand " + operand + " does not fit in an int");
+    }
+    final Cursor<T> cursor = txn.takeCursor(this);
+    try {
+      final boolean found = cursor.get(key, MDB_SET_KEY);
+      final long merged = found ? op.apply(cursor.keyVal().valNumber(op.size()), operand) : operand;
+      cursor.putNumber(key, merged, op.size(), found ? CURRENT : PutFlagSet.EMPTY);
+      return merged;
+    } finally {
+      txn.giveBackCursor(cursor);
+    }
+  }
+
   /**
    * Create a cursor handle.
    *
@@ -402,7 +598,7 @@ public final class Dbi<T> {
     }
     final PointerByReference cursorPtr = new PointerByReference();
     checkRc(LIB.mdb_cursor_open(txn.pointer(), ptr, cursorPtr));
-    return new Cursor<>(cursorPtr.getValue(), txn, env);
+    return new Cursor<>(cursorPtr.getValue(), txn, env, this);
   }
 
   /**
@@ -476,6 +672,7 @@ public final class Dbi<T> {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    txn.notifyBeforePut(this, key);
     final Pointer transientKey = txn.kv().keyIn(key);
     final Pointer transientVal = txn.kv().valIn(val);
     final int rc =
@@ -490,6 +687,7 @@ public final class Dbi<T> {
       return false;
     }
     checkRc(rc);
+    txn.notifyPut(this, key, val);
     ReferenceUtil.reachabilityFence0(transientKey);
     ReferenceUtil.reachabilityFence0(transientVal);
     ReferenceUtil.reachabilityFence0(key);
@@ -520,17 +718,76 @@ public final class Dbi<T> {
       txn.checkReady();
       txn.checkWritesAllowed();
     }
+    txn.notifyBeforePut(this, key);
     final Pointer transientKey = txn.kv().keyIn(key);
     final Pointer transientVal = txn.kv().valIn(size);
     final int flags = mask(op) | MDB_RESERVE.getMask();
     checkRc(LIB.mdb_put(txn.pointer(), ptr, txn.kv().pointerKey(), txn.kv().pointerVal(), flags));
-    txn.kv().valOut(); // marked as in,out in LMDB C docs
+    final T reserved = txn.kv().valOut(); // marked as in,out in LMDB C docs
+    txn.notifyReserve(this, key, reserved);
     ReferenceUtil.reachabilityFence0(transientKey);
     ReferenceUtil.reachabilityFence0(transientVal);
     ReferenceUtil.reachabilityFence0(key);
     return txn.val();
   }
 
+  /**
+   * Select distinct keys of the range at random.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range the range to sample (not null)
+   * @param n the number of keys to return (must be positive)
+   * @return up to n keys, copied so they remain valid after the transaction ends
+   * @see #sample(Txn, KeyRange, int, Random)
+   */
+  public List<T> sample(final Txn<T> txn, final KeyRange<T> range, final int n) {
+    return sample(txn, range, n, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Select distinct keys of the range at random.
+   *
+   * <p>Ranges estimated to hold few keys relative to n are scanned once and sampled exactly, so
+   * every key is equally likely and all keys are returned if the range holds no more than n. Larger
+   * ranges are sampled in sublinear time by seeking to random points of the key space between the
+   * first and last keys of the range with {@link GetOp#MDB_SET_RANGE}. Such samples are only
+   * approximately uniform, as keys following wider gaps in the key space are more likely to be
+   * chosen, and may hold fewer than n keys. The key space is modelled as for {@link
+   * RangeEstimator}. Duplicates of a key are not sampled individually.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range the range to sample (not null)
+   * @param n the number of keys to return (must be positive)
+   * @param random the source of randomness (not null)
+   * @return up to n keys, copied so they remain valid after the transaction ends
+   */
+  public List<T> sample(
+      final Txn<T> txn, final KeyRange<T> range, final int n, final Random random) {
+    requireNonNull(range);
+    requireNonNull(random);
+    if (n <= 0) {
+      throw new IllegalArgumentException("Sample size must be positive");
+    }
+    return new KeySpace<>(this).sample(txn, range, n, random);
+  }
+
+  /**
+   * Pass each entry in the provided {@link KeyRange} to the visitor, stopping early if the visitor
+   * returns false.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range range of acceptable keys (not null)
+   * @param visitor receives each key and value, which are only valid during the call (not null)
+   * @return the number of entries passed to the visitor
+   * @see CursorIterable#scan(CursorIterable.Visitor)
+   */
+  public long scan(
+      final Txn<T> txn, final KeyRange<T> range, final CursorIterable.Visitor<T> visitor) {
+    try (CursorIterable<T> entries = iterate(txn, range)) {
+      return entries.scan(visitor);
+    }
+  }
+
   /**
    * Return statistics about this database.
    *
@@ -554,6 +811,58 @@ public final class Dbi<T> {
         stat.f5_ms_entries.longValue());
   }
 
+  /**
+   * Write the value of a key to a channel without copying it through the Java heap.
+   *
+   * <p>Every page a read-only transaction sees is in the memory map and starts with its page
+   * number, giving the position of the value in the data file, so the value is sent with {@link
+   * FileChannel#transferTo(long, long, WritableByteChannel)}. The operating system can then move it
+   * to the target directly, such as with {@code sendfile} for a socket. A read-write transaction
+   * may see pages copied out of the map, so it writes the value to the target from a buffer over
+   * it.
+   *
+   * <p>The pages cannot be reused while the transaction is open, and the transfer completes before
+   * this method returns. The target should be in blocking mode.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @param target the channel to write the value to (not null)
+   * @return the number of bytes written, or -1 if the key was not found
+   * @throws IOException if the data file or target fails
+   */
+  public long transferTo(final Txn<T> txn, final T key, final WritableByteChannel target)
+      throws IOException {
+    requireNonNull(target);
+    if (get(txn, key) == null) {
+      return -1;
+    }
+    final KeyVal<T> kv = txn.kv();
+    final long size = kv.valSize();
+    long written = 0;
+    if (txn.isReadOnly()) {
+      final long address = kv.valAddress();
+      final long page = address & -env.pageSize();
+      final long pageNumber = RUNTIME.getMemoryManager().newPointer(page).getAddress(0);
+      final long offset = pageNumber * env.pageSize() + address - page;
+      final FileChannel data = env.dataChannel();
+      while (written < size) {
+        final long n = data.transferTo(offset + written, size - written, target);
+        if (n <= 0) {
+          break; // copy anything the file does not yet hold from memory
+        }
+        written += n;
+      }
+    }
+    if (written < size) {
+      final ByteBuffer view = PROXY_OPTIMAL.out(PROXY_OPTIMAL.allocate(), kv.pointerVal());
+      view.position((int) written);
+      while (view.hasRemaining()) {
+        written += target.write(view);
+      }
+    }
+    return written;
+  }
+
   private void clean() {
     if (cleaned) {
       return;
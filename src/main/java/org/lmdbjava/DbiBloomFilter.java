@@ -0,0 +1,389 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Bloom filter over the keys of a {@link Dbi}, answering definite misses without calling LMDB.
+ *
+ * <p>The filter is populated by scanning the database, or loaded from a companion "store" {@link
+ * Dbi} where it was previously saved with {@link #save(Txn)}. It then observes every read-write
+ * {@link Txn} of the {@link Env} and adds each key stored through {@link Dbi} or {@link Cursor}
+ * before the transaction commits. Deletes are not removed from the filter, so the false positive
+ * rate rises with churn until the filter is rebuilt.
+ *
+ * <p>A saved filter is removed from the store by the first transaction that writes to the database
+ * after the save, so a store entry is only ever present while it covers every key. This guarantee
+ * only holds if all writers of the database use a filter; writes from other processes or {@link
+ * Env} instances are not observed.
+ *
+ * <p>Instances are thread safe. Call {@link #close()} to stop observing the {@link Env}.
+ *
+ * @param <T> buffer type
+ */
+public final class DbiBloomFilter<T> implements AutoCloseable {
+
+  private static final long M = 0xc6a4a7935bd1e995L;
+  private static final int R = 47;
+  private static final long SEED = 0x9747b28c_5f3a1e29L;
+  private static final byte[] STORE_KEY_PREFIX = "bloom:".getBytes(Env.DEFAULT_NAME_CHARSET);
+
+  private final AtomicLongArray bits;
+  private final Dbi<T> dbi;
+  private final Set<Txn<T>> dirty = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Env<T> env;
+  private final int hashes;
+  private final Listener listener = new Listener();
+  private final long numBits;
+  private volatile boolean persisted;
+  private final BufferProxy<T> proxy;
+  private final Dbi<T> store;
+  private final byte[] storeKey;
+
+  private DbiBloomFilter(
+      final Dbi<T> dbi, final Dbi<T> store, final long numBits, final int hashes) {
+    this.dbi = dbi;
+    this.env = dbi.env();
+    this.proxy = dbi.proxy();
+    this.store = store;
+    this.numBits = numBits;
+    this.hashes = hashes;
+    this.bits = new AtomicLongArray((int) ((numBits + Long.SIZE - 1) / Long.SIZE));
+    this.storeKey = storeKey(dbi);
+  }
+
+  /**
+   * Create a filter by scanning every key of the database.
+   *
+   * <p>Unless the {@link Env} is read-only, this method briefly begins a read-write transaction so
+   * that no concurrent writer can be missed. It must therefore not be called by a thread that holds
+   * a read-write transaction.
+   *
+   * @param <T> buffer type
+   * @param dbi the database to filter (required)
+   * @param expectedEntries expected number of keys, used to size the filter (must be positive)
+   * @param fpp desired false positive probability (between 0 and 1 exclusive)
+   * @return a populated filter
+   */
+  public static <T> DbiBloomFilter<T> build(
+      final Dbi<T> dbi, final long expectedEntries, final double fpp) {
+    return open(dbi, null, expectedEntries, fpp);
+  }
+
+  /**
+   * Load the filter saved in the store database, or create one by scanning if none is present or
+   * the saved one is malformed.
+   *
+   * @param <T> buffer type
+   * @param dbi the database to filter (required)
+   * @param store the database holding saved filters (null if saving is not required)
+   * @param expectedEntries expected number of keys, used to size a new filter (must be positive)
+   * @param fpp desired false positive probability for a new filter (between 0 and 1 exclusive)
+   * @return a populated filter
+   * @see #build(Dbi, long, double)
+   */
+  public static <T> DbiBloomFilter<T> open(
+      final Dbi<T> dbi, final Dbi<T> store, final long expectedEntries, final double fpp) {
+    requireNonNull(dbi);
+    if (expectedEntries <= 0) {
+      throw new IllegalArgumentException("Expected entries must be positive");
+    }
+    if (!(fpp > 0 && fpp < 1)) {
+      throw new IllegalArgumentException("False positive probability must be between 0 and 1");
+    }
+    final Env<T> env = dbi.env();
+    final DbiBloomFilter<T> loaded = store == null ? null : load(dbi, store);
+    if (loaded != null) {
+      env.addWriteListener(loaded.listener);
+      return loaded;
+    }
+    final double ln2 = Math.log(2);
+    final long numBits =
+        Math.max(Long.SIZE, (long) Math.ceil(-expectedEntries * Math.log(fpp) / (ln2 * ln2)));
+    final int hashes = Math.max(1, (int) Math.round((double) numBits / expectedEntries * ln2));
+    final DbiBloomFilter<T> filter = new DbiBloomFilter<>(dbi, store, numBits, hashes);
+    env.addWriteListener(filter.listener);
+    if (!env.isReadOnly()) {
+      // Wait out any writer that began before the listener was registered
+      try (Txn<T> barrier = env.txnWrite()) {
+        barrier.abort();
+      }
+    }
+    try (Txn<T> txn = env.txnRead();
+        Cursor<T> cursor = dbi.openCursor(txn)) {
+      boolean found = cursor.first();
+      while (found) {
+        filter.add(cursor.key());
+        found = cursor.seek(SeekOp.MDB_NEXT_NODUP);
+      }
+    }
+    return filter;
+  }
+
+  /** Stop observing the {@link Env}. */
+  @Override
+  public void close() {
+    env.removeWriteListener(listener);
+  }
+
+  /**
+   * Get the value of a key, skipping the database if the filter excludes the key.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @return the data or null if not found
+   * @see Dbi#get(Txn, Object)
+   */
+  public T get(final Txn<T> txn, final T key) {
+    if (!mightContain(key)) {
+      return null;
+    }
+    return dbi.get(txn, key);
+  }
+
+  /**
+   * Whether the key may be present in the database.
+   *
+   * @param key the key (not null)
+   * @return false if the key is definitely absent
+   */
+  public boolean mightContain(final T key) {
+    final long h1 = proxy.hash(requireNonNull(key));
+    final long h2 = fmix(h1 ^ SEED) | 1;
+    for (int i = 0; i < hashes; i++) {
+      final long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+      if ((bits.get((int) (bit >>> 6)) & (1L << bit)) == 0) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Save the filter to the store database, using the passed transaction.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   */
+  public void save(final Txn<T> txn) {
+    if (store == null) {
+      throw new IllegalStateException("No store database was provided");
+    }
+    final ByteBuffer out = ByteBuffer.allocate(Integer.BYTES + Long.BYTES + bits.length() * 8);
+    out.order(ByteOrder.BIG_ENDIAN);
+    out.putInt(hashes);
+    out.putLong(numBits);
+    for (int i = 0; i < bits.length(); i++) {
+      out.putLong(bits.get(i));
+    }
+    store.put(txn, proxy.fromBytes(storeKey), proxy.fromBytes(out.array()));
+    synchronized (dirty) {
+      // The saved filter already covers the writes made so far by this transaction
+      dirty.remove(root(txn));
+    }
+    persisted = true;
+  }
+
+  void add(final T key) {
+    final long h1 = proxy.hash(key);
+    final long h2 = fmix(h1 ^ SEED) | 1;
+    for (int i = 0; i < hashes; i++) {
+      final long bit = Long.remainderUnsigned(h1 + i * h2, numBits);
+      final long mask = 1L << bit;
+      final int word = (int) (bit >>> 6);
+      long prev = bits.get(word);
+      while ((prev & mask) == 0 && !bits.compareAndSet(word, prev, prev | mask)) {
+        prev = bits.get(word);
+      }
+    }
+  }
+
+  /** 64-bit MurmurHash2 (MurmurHash64A) of the passed bytes. */
+  static long hash(final byte[] data) {
+    final int len = data.length;
+    long h = hashStart(len);
+    final int blocks = len / Long.BYTES;
+    for (int i = 0; i < blocks; i++) {
+      final int off = i * Long.BYTES;
+      long k = 0;
+      for (int b = Long.BYTES - 1; b >= 0; b--) {
+        k = (k << 8) | (data[off + b] & 0xFFL);
+      }
+      h = hashBlock(h, k);
+    }
+    final int tail = blocks * Long.BYTES;
+    long k = 0;
+    for (int b = len - 1; b >= tail; b--) {
+      k = (k << 8) | (data[b] & 0xFFL);
+    }
+    return hashEnd(h, len - tail, k);
+  }
+
+  /** As {@link #hash(byte[])}, of the remaining bytes of the buffer, read in place. */
+  static long hash(final ByteBuffer data) {
+    final int pos = data.position();
+    final int len = data.remaining();
+    final boolean swap = data.order() == ByteOrder.BIG_ENDIAN;
+    long h = hashStart(len);
+    final int blocks = len / Long.BYTES;
+    for (int i = 0; i < blocks; i++) {
+      final long k = data.getLong(pos + i * Long.BYTES);
+      h = hashBlock(h, swap ? Long.reverseBytes(k) : k);
+    }
+    final int tail = blocks * Long.BYTES;
+    long k = 0;
+    for (int b = len - 1; b >= tail; b--) {
+      k = (k << 8) | (data.get(pos + b) & 0xFFL);
+    }
+    return hashEnd(h, len - tail, k);
+  }
+
+  /**
+   * Begin a hash of the passed number of bytes. Each 8 byte block is then passed to {@link
+   * #hashBlock(long, long)}, and the remaining bytes to {@link #hashEnd(long, int, long)}.
+   */
+  static long hashStart(final int len) {
+    return SEED ^ (len * M);
+  }
+
+  /** Mix a block of 8 bytes, read little-endian, into a hash. */
+  static long hashBlock(final long h, final long block) {
+    long k = block;
+    k *= M;
+    k ^= k >>> R;
+    k *= M;
+    return (h ^ k) * M;
+  }
+
+  /** Mix the last 0 to 7 bytes, read little-endian, into a hash and finish it. */
+  static long hashEnd(final long h, final int tailLength, final long tail) {
+    return fmix(tailLength == 0 ? h : (h ^ tail) * M);
+  }
+
+  private static long fmix(final long k) {
+    long h = k;
+    h ^= h >>> R;
+    h *= M;
+    h ^= h >>> R;
+    return h;
+  }
+
+  private static <T> DbiBloomFilter<T> load(final Dbi<T> dbi, final Dbi<T> store) {
+    final BufferProxy<T> proxy = dbi.proxy();
+    try (Txn<T> txn = dbi.env().txnRead()) {
+      final T val = store.get(txn, proxy.fromBytes(storeKey(dbi)));
+      if (val == null) {
+        return null;
+      }
+      final ByteBuffer in = ByteBuffer.wrap(proxy.getBytes(val));
+      if (in.remaining() < Integer.BYTES + Long.BYTES) {
+        return null;
+      }
+      final int hashes = in.getInt();
+      final long numBits = in.getLong();
+      // A malformed entry is ignored, so the filter is rebuilt by scanning
+      if (hashes <= 0
+          || numBits <= 0
+          || (numBits + Long.SIZE - 1) / Long.SIZE != in.remaining() / Long.BYTES
+          || in.remaining() % Long.BYTES != 0) {
+        return null;
+      }
+      final DbiBloomFilter<T> filter = new DbiBloomFilter<>(dbi, store, numBits, hashes);
+      for (int i = 0; i < filter.bits.length(); i++) {
+        filter.bits.set(i, in.getLong());
+      }
+      filter.persisted = true;
+      return filter;
+    }
+  }
+
+  private static byte[] storeKey(final Dbi<?> dbi) {
+    final byte[] name = dbi.getName();
+    final int nameLength = name == null ? 0 : name.length;
+    final byte[] key = new byte[STORE_KEY_PREFIX.length + nameLength];
+    System.arraycopy(STORE_KEY_PREFIX, 0, key, 0, STORE_KEY_PREFIX.length);
+    if (name != null) {
+      System.arraycopy(name, 0, key, STORE_KEY_PREFIX.length, nameLength);
+    }
+    return key;
+  }
+
+  private static <T> Txn<T> root(final Txn<T> txn) {
+    Txn<T> root = txn;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return root;
+  }
+
+  /** Adds stored keys and invalidates the saved filter once the database changes. */
+  private final class Listener implements WriteListener<T> {
+
+    @Override
+    public void afterPut(final Txn<T> txn, final Dbi<T> target, final T key, final T val) {
+      if (target != dbi) {
+        return;
+      }
+      add(key);
+      if (store != null) {
+        synchronized (dirty) {
+          dirty.add(root(txn));
+        }
+      }
+    }
+
+    @Override
+    public void beforeCommit(final Txn<T> txn) {
+      final boolean wrote;
+      synchronized (dirty) {
+        wrote = dirty.contains(txn);
+      }
+      if (!wrote || !persisted) {
+        return;
+      }
+      // Deleting in the writing transaction keeps the store consistent if it commits or aborts
+      try (Cursor<T> cursor = store.openCursor(txn)) {
+        if (cursor.get(proxy.fromBytes(storeKey), MDB_SET_KEY)) {
+          cursor.delete();
+        }
+      }
+    }
+
+    @Override
+    public void afterCommit(final Txn<T> txn) {
+      synchronized (dirty) {
+        if (dirty.remove(txn)) {
+          persisted = false;
+        }
+      }
+    }
+
+    @Override
+    public void afterAbort(final Txn<T> txn) {
+      synchronized (dirty) {
+        dirty.remove(txn);
+      }
+    }
+  }
+}
@@ -0,0 +1,320 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.ByteBuffer;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Read-through cache of the values held in a {@link Dbi}.
+ *
+ * <p>A cache hit returns a value held on the Java side, avoiding the native call and B-tree descent
+ * of {@link Dbi#get(Txn, Object)}. Entries are bounded by count and total size (key plus value
+ * bytes) and evicted using the CLOCK (second chance) algorithm.
+ *
+ * <p>The cache observes every read-write {@link Txn} of the {@link Env} and invalidates the keys a
+ * transaction touched immediately before it commits. Read-only transactions are served from the
+ * cache only when the cached entry was loaded from a snapshot no newer than their own, so snapshot
+ * isolation is preserved. Lookups made with a read-write transaction always bypass the cache.
+ *
+ * <p>Invalidation only covers writes made through this LmdbJava {@link Env} instance. Writes from
+ * other processes or other {@link Env} instances on the same files are not observed.
+ *
+ * <p>Instances are thread safe. Call {@link #close()} to stop observing the {@link Env}.
+ *
+ * @param <T> buffer type
+ */
+public final class DbiCache<T> implements AutoCloseable {
+
+  private final Dbi<T> dbi;
+  private final Env<T> env;
+  private final LongAdder hits = new LongAdder();
+  private int hand;
+  private final Listener listener = new Listener();
+  private final Map<ByteBuffer, Entry<T>> map = new ConcurrentHashMap<>();
+  private final int maxEntries;
+  private final long maxWeight;
+  private final LongAdder misses = new LongAdder();
+  private final Set<Txn<T>> dropped = Collections.newSetFromMap(new IdentityHashMap<>());
+  private final Map<Txn<T>, Set<ByteBuffer>> pending = new IdentityHashMap<>();
+  private final Map<Txn<T>, Long> priorInvalidation = new IdentityHashMap<>();
+  private final BufferProxy<T> proxy;
+  private final Entry<T>[] ring;
+  private int size;
+  private volatile long invalidatedTxnId;
+  private long weight;
+
+  /**
+   * Create a cache in front of the passed database.
+   *
+   * @param dbi the database to cache (required)
+   * @param maxEntries maximum number of cached entries (must be positive)
+   * @param maxWeight maximum total bytes of cached keys and values (must be positive)
+   */
+  @SuppressWarnings("unchecked")
+  public DbiCache(final Dbi<T> dbi, final int maxEntries, final long maxWeight) {
+    requireNonNull(dbi);
+    if (maxEntries <= 0 || maxWeight <= 0) {
+      throw new IllegalArgumentException("Cache limits must be positive");
+    }
+    this.dbi = dbi;
+    this.env = dbi.env();
+    this.proxy = dbi.proxy();
+    this.maxEntries = maxEntries;
+    this.maxWeight = maxWeight;
+    this.ring = new Entry[maxEntries];
+    env.addWriteListener(listener);
+  }
+
+  /** Stop observing the {@link Env} and discard all entries. */
+  @Override
+  public void close() {
+    env.removeWriteListener(listener);
+    invalidateAll();
+  }
+
+  /**
+   * Get the value of a key, using the cache if possible.
+   *
+   * <p>A value returned from the cache is shared with other callers and must not be modified (for
+   * {@link ByteBuffer} this includes the position and limit). Otherwise the usual {@link
+   * Dbi#get(Txn, Object)} rules apply.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @return the data or null if not found
+   */
+  public T get(final Txn<T> txn, final T key) {
+    requireNonNull(txn);
+    requireNonNull(key);
+    if (!txn.isReadOnly()) {
+      return dbi.get(txn, key);
+    }
+    final ByteBuffer k = ByteBuffer.wrap(proxy.getBytes(key));
+    final long snapshot = txn.getId();
+    final Entry<T> entry = map.get(k);
+    if (entry != null && entry.snapshot <= snapshot) {
+      entry.referenced = true;
+      hits.increment();
+      return entry.value;
+    }
+    misses.increment();
+    final T val = dbi.get(txn, key);
+    if (val != null) {
+      admit(k, proxy.getBytes(val), snapshot);
+    }
+    return val;
+  }
+
+  /**
+   * Number of lookups served from the cache.
+   *
+   * @return hit count
+   */
+  public long hits() {
+    return hits.sum();
+  }
+
+  /** Discard all cached entries. */
+  public synchronized void invalidateAll() {
+    map.clear();
+    for (int i = 0; i < ring.length; i++) {
+      ring[i] = null;
+    }
+    size = 0;
+    weight = 0;
+  }
+
+  /**
+   * Number of lookups that required a database read.
+   *
+   * @return miss count
+   */
+  public long misses() {
+    return misses.sum();
+  }
+
+  /**
+   * Number of entries currently cached.
+   *
+   * @return entry count
+   */
+  public synchronized int size() {
+    return size;
+  }
+
+  private synchronized void admit(final ByteBuffer key, final byte[] val, final long snapshot) {
+    // A write may have committed since this reader's snapshot was taken
+    if (snapshot < invalidatedTxnId) {
+      return;
+    }
+    final long entryWeight = (long) key.capacity() + val.length;
+    if (entryWeight > maxWeight) {
+      return;
+    }
+    remove(key);
+    while (size == maxEntries || weight + entryWeight > maxWeight) {
+      evict();
+    }
+    while (ring[hand] != null) {
+      hand = (hand + 1) % ring.length;
+    }
+    final Entry<T> entry = new Entry<>(key, proxy.fromBytes(val), snapshot, entryWeight, hand);
+    ring[hand] = entry;
+    map.put(key, entry);
+    size++;
+    weight += entryWeight;
+  }
+
+  private void evict() {
+    while (true) {
+      final Entry<T> entry = ring[hand];
+      if (entry != null) {
+        if (entry.referenced) {
+          entry.referenced = false;
+        } else {
+          remove(entry.key);
+          return;
+        }
+      }
+      hand = (hand + 1) % ring.length;
+    }
+  }
+
+  private void remove(final ByteBuffer key) {
+    final Entry<T> entry = map.remove(key);
+    if (entry != null) {
+      ring[entry.slot] = null;
+      size--;
+      weight -= entry.weight;
+    }
+  }
+
+  private static <T> Txn<T> root(final Txn<T> txn) {
+    Txn<T> root = txn;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return root;
+  }
+
+  private static final class Entry<T> {
+
+    final ByteBuffer key;
+    volatile boolean referenced;
+    final int slot;
+    final long snapshot;
+    final T value;
+    final long weight;
+
+    Entry(
+        final ByteBuffer key,
+        final T value,
+        final long snapshot,
+        final long weight,
+        final int slot) {
+      this.key = key;
+      this.value = value;
+      this.snapshot = snapshot;
+      this.weight = weight;
+      this.slot = slot;
+    }
+  }
+
+  /** Tracks the keys touched by each read-write transaction until it ends. */
+  private final class Listener implements WriteListener<T> {
+
+    @Override
+    public void afterPut(final Txn<T> txn, final Dbi<T> target, final T key, final T val) {
+      touch(txn, target, key);
+    }
+
+    @Override
+    public void beforeDelete(final Txn<T> txn, final Dbi<T> target, final T key, final T val) {
+      touch(txn, target, key);
+    }
+
+    @Override
+    public void beforeDrop(final Txn<T> txn, final Dbi<T> target) {
+      if (target == dbi) {
+        synchronized (DbiCache.this) {
+          dropped.add(root(txn));
+        }
+      }
+    }
+
+    @Override
+    public void beforeCommit(final Txn<T> txn) {
+      synchronized (DbiCache.this) {
+        final Set<ByteBuffer> keys = pending.get(txn);
+        final boolean drop = dropped.contains(txn);
+        if (keys == null && !drop) {
+          return;
+        }
+        priorInvalidation.put(txn, invalidatedTxnId);
+        // Readers older than this transaction must no longer populate the cache
+        invalidatedTxnId = txn.getId();
+        if (drop) {
+          invalidateAll();
+        } else {
+          for (final ByteBuffer key : keys) {
+            remove(key);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void afterCommit(final Txn<T> txn) {
+      synchronized (DbiCache.this) {
+        pending.remove(txn);
+        dropped.remove(txn);
+        priorInvalidation.remove(txn);
+      }
+    }
+
+    @Override
+    public void afterAbort(final Txn<T> txn) {
+      synchronized (DbiCache.this) {
+        pending.remove(txn);
+        dropped.remove(txn);
+        final Long prior = priorInvalidation.remove(txn);
+        if (prior != null) {
+          // The commit failed so the previous snapshot remains current
+          invalidatedTxnId = prior;
+        }
+      }
+    }
+
+    private void touch(final Txn<T> txn, final Dbi<T> target, final T key) {
+      if (target != dbi) {
+        return;
+      }
+      final ByteBuffer k = ByteBuffer.wrap(proxy.getBytes(key));
+      synchronized (DbiCache.this) {
+        pending.computeIfAbsent(root(txn), t -> new HashSet<>()).add(k);
+      }
+    }
+  }
+}
@@ -0,0 +1,77 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/** {@link CompressionCodec} using raw DEFLATE streams. */
+final class DeflateCodec implements CompressionCodec {
+
+  private static final int WINDOW = 32 * 1_024;
+
+  private final ThreadLocal<Deflater> deflaters =
+      ThreadLocal.withInitial(() -> new Deflater(Deflater.BEST_SPEED, true));
+  private final ThreadLocal<Inflater> inflaters = ThreadLocal.withInitial(() -> new Inflater(true));
+
+  @Override
+  public int compress(
+      final byte[] src, final int length, final byte[] dictionary, final byte[] dst) {
+    final Deflater deflater = deflaters.get();
+    deflater.reset();
+    if (dictionary != null) {
+      final int size = min(dictionary.length, WINDOW);
+      deflater.setDictionary(dictionary, dictionary.length - size, size);
+    }
+    deflater.setInput(src, 0, length);
+    deflater.finish();
+    final int n = deflater.deflate(dst, 0, max(0, length - 1));
+    return deflater.finished() ? n : -1;
+  }
+
+  @Override
+  public void decompress(
+      final byte[] src,
+      final int offset,
+      final int length,
+      final byte[] dictionary,
+      final byte[] dst,
+      final int dstLength) {
+    final Inflater inflater = inflaters.get();
+    inflater.reset();
+    if (dictionary != null) {
+      final int size = min(dictionary.length, WINDOW);
+      inflater.setDictionary(dictionary, dictionary.length - size, size);
+    }
+    inflater.setInput(src, offset, length);
+    try {
+      if (inflater.inflate(dst, 0, dstLength) != dstLength) {
+        throw new IllegalStateException("Compressed value is truncated");
+      }
+    } catch (final DataFormatException e) {
+      throw new IllegalStateException("Compressed value is corrupt", e);
+    }
+  }
+
+  @Override
+  public byte id() {
+    return 1;
+  }
+}
@@ -18,7 +18,10 @@ package org.lmdbjava;
 import static java.lang.ThreadLocal.withInitial;
 import static java.nio.ByteBuffer.allocateDirect;
 import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
 import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.UnsafeAccess.UNSAFE;
 
 import java.nio.ByteBuffer;
@@ -90,6 +93,45 @@ public final class DirectBufferProxy extends BufferProxy<DirectBuffer> {
     return o1.capacity() - o2.capacity();
   }
 
+  /**
+   * Compare two buffers in the order of {@link DbiFlags#MDB_REVERSEKEY}, which compares bytes from
+   * the end of each buffer towards the start.
+   *
+   * @param o1 left operand (required)
+   * @param o2 right operand (required)
+   * @return as specified by {@link Comparable} interface
+   */
+  public static int compareReverseLexicographically(final DirectBuffer o1, final DirectBuffer o2) {
+    requireNonNull(o1);
+    requireNonNull(o2);
+
+    final int len1 = o1.capacity();
+    final int len2 = o2.capacity();
+    final int minLength = Math.min(len1, len2);
+    final int minWords = minLength / Long.BYTES;
+
+    // Read each word little endian, so the byte nearest the end is the most significant
+    for (int i = Long.BYTES; i <= minWords * Long.BYTES; i += Long.BYTES) {
+      final long lw = o1.getLong(len1 - i, LITTLE_ENDIAN);
+      final long rw = o2.getLong(len2 - i, LITTLE_ENDIAN);
+      final int diff = Long.compareUnsigned(lw, rw);
+      if (diff != 0) {
+        return diff;
+      }
+    }
+
+    for (int i = minWords * Long.BYTES + 1; i <= minLength; i++) {
+      final int lw = Byte.toUnsignedInt(o1.getByte(len1 - i));
+      final int rw = Byte.toUnsignedInt(o2.getByte(len2 - i));
+      final int result = Integer.compareUnsigned(lw, rw);
+      if (result != 0) {
+        return result;
+      }
+    }
+
+    return len1 - len2;
+  }
+
   /**
    * Buffer comparator specifically for 4/8 byte keys that are unsigned ints/longs, i.e. when using
    * MDB_INTEGER_KEY/MDB_INTEGERDUP. Compares the buffers numerically.
@@ -146,7 +188,9 @@ public final class DirectBufferProxy extends BufferProxy<DirectBuffer> {
 
   @Override
   public Comparator<DirectBuffer> getComparator(final DbiFlagSet dbiFlagSet) {
-    if (dbiFlagSet.areAnySet(DbiFlagSet.INTEGER_KEY_FLAGS)) {
+    if (dbiFlagSet.isSet(MDB_REVERSEKEY)) {
+      return DirectBufferProxy::compareReverseLexicographically;
+    } else if (dbiFlagSet.isSet(MDB_INTEGERKEY)) {
       return DirectBufferProxy::compareAsIntegerKeys;
     } else {
       return DirectBufferProxy::compareLexicographically;
@@ -166,6 +210,33 @@ public final class DirectBufferProxy extends BufferProxy<DirectBuffer> {
     return dest;
   }
 
+  @Override
+  long hash(final DirectBuffer buffer) {
+    final int len = buffer.capacity();
+    long h = DbiBloomFilter.hashStart(len);
+    final int tail = len - len % Long.BYTES;
+    for (int i = 0; i < tail; i += Long.BYTES) {
+      h = DbiBloomFilter.hashBlock(h, buffer.getLong(i, LITTLE_ENDIAN));
+    }
+    long k = 0;
+    for (int b = len - 1; b >= tail; b--) {
+      k = (k << 8) | (buffer.getByte(b) & 0xFFL);
+    }
+    return DbiBloomFilter.hashEnd(h, len - tail, k);
+  }
+
+  @Override
+  protected DirectBuffer fromBytes(final byte[] bytes) {
+    final MutableDirectBuffer buffer = new UnsafeBuffer(allocateDirect(bytes.length));
+    buffer.putBytes(0, bytes);
+    return buffer;
+  }
+
+  @Override
+  protected DirectBuffer slice(final DirectBuffer buffer, final int offset, final int length) {
+    return new UnsafeBuffer(buffer, offset, length);
+  }
+
   @Override
   protected Pointer in(final DirectBuffer buffer, final Pointer ptr) {
     final long ptrAddr = ptr.address();
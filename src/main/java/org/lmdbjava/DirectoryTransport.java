@@ -0,0 +1,89 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+
+/**
+ * {@link ChangeTransport} that stores each batch as a file in a directory, intended for testing and
+ * for shipping through shared or synchronised storage.
+ *
+ * <p>Batches are written to a temporary file and atomically renamed, so a receiver never observes a
+ * partial batch. Files are numbered from the sender's clock, and a receiver takes the lowest
+ * numbered file and deletes it once acknowledged. {@link #receive()} does not wait, returning null
+ * if no batch is present. One sender and one receiver may share a directory.
+ */
+public final class DirectoryTransport implements ChangeTransport {
+
+  private static final String SUFFIX = ".batch";
+
+  private final Path dir;
+  private Path received;
+  private long sent;
+
+  /**
+   * Create a transport over the passed directory.
+   *
+   * @param dir an existing directory (required)
+   */
+  public DirectoryTransport(final Path dir) {
+    requireNonNull(dir);
+    this.dir = dir;
+  }
+
+  @Override
+  public void acknowledge() throws IOException {
+    if (received != null) {
+      Files.delete(received);
+      received = null;
+    }
+  }
+
+  @Override
+  public void close() {
+    // no resources are held between calls
+  }
+
+  @Override
+  public byte[] receive() throws IOException {
+    Path first = null;
+    try (DirectoryStream<Path> files = Files.newDirectoryStream(dir, "*" + SUFFIX)) {
+      for (final Path file : files) {
+        if (first == null || file.getFileName().compareTo(first.getFileName()) < 0) {
+          first = file;
+        }
+      }
+    }
+    received = first;
+    return first == null ? null : Files.readAllBytes(first);
+  }
+
+  @Override
+  public void send(final byte[] batch) throws IOException {
+    requireNonNull(batch);
+    // Microseconds of wall clock time keep the order across restarts of the sender
+    sent = Math.max(sent + 1, System.currentTimeMillis() * 1_000);
+    final Path tmp = Files.createTempFile(dir, "send", ".tmp");
+    Files.write(tmp, batch);
+    Files.move(tmp, dir.resolve(String.format("%020d%s", sent, SUFFIX)), ATOMIC_MOVE);
+  }
+}
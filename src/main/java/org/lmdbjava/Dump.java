@@ -0,0 +1,682 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.nio.file.StandardOpenOption.CREATE_NEW;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_DATA;
+import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_SIZE;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPFIXED;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERDUP;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEDUP;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
+import static org.lmdbjava.Library.RUNTIME;
+import static org.lmdbjava.PutFlags.MDB_APPEND;
+import static org.lmdbjava.PutFlags.MDB_APPENDDUP;
+
+import java.io.BufferedOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Phaser;
+import java.util.concurrent.atomic.AtomicInteger;
+import jnr.ffi.Pointer;
+import jnr.ffi.provider.MemoryManager;
+import org.lmdbjava.Dbi.IncompatibleException;
+import org.lmdbjava.Dbi.KeyExistsException;
+
+/**
+ * Writes and reads databases in the text format of the LMDB {@code mdb_dump} and {@code mdb_load}
+ * tools.
+ *
+ * <p>Each database is a section of {@code name=value} header lines ended by {@code HEADER=END},
+ * then a line for each key and each value ended by {@code DATA=END}. Data lines start with a space
+ * and hold each byte as two hexadecimal digits (the {@code bytevalue} format). Sections are written
+ * as {@code mdb_dump} writes them, and sections in either the {@code bytevalue} or {@code print}
+ * format are read, so files can be exchanged with the C tools.
+ */
+final class Dump {
+
+  private static final PutFlagSet APPEND = PutFlagSet.of(MDB_APPEND);
+  private static final PutFlagSet APPEND_DUP = PutFlagSet.of(MDB_APPENDDUP);
+  private static final int BUFFER_SIZE = 64 * 1_024;
+
+  /** Size of the record of a named database, an {@code MDB_db} of eight bytes and five words. */
+  private static final long DB_RECORD_SIZE = 8 + 5L * RUNTIME.addressSize();
+
+  private static final String DATA_END = "DATA=END";
+  private static final String HEADER_END = "HEADER=END";
+  private static final byte[] HEX = "0123456789abcdef".getBytes(US_ASCII);
+  private static final MemoryManager MEM_MGR = RUNTIME.getMemoryManager();
+  private static final String UNNAMED_FILE = "%main.dump";
+  private static final String VERSION = "VERSION=3";
+
+  /** Flags in the header, in the order and with the names {@code mdb_dump} uses. */
+  private static final DbiFlags[] FLAGS = {
+    MDB_REVERSEKEY, MDB_DUPSORT, MDB_INTEGERKEY, MDB_DUPFIXED, MDB_INTEGERDUP, MDB_REVERSEDUP
+  };
+
+  private static final String[] FLAG_NAMES = {
+    "reversekey", "dupsort", "integerkey", "dupfixed", "integerdup", "reversedup"
+  };
+
+  private Dump() {}
+
+  static <T> List<Path> dump(final Env<T> env, final Path dir, final int threads) {
+    try {
+      Files.createDirectories(dir);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    final List<byte[]> names = new ArrayList<>();
+    final List<Dbi<T>> dbis = new ArrayList<>();
+    final List<Path> files = new ArrayList<>();
+    final Set<ByteBuffer> skip = new HashSet<>();
+    boolean unnamedData = false;
+    final Dbi<T> unnamed;
+    try (Txn<T> txn = env.isReadOnly() ? env.txnRead() : env.txnWrite()) {
+      unnamed = env.createDbi().withoutDbName().withDefaultComparator().setTxn(txn).open();
+      // The unnamed database holds a record of each named database, which is only tried as one
+      // when the value is the size of a record
+      final List<byte[]> candidates = new ArrayList<>();
+      try (Cursor<T> cursor = unnamed.openCursor(txn)) {
+        final KeyVal<T> kv = cursor.keyVal();
+        for (boolean found = cursor.first(); found; found = cursor.next()) {
+          if (kv.pointerVal().getLong(STRUCT_FIELD_OFFSET_SIZE) == DB_RECORD_SIZE) {
+            candidates.add(unnamed.proxy().getBytes(cursor.key()));
+          } else {
+            unnamedData = true;
+          }
+        }
+      }
+      for (final byte[] name : candidates) {
+        try {
+          dbis.add(env.createDbi().setDbName(name).withDefaultComparator().setTxn(txn).open());
+        } catch (final IncompatibleException e) {
+          unnamedData = true;
+          continue;
+        }
+        names.add(name);
+        files.add(dir.resolve(fileName(name)));
+        skip.add(ByteBuffer.wrap(name));
+      }
+      txn.commit();
+    }
+    if (unnamedData || names.isEmpty()) {
+      dbis.add(0, unnamed);
+      names.add(0, null);
+      files.add(0, dir.resolve(UNNAMED_FILE));
+    }
+    final int workers = Math.min(threads, dbis.size());
+    final Snapshot snapshot = new Snapshot(workers);
+    final CountDownLatch begun = new CountDownLatch(workers);
+    final AtomicInteger next = new AtomicInteger();
+    final List<Callable<Void>> tasks = new ArrayList<>(workers);
+    for (int i = 0; i < workers; i++) {
+      tasks.add(
+          () -> {
+            try (Txn<T> txn = begin(env, snapshot, begun)) {
+              for (int db = next.getAndIncrement(); db < dbis.size(); db = next.getAndIncrement()) {
+                try (OutputStream out =
+                    new BufferedOutputStream(
+                        Files.newOutputStream(files.get(db), CREATE_NEW, WRITE), BUFFER_SIZE)) {
+                  write(txn, dbis.get(db), names.get(db), names.get(db) == null ? skip : null, out);
+                }
+              }
+            } catch (final RuntimeException | IOException e) {
+              snapshot.abandon();
+              throw e;
+            }
+            return null;
+          });
+    }
+    // Holding the write lock while the workers begin gives them all the same snapshot
+    run(tasks, env.isReadOnly() ? null : env.txnWrite(), begun);
+    return Collections.unmodifiableList(files);
+  }
+
+  static <T> long load(final Env<T> env, final Path file, final int commitInterval) {
+    try (InputStream in = Files.newInputStream(file)) {
+      final LineReader reader = new LineReader(in);
+      long loaded = 0;
+      for (Header header = Header.read(reader); header != null; header = Header.read(reader)) {
+        loaded += load(env, reader, header, commitInterval);
+      }
+      return loaded;
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
+  static <T> void write(
+      final Txn<T> txn,
+      final Dbi<T> dbi,
+      final byte[] name,
+      final Set<ByteBuffer> skip,
+      final OutputStream out)
+      throws IOException {
+    final EnvInfo info = dbi.env().info();
+    final List<DbiFlags> flags = dbi.listFlags(txn);
+    ascii(out, VERSION);
+    ascii(out, "format=bytevalue");
+    if (name != null) {
+      out.write("database=".getBytes(US_ASCII));
+      out.write(name);
+      out.write('\n');
+    }
+    ascii(out, "type=btree");
+    ascii(out, "mapsize=" + info.mapSize);
+    ascii(out, "maxreaders=" + info.maxReaders);
+    if (flags.contains(MDB_DUPSORT)) {
+      ascii(out, "duplicates=1");
+    }
+    for (int i = 0; i < FLAGS.length; i++) {
+      if (flags.contains(FLAGS[i])) {
+        ascii(out, FLAG_NAMES[i] + "=1");
+      }
+    }
+    ascii(out, "db_pagesize=" + dbi.stat(txn).pageSize);
+    ascii(out, HEADER_END);
+    final Field field = new Field();
+    try (Cursor<T> cursor = dbi.openCursor(txn)) {
+      final KeyVal<T> kv = cursor.keyVal();
+      boolean found = cursor.first();
+      while (found) {
+        if (skip == null
+            || skip.isEmpty()
+            || !skip.contains(ByteBuffer.wrap(dbi.proxy().getBytes(cursor.key())))) {
+          field.encode(kv.pointerKey(), out);
+          field.encode(kv.pointerVal(), out);
+        }
+        found = cursor.next();
+      }
+    }
+    ascii(out, DATA_END);
+  }
+
+  private static void ascii(final OutputStream out, final String line) throws IOException {
+    out.write(line.getBytes(US_ASCII));
+    out.write('\n');
+  }
+
+  /** Escape all but letters, digits, '.', '-' and '_', so distinct names give distinct files. */
+  static String fileName(final byte[] name) {
+    final StringBuilder sb = new StringBuilder(name.length + 5);
+    for (final byte b : name) {
+      final char c = (char) (b & 0xFF);
+      if (c < 0x80 && (Character.isLetterOrDigit(c) || c == '.' || c == '-' || c == '_')) {
+        sb.append(c);
+      } else {
+        sb.append('%').append((char) HEX[(b >>> 4) & 0xF]).append((char) HEX[b & 0xF]);
+      }
+    }
+    return sb.append(".dump").toString();
+  }
+
+  private static <T> long load(
+      final Env<T> env, final LineReader reader, final Header header, final int commitInterval)
+      throws IOException {
+    final DbiBuilder.Stage2<T> named =
+        header.name == null
+            ? env.createDbi().withoutDbName()
+            : env.createDbi().setDbName(header.name);
+    final Dbi<T> dbi =
+        named.withDefaultComparator().setDbiFlags(header.flags).addDbiFlag(MDB_CREATE).open();
+    final boolean dupSort = header.flags.contains(MDB_DUPSORT);
+    final Field key = new Field();
+    final Field val = new Field();
+    final Field previous = new Field();
+    // Appending skips the search for each key's position, until an entry is out of order
+    boolean append = true;
+    long loaded = 0;
+    try (Batch<T> batch = new Batch<>(env, dbi)) {
+      while (true) {
+        if (!reader.next()) {
+          throw new EOFException("Dump ended before " + DATA_END);
+        }
+        if (reader.is(DATA_END)) {
+          break;
+        }
+        key.decode(reader, header.print);
+        if (!reader.next() || reader.is(DATA_END)) {
+          throw new IOException("Dump has a key without a value");
+        }
+        val.decode(reader, header.print);
+        final PutFlagSet flags = dupSort && key.sameAs(previous) ? APPEND_DUP : APPEND;
+        if (!append || !batch.put(key, val, flags)) {
+          append = false;
+          batch.put(key, val, PutFlagSet.EMPTY);
+        }
+        if (dupSort) {
+          previous.copy(key);
+        }
+        if (++loaded % commitInterval == 0) {
+          batch.commit(true);
+        }
+      }
+      batch.commit(false);
+    }
+    return loaded;
+  }
+
+  private static <T> Txn<T> begin(
+      final Env<T> env, final Snapshot snapshot, final CountDownLatch begun) {
+    try {
+      final Txn<T> txn = env.txnRead();
+      try {
+        snapshot.join(txn);
+      } catch (final RuntimeException e) {
+        txn.close();
+        throw e;
+      }
+      return txn;
+    } finally {
+      begun.countDown();
+    }
+  }
+
+  private static void run(
+      final List<Callable<Void>> tasks, final Txn<?> lock, final CountDownLatch begun) {
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            tasks.size(),
+            r -> {
+              final Thread thread = new Thread(r, "lmdb-dump");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      final List<Future<Void>> results = new ArrayList<>(tasks.size());
+      try {
+        for (final Callable<Void> task : tasks) {
+          results.add(executor.submit(task));
+        }
+        begun.await();
+      } finally {
+        if (lock != null) {
+          lock.close();
+        }
+      }
+      for (final Future<Void> result : results) {
+        result.get();
+      }
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof IOException) {
+        throw new UncheckedIOException((IOException) e.getCause());
+      }
+      throw new LmdbException("Dump failed", e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LmdbException("Interrupted while dumping", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  /** The write transaction and cursor loading a database, replaced at each commit. */
+  private static final class Batch<T> implements AutoCloseable {
+
+    private Cursor<T> cursor;
+    private final Dbi<T> dbi;
+    private final Env<T> env;
+    private Txn<T> txn;
+
+    Batch(final Env<T> env, final Dbi<T> dbi) {
+      this.env = env;
+      this.dbi = dbi;
+      begin();
+    }
+
+    @Override
+    public void close() {
+      if (cursor != null) {
+        cursor.close();
+      }
+      if (txn != null) {
+        txn.close();
+      }
+    }
+
+    void commit(final boolean more) {
+      cursor.close();
+      cursor = null;
+      txn.commit();
+      txn.close();
+      txn = null;
+      if (more) {
+        begin();
+      }
+    }
+
+    boolean put(final Field key, final Field val, final PutFlagSet flags) {
+      if (!txn.hasWriteListeners()) {
+        return cursor.put(key.stage(), key.length, val.stage(), val.length, flags);
+      }
+      final BufferProxy<T> proxy = dbi.proxy();
+      try {
+        return cursor.put(key.buffer(proxy), val.buffer(proxy), flags);
+      } catch (final KeyExistsException e) {
+        return false;
+      }
+    }
+
+    private void begin() {
+      txn = env.txnWrite();
+      cursor = dbi.openCursor(txn);
+    }
+  }
+
+  /** A key or value, held as bytes and staged in native memory for LMDB. */
+  private static final class Field {
+
+    private byte[] bytes = new byte[64];
+    private int length;
+    private byte[] line = new byte[0];
+    private Pointer memory;
+
+    <T> T buffer(final BufferProxy<T> proxy) {
+      return proxy.fromBytes(Arrays.copyOf(bytes, length));
+    }
+
+    void copy(final Field other) {
+      ensure(other.length);
+      System.arraycopy(other.bytes, 0, bytes, 0, other.length);
+      length = other.length;
+    }
+
+    void decode(final LineReader reader, final boolean print) throws IOException {
+      final byte[] src = reader.line;
+      final int end = reader.length;
+      if (end == 0 || src[0] != ' ') {
+        throw new IOException("Dump has a malformed data line");
+      }
+      ensure(end);
+      length = 0;
+      int i = 1;
+      while (i < end) {
+        if (!print) {
+          bytes[length++] = hex(src, i, end);
+          i += 2;
+        } else if (src[i] != '\\') {
+          bytes[length++] = src[i++];
+        } else if (i + 1 < end && src[i + 1] == '\\') {
+          bytes[length++] = '\\';
+          i += 2;
+        } else {
+          bytes[length++] = hex(src, i + 1, end);
+          i += 3;
+        }
+      }
+    }
+
+    void encode(final Pointer mdbVal, final OutputStream out) throws IOException {
+      final int size = (int) mdbVal.getLong(STRUCT_FIELD_OFFSET_SIZE);
+      ensure(size);
+      if (size > 0) {
+        MEM_MGR.newPointer(mdbVal.getAddress(STRUCT_FIELD_OFFSET_DATA)).get(0, bytes, 0, size);
+      }
+      if (line.length < size * 2 + 2) {
+        line = new byte[bytes.length * 2 + 2];
+      }
+      line[0] = ' ';
+      for (int i = 0; i < size; i++) {
+        line[i * 2 + 1] = HEX[(bytes[i] >>> 4) & 0xF];
+        line[i * 2 + 2] = HEX[bytes[i] & 0xF];
+      }
+      line[size * 2 + 1] = '\n';
+      out.write(line, 0, size * 2 + 2);
+    }
+
+    boolean sameAs(final Field other) {
+      if (length != other.length) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (bytes[i] != other.bytes[i]) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    Pointer stage() {
+      if (memory == null || memory.size() < length) {
+        memory = MEM_MGR.allocateDirect(Math.max(length, bytes.length));
+      }
+      memory.put(0, bytes, 0, length);
+      return memory;
+    }
+
+    private static byte hex(final byte[] src, final int i, final int end) throws IOException {
+      final int high = i + 1 < end ? Character.digit(src[i], 16) : -1;
+      final int low = i + 1 < end ? Character.digit(src[i + 1], 16) : -1;
+      if (high < 0 || low < 0) {
+        throw new IOException("Dump has a malformed hexadecimal byte");
+      }
+      return (byte) (high << 4 | low);
+    }
+
+    private void ensure(final int size) {
+      if (bytes.length < size) {
+        bytes = new byte[Math.max(size, bytes.length * 2)];
+      }
+    }
+  }
+
+  /** The header of a section, describing the database that follows. */
+  private static final class Header {
+
+    private final List<DbiFlags> flags = new ArrayList<>();
+    private byte[] name;
+    private boolean print;
+
+    /** Read the next header, or return null at the end of the input. */
+    static Header read(final LineReader reader) throws IOException {
+      if (!reader.next()) {
+        return null;
+      }
+      if (!reader.is(VERSION)) {
+        throw new IOException("Dump does not start with " + VERSION);
+      }
+      final Header header = new Header();
+      while (true) {
+        if (!reader.next()) {
+          throw new EOFException("Dump ended before " + HEADER_END);
+        }
+        if (reader.is(HEADER_END)) {
+          return header;
+        }
+        final String line = reader.text();
+        final int eq = line.indexOf('=');
+        if (eq < 0) {
+          throw new IOException("Dump has a malformed header line: " + line);
+        }
+        header.set(line.substring(0, eq), line.substring(eq + 1), reader);
+      }
+    }
+
+    private void set(final String key, final String value, final LineReader reader)
+        throws IOException {
+      switch (key) {
+        case "format":
+          if (!"print".equals(value) && !"bytevalue".equals(value)) {
+            throw new IOException("Dump has an unsupported format: " + value);
+          }
+          print = "print".equals(value);
+          break;
+        case "database":
+          name = Arrays.copyOfRange(reader.line, key.length() + 1, reader.length);
+          break;
+        case "type":
+          if (!"btree".equals(value)) {
+            throw new IOException("Dump has an unsupported type: " + value);
+          }
+          break;
+        case "duplicates":
+          setFlag(MDB_DUPSORT, value);
+          break;
+        default:
+          for (int i = 0; i < FLAGS.length; i++) {
+            if (FLAG_NAMES[i].equals(key)) {
+              setFlag(FLAGS[i], value);
+            }
+          }
+      }
+    }
+
+    private void setFlag(final DbiFlags flag, final String value) {
+      if ("1".equals(value) && !flags.contains(flag)) {
+        flags.add(flag);
+      }
+    }
+  }
+
+  /** Reads the lines of a dump as bytes, reusing one buffer for every line. */
+  private static final class LineReader {
+
+    private final byte[] buffer = new byte[BUFFER_SIZE];
+    private final InputStream in;
+    private int length;
+    private int limit;
+    private byte[] line = new byte[256];
+    private int position;
+
+    LineReader(final InputStream in) {
+      this.in = in;
+    }
+
+    boolean is(final String text) {
+      if (length != text.length()) {
+        return false;
+      }
+      for (int i = 0; i < length; i++) {
+        if (line[i] != text.charAt(i)) {
+          return false;
+        }
+      }
+      return true;
+    }
+
+    /** Read the next line without its line feed, returning false at the end of the input. */
+    boolean next() throws IOException {
+      length = 0;
+      boolean read = false;
+      while (true) {
+        if (position == limit) {
+          limit = Math.max(in.read(buffer), 0);
+          position = 0;
+          if (limit == 0) {
+            return read;
+          }
+        }
+        read = true;
+        final int start = position;
+        while (position < limit && buffer[position] != '\n') {
+          position++;
+        }
+        append(start, position - start);
+        if (position < limit) {
+          position++;
+          return true;
+        }
+      }
+    }
+
+    String text() {
+      return new String(line, 0, length, ISO_8859_1);
+    }
+
+    private void append(final int start, final int count) {
+      if (line.length < length + count) {
+        line = Arrays.copyOf(line, Math.max(length + count, line.length * 2));
+      }
+      System.arraycopy(buffer, start, line, length, count);
+      length += count;
+    }
+  }
+
+  /** Brings the read-only transactions of the threads writing a dump to the same snapshot. */
+  private static final class Snapshot extends Phaser {
+
+    private static final int MAX_ATTEMPTS = 100;
+
+    private volatile boolean aligned;
+    private final Set<Long> ids = ConcurrentHashMap.newKeySet();
+
+    Snapshot(final int parties) {
+      super(parties);
+    }
+
+    void abandon() {
+      forceTermination();
+    }
+
+    void join(final Txn<?> txn) {
+      while (true) {
+        ids.add(txn.getId());
+        final int phase = arriveAndAwaitAdvance();
+        if (phase < 0) {
+          throw new LmdbException("Dump abandoned by another thread");
+        }
+        if (aligned) {
+          return;
+        }
+        // Only another process can write while the write lock is held or in a read-only
+        // environment, and under steady writes the transactions may never align
+        if (phase >= MAX_ATTEMPTS) {
+          throw new LmdbException(
+              "Dump transactions did not begin on one snapshot in " + MAX_ATTEMPTS + " attempts");
+        }
+        // A write committed as the transactions began, so all move to the latest snapshot
+        txn.reset();
+        txn.renew();
+      }
+    }
+
+    @Override
+    protected boolean onAdvance(final int phase, final int registeredParties) {
+      aligned = ids.size() == 1;
+      ids.clear();
+      return false;
+    }
+  }
+}
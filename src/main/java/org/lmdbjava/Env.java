@@ -16,8 +16,10 @@
 package org.lmdbjava;
 
 import static java.lang.Boolean.getBoolean;
+import static java.nio.file.StandardOpenOption.READ;
 import static java.util.Objects.requireNonNull;
 import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
+import static org.lmdbjava.EnvFlags.MDB_NOLOCK;
 import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
 import static org.lmdbjava.EnvFlags.MDB_RDONLY_ENV;
 import static org.lmdbjava.Library.LIB;
@@ -25,7 +27,9 @@ import static org.lmdbjava.Library.RUNTIME;
 import static org.lmdbjava.ResultCodeMapper.checkRc;
 
 import java.io.File;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.charset.Charset;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
@@ -37,6 +41,7 @@ import java.util.Collections;
 import java.util.Comparator;
 import java.util.List;
 import java.util.Objects;
+import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.stream.Collectors;
 import jnr.ffi.Pointer;
 import jnr.ffi.byref.IntByReference;
@@ -68,13 +73,16 @@ public final class Env<T> implements AutoCloseable {
   public static final boolean SHOULD_CHECK = !getBoolean(DISABLE_CHECKS_PROP);
 
   private boolean closed;
+  private FileChannel dataChannel;
   private final int maxKeySize;
   private final boolean noSubDir;
+  private final int pageSize;
   private final BufferProxy<T> proxy;
   private final Pointer ptr;
   private final boolean readOnly;
   private final Path path;
   private final EnvFlagSet envFlagSet;
+  private final List<WriteListener<T>> writeListeners = new CopyOnWriteArrayList<>();
 
   private Env(
       final BufferProxy<T> proxy,
@@ -89,6 +97,7 @@ public final class Env<T> implements AutoCloseable {
     this.ptr = ptr;
     // cache max key size to avoid further JNI calls
     this.maxKeySize = LIB.mdb_env_get_maxkeysize(ptr);
+    this.pageSize = stat().pageSize;
     this.path = path;
     this.envFlagSet = envFlagSet;
   }
@@ -139,6 +148,7 @@ public final class Env<T> implements AutoCloseable {
     }
     closed = true;
     LIB.mdb_env_close(ptr);
+    closeDataChannel();
   }
 
   /**
@@ -453,8 +463,7 @@ public final class Env<T> implements AutoCloseable {
       final boolean nativeCb,
       final DbiFlags... flags) {
     try (Txn<T> txn = readOnly ? txnRead() : txnWrite()) {
-      final Dbi<T> dbi =
-          new Dbi<>(this, txn, name, comparator, nativeCb, proxy, DbiFlagSet.of(flags));
+      final Dbi<T> dbi = openDbi(txn, name, comparator, nativeCb, flags);
       txn.commit(); // even RO Txns require a commit to retain Dbi in Env
       return dbi;
     }
@@ -490,7 +499,115 @@ public final class Env<T> implements AutoCloseable {
       final Comparator<T> comparator,
       final boolean nativeCb,
       final DbiFlags... flags) {
-    return new Dbi<>(this, txn, name, comparator, nativeCb, proxy, DbiFlagSet.of(flags));
+    final DbiFlagSet dbiFlagSet = DbiFlagSet.of(flags);
+    // Without a callback, LMDB orders keys as the default comparator for the flags does
+    final Comparator<T> iteratorComparator =
+        comparator == null && !nativeCb ? proxy.getComparator(dbiFlagSet) : comparator;
+    return new Dbi<>(this, txn, name, iteratorComparator, nativeCb, proxy, dbiFlagSet);
+  }
+
+  /**
+   * Load the used part of the data file into the operating system's page cache, so that reads after
+   * a restart do not wait for page faults.
+   *
+   * <p>The file is loaded in regions by the passed number of threads, each advising the kernel that
+   * its pages will be needed and touching them. Pages are only held while the operating system has
+   * memory to spare.
+   *
+   * @param threads number of threads loading the file (must be positive)
+   */
+  public void prewarm(final int threads) {
+    checkThreads(threads);
+    checkNotClosed();
+    Prewarm.file(dataFile(), usedBytes(), threads);
+  }
+
+  /**
+   * Load the pages of the passed databases into the operating system's page cache, by walking every
+   * entry with a cursor.
+   *
+   * <p>Each database is walked in its own read-only transaction, using up to the passed number of
+   * threads. The walk visits the branch and leaf pages of each database, but does not read values
+   * stored in overflow pages. This method must not be called by a thread that holds a read-only
+   * transaction unless the environment uses {@link EnvFlags#MDB_NOTLS}.
+   *
+   * @param threads number of threads walking databases (must be positive)
+   * @param dbis the databases to load (required)
+   */
+  public void prewarm(final int threads, final List<Dbi<T>> dbis) {
+    checkThreads(threads);
+    requireNonNull(dbis);
+    checkNotClosed();
+    Prewarm.dbis(this, dbis, threads);
+  }
+
+  /**
+   * Estimate the fraction of the used part of the data file resident in the page cache.
+   *
+   * <p>The file is examined in about a thousand regions, each counted as resident only if all of
+   * its pages are. Where the operating system cannot report residency the result may not be
+   * accurate.
+   *
+   * @return the resident fraction, between 0 and 1
+   */
+  public double residency() {
+    checkNotClosed();
+    return Prewarm.residency(dataFile(), usedBytes());
+  }
+
+  /**
+   * Write each named database to its own file in the passed directory, in the text format of the
+   * LMDB {@code mdb_dump} tool, so it can be loaded by {@link #load(Path, int)} or {@code
+   * mdb_load}.
+   *
+   * <p>Up to the passed number of threads write databases in turn, each in a read-only transaction
+   * of the same snapshot so the files are consistent with each other. Unless the environment is
+   * read-only, the write lock is held while those transactions begin. Each file is named after its
+   * database followed by {@code .dump}, with bytes other than ASCII letters, digits, {@code .},
+   * {@code -} and {@code _} written as {@code %} and two hexadecimal digits. Each thread needs a
+   * reader slot in addition to that of the calling thread. This method must not be called by a
+   * thread that holds a write transaction, nor by one that holds a read-only transaction unless the
+   * environment uses {@link EnvFlags#MDB_NOTLS}.
+   *
+   * <p>If the environment has no named databases, or its unnamed database holds data as well as the
+   * names of named databases, the data of the unnamed database is written first, to {@code
+   * %main.dump}, without a {@code database=} header line.
+   *
+   * @param dir directory to write to, which is created if absent and must not hold files of the
+   *     same names (required)
+   * @param threads number of threads writing files (must be positive)
+   * @return the files written, in the order of {@link #getDbiNames()} after any unnamed database
+   *     file
+   */
+  public List<Path> dump(final Path dir, final int threads) {
+    requireNonNull(dir);
+    checkThreads(threads);
+    checkNotClosed();
+    return Dump.dump(this, dir, threads);
+  }
+
+  /**
+   * Load a file in the text format of the LMDB {@code mdb_dump} tool, creating each database it
+   * holds that does not exist with the flags recorded in the file.
+   *
+   * <p>Entries are added with {@link PutFlags#MDB_APPEND} while they follow the existing entries in
+   * key order, as they do when the file was written from a database with the same flags, which
+   * avoids searching for the position of each. Once an entry is out of order, the rest of that
+   * database is stored with ordinary puts. A write transaction is committed after every {@code
+   * commitInterval} entries and at the end of each database, so a failed load leaves the entries of
+   * the committed transactions in place.
+   *
+   * @param file the file to load (required)
+   * @param commitInterval number of entries stored in each transaction (must be positive)
+   * @return the number of entries loaded
+   */
+  public long load(final Path file, final int commitInterval) {
+    requireNonNull(file);
+    if (commitInterval <= 0) {
+      throw new IllegalArgumentException("Commit interval must be positive");
+    }
+    checkNotClosed();
+    return Dump.load(this, file, commitInterval);
   }
 
   /**
@@ -589,6 +706,82 @@ public final class Env<T> implements AutoCloseable {
     return ptr;
   }
 
+  BufferProxy<T> proxy() {
+    return proxy;
+  }
+
+  /**
+   * Register a listener that will be notified of mutations made by read-write transactions started
+   * after this call.
+   *
+   * @param listener the listener (required)
+   */
+  void addWriteListener(final WriteListener<T> listener) {
+    writeListeners.add(requireNonNull(listener));
+  }
+
+  /**
+   * Unregister a listener. Transactions that already started will continue to notify it.
+   *
+   * @param listener the listener to remove
+   */
+  void removeWriteListener(final WriteListener<T> listener) {
+    writeListeners.remove(listener);
+  }
+
+  List<WriteListener<T>> writeListeners() {
+    return writeListeners;
+  }
+
+  /**
+   * A read-only channel over the data file, opened on first use and closed with this environment.
+   *
+   * @return the channel
+   * @throws IOException if the data file cannot be opened
+   */
+  synchronized FileChannel dataChannel() throws IOException {
+    if (dataChannel == null) {
+      dataChannel = FileChannel.open(dataFile(), READ);
+    }
+    return dataChannel;
+  }
+
+  int pageSize() {
+    return pageSize;
+  }
+
+  private synchronized void closeDataChannel() {
+    if (dataChannel == null) {
+      return;
+    }
+    try {
+      dataChannel.close();
+    } catch (final IOException e) {
+      throw new LmdbException("Cannot close data file", e);
+    } finally {
+      dataChannel = null;
+    }
+  }
+
+  private static void checkThreads(final int threads) {
+    if (threads <= 0) {
+      throw new IllegalArgumentException("Threads must be positive");
+    }
+  }
+
+  private Path dataFile() {
+    return dataFile(path, noSubDir);
+  }
+
+  static Path dataFile(final Path path, final boolean noSubDir) {
+    return noSubDir ? path : path.resolve("data.mdb");
+  }
+
+  private long usedBytes() {
+    final long used = (info().lastPageNumber + 1) * stat().pageSize;
+    return Math.min(used, FileUtil.size(dataFile()));
+  }
+
   void checkNotClosed() {
     if (closed) {
       throw new AlreadyClosedException();
@@ -773,6 +966,34 @@ public final class Env<T> implements AutoCloseable {
       }
     }
 
+    /**
+     * Opens a sealed, immutable environment for lock-free reading.
+     *
+     * <p>The environment is opened with {@link EnvFlags#MDB_RDONLY_ENV} and {@link
+     * EnvFlags#MDB_NOLOCK}, in addition to any other flags set, so readers never touch the lock
+     * file or its reader table. This is only safe if nothing can write the environment while it is
+     * open, so the data file must be sealed by removing all write permissions (or setting the
+     * read-only attribute where POSIX permissions are unsupported) once it has been written.
+     *
+     * @param path file system destination
+     * @return an environment ready for use
+     * @throws SnapshotNotSealedException if the data file may still be written
+     * @see SnapshotEnv
+     */
+    public Env<T> openSnapshot(final Path path) {
+      requireNonNull(path);
+      if (opened) {
+        throw new AlreadyOpenException();
+      }
+      final Path data = dataFile(path, flagSetBuilder.build().isSet(MDB_NOSUBDIR));
+      if (FileUtil.isWritable(data)) {
+        throw new SnapshotNotSealedException(data);
+      }
+      addEnvFlag(MDB_RDONLY_ENV);
+      addEnvFlag(MDB_NOLOCK);
+      return open(path);
+    }
+
     /**
      * Sets the map size in bytes.
      *
@@ -980,6 +1201,21 @@ public final class Env<T> implements AutoCloseable {
     }
   }
 
+  /** The data file of a snapshot has not been sealed against writing. */
+  public static final class SnapshotNotSealedException extends LmdbException {
+
+    private static final long serialVersionUID = 1L;
+
+    /**
+     * Creates a new instance.
+     *
+     * @param file the data file
+     */
+    public SnapshotNotSealedException(final Path file) {
+      super("Snapshot data file is writable: " + file);
+    }
+  }
+
   /** Environment version mismatch. */
   public static final class VersionMismatchException extends LmdbNativeException {
 
@@ -15,6 +15,10 @@
  */
 package org.lmdbjava;
 
+import static java.nio.file.attribute.PosixFilePermission.GROUP_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OTHERS_WRITE;
+import static java.nio.file.attribute.PosixFilePermission.OWNER_WRITE;
+
 import java.io.IOException;
 import java.io.UncheckedIOException;
 import java.nio.file.FileVisitOption;
@@ -24,7 +28,11 @@ import java.nio.file.Files;
 import java.nio.file.NotDirectoryException;
 import java.nio.file.Path;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.DosFileAttributeView;
+import java.nio.file.attribute.PosixFileAttributeView;
+import java.nio.file.attribute.PosixFilePermission;
 import java.util.EnumSet;
+import java.util.Set;
 import java.util.stream.Stream;
 
 final class FileUtil {
@@ -39,6 +47,30 @@ final class FileUtil {
     }
   }
 
+  /**
+   * Whether the file's permissions allow writing by anyone, regardless of the current user's
+   * privileges.
+   */
+  static boolean isWritable(final Path path) {
+    try {
+      final PosixFileAttributeView posix =
+          Files.getFileAttributeView(path, PosixFileAttributeView.class);
+      if (posix != null) {
+        final Set<PosixFilePermission> perms = posix.readAttributes().permissions();
+        return perms.contains(OWNER_WRITE)
+            || perms.contains(GROUP_WRITE)
+            || perms.contains(OTHERS_WRITE);
+      }
+      final DosFileAttributeView dos = Files.getFileAttributeView(path, DosFileAttributeView.class);
+      if (dos != null) {
+        return !dos.readAttributes().isReadOnly();
+      }
+      return Files.isWritable(path);
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+  }
+
   static void deleteFile(final Path path) {
     try {
       Files.delete(path);
@@ -0,0 +1,271 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+import static org.lmdbjava.GetOp.MDB_SET_RANGE;
+import static org.lmdbjava.SeekOp.MDB_NEXT_NODUP;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Model of the keys of a {@link Dbi} as points in a numeric space, used to estimate and sample
+ * ranges without scanning them.
+ *
+ * <p>A key's position is taken from its unsigned bytes after the prefix shared by the keys of
+ * interest, in reverse for {@link DbiFlags#MDB_REVERSEKEY}, or from its integer value for {@link
+ * DbiFlags#MDB_INTEGERKEY}. Positions follow LMDB's key order for these databases only.
+ *
+ * @param <T> buffer type
+ */
+final class KeySpace<T> {
+
+  /** Ranges estimated to hold at most this many keys per sample are sampled exactly. */
+  private static final int EXACT_FACTOR = 8;
+
+  private static final int POSITION_BYTES = Long.BYTES;
+
+  private final Comparator<T> comparator;
+  private final Dbi<T> dbi;
+  private final boolean dupsort;
+  private final boolean integerKey;
+  private final BufferProxy<T> proxy;
+  private final boolean reverseKey;
+
+  KeySpace(final Dbi<T> dbi) {
+    this.dbi = dbi;
+    this.proxy = dbi.proxy();
+    final DbiFlagSet flags = dbi.dbiFlagSet();
+    this.dupsort = flags.isSet(MDB_DUPSORT);
+    this.integerKey = flags.isSet(MDB_INTEGERKEY);
+    this.reverseKey = flags.isSet(MDB_REVERSEKEY);
+    this.comparator = dbi.comparator() == null ? proxy.getComparator(flags) : dbi.comparator();
+  }
+
+  long count(final Txn<T> txn, final KeyRange<T> range) {
+    final T last = boundary(txn, reversed(range));
+    if (last == null) {
+      return 0;
+    }
+    long count = 0;
+    try (CursorIterable<T> iterable = dbi.iterate(txn, forward(range));
+        Cursor<T> cursor = dbi.openCursor(txn)) {
+      final Iterator<CursorIterable.KeyVal<T>> it = iterable.iterator();
+      if (!it.hasNext() || !cursor.get(it.next().key(), MDB_SET_KEY)) {
+        return 0;
+      }
+      do {
+        count += dupsort ? cursor.count() : 1;
+      } while (comparator.compare(cursor.key(), last) != 0
+          && (dupsort ? cursor.seek(MDB_NEXT_NODUP) : cursor.next()));
+    }
+    return count;
+  }
+
+  long estimate(final Txn<T> txn, final KeyRange<T> range) {
+    final T low = boundary(txn, forward(range));
+    if (low == null) {
+      return 0;
+    }
+    final T high = boundary(txn, reversed(range));
+    try (Cursor<T> cursor = dbi.openCursor(txn)) {
+      if (comparator.compare(low, high) == 0) {
+        return dupsort && cursor.get(low, MDB_SET_KEY) ? cursor.count() : 1;
+      }
+      cursor.first();
+      final byte[] first = proxy.getBytes(cursor.key());
+      cursor.last();
+      final byte[] last = proxy.getBytes(cursor.key());
+      final long entries = dbi.stat(txn).entries;
+      final int prefix = prefix(first, last);
+      final double span = position(last, prefix) - position(first, prefix);
+      final double covered =
+          position(proxy.getBytes(high), prefix) - position(proxy.getBytes(low), prefix);
+      final long estimate = span <= 0 ? entries : Math.round(entries * covered / span);
+      // The range holds at least its two distinct boundary keys
+      return Math.min(entries, Math.max(2, estimate));
+    }
+  }
+
+  List<T> sample(final Txn<T> txn, final KeyRange<T> range, final int n, final Random random) {
+    final List<T> sample = new ArrayList<>(n);
+    final T low = boundary(txn, forward(range));
+    if (low == null) {
+      return sample;
+    }
+    if (estimate(txn, range) <= (long) n * EXACT_FACTOR) {
+      return reservoir(txn, range, n, random);
+    }
+    final T high = boundary(txn, reversed(range));
+    final byte[] lowBytes = proxy.getBytes(low);
+    final int prefix = prefix(lowBytes, proxy.getBytes(high));
+    final double from = position(lowBytes, prefix);
+    final double to = position(proxy.getBytes(high), prefix);
+    final Set<ByteBuffer> seen = new HashSet<>();
+    try (Cursor<T> cursor = dbi.openCursor(txn)) {
+      // Probes falling outside the range or on a key already taken are retried a bounded number
+      // of times
+      for (int attempt = 0; sample.size() < n && attempt < n * EXACT_FACTOR; attempt++) {
+        final byte[] probe = keyAt(from + random.nextDouble() * (to - from), lowBytes, prefix);
+        if (!cursor.get(proxy.fromBytes(probe), MDB_SET_RANGE)
+            || comparator.compare(cursor.key(), low) < 0
+            || comparator.compare(cursor.key(), high) > 0) {
+          continue;
+        }
+        final byte[] key = proxy.getBytes(cursor.key());
+        if (seen.add(ByteBuffer.wrap(key))) {
+          sample.add(proxy.fromBytes(key));
+        }
+      }
+    }
+    return sample;
+  }
+
+  /** Uniform sample of the distinct keys in the range, without replacement, by a full scan. */
+  private List<T> reservoir(
+      final Txn<T> txn, final KeyRange<T> range, final int n, final Random random) {
+    final List<T> sample = new ArrayList<>(n);
+    byte[] previous = null;
+    long seen = 0;
+    try (CursorIterable<T> iterable = dbi.iterate(txn, range)) {
+      for (final CursorIterable.KeyVal<T> kv : iterable) {
+        if (dupsort
+            && previous != null
+            && comparator.compare(kv.key(), proxy.fromBytes(previous)) == 0) {
+          continue;
+        }
+        previous = proxy.getBytes(kv.key());
+        seen++;
+        if (sample.size() < n) {
+          sample.add(proxy.fromBytes(previous));
+        } else {
+          final long slot = (long) (random.nextDouble() * seen);
+          if (slot < n) {
+            sample.set((int) slot, proxy.fromBytes(previous));
+          }
+        }
+      }
+    }
+    return sample;
+  }
+
+  /** The first key returned by iterating the range, or null if the range is empty. */
+  private T boundary(final Txn<T> txn, final KeyRange<T> range) {
+    try (CursorIterable<T> iterable = dbi.iterate(txn, range)) {
+      final Iterator<CursorIterable.KeyVal<T>> it = iterable.iterator();
+      return it.hasNext() ? proxy.fromBytes(proxy.getBytes(it.next().key())) : null;
+    }
+  }
+
+  /** A key at the passed position, sharing the prefix of the template key. */
+  private byte[] keyAt(final double position, final byte[] template, final int prefix) {
+    if (integerKey) {
+      final ByteBuffer out = ByteBuffer.allocate(template.length).order(ByteOrder.nativeOrder());
+      final double value = position >= 0x1p63 ? position - 0x1p64 : position;
+      if (template.length == Integer.BYTES) {
+        out.putInt((int) (long) value);
+      } else {
+        out.putLong((long) value);
+      }
+      return out.array();
+    }
+    final byte[] ordered = new byte[prefix + POSITION_BYTES];
+    System.arraycopy(order(template), 0, ordered, 0, prefix);
+    double remainder = position;
+    for (int i = prefix; i < ordered.length; i++) {
+      remainder *= 256;
+      final int digit = (int) remainder;
+      ordered[i] = (byte) digit;
+      remainder -= digit;
+    }
+    return order(ordered);
+  }
+
+  private byte[] order(final byte[] key) {
+    if (!reverseKey) {
+      return key;
+    }
+    final byte[] reversed = new byte[key.length];
+    for (int i = 0; i < key.length; i++) {
+      reversed[i] = key[key.length - 1 - i];
+    }
+    return reversed;
+  }
+
+  /** Position of a key as a fraction, ignoring a prefix shared by the keys of interest. */
+  private double position(final byte[] key, final int prefix) {
+    if (integerKey) {
+      final ByteBuffer in = ByteBuffer.wrap(key).order(ByteOrder.nativeOrder());
+      final long value = key.length == Integer.BYTES ? in.getInt() & 0xFFFF_FFFFL : in.getLong();
+      return value >= 0 ? value : value + 0x1p64;
+    }
+    final byte[] ordered = order(key);
+    double position = 0;
+    double scale = 1;
+    for (int i = prefix; i < prefix + POSITION_BYTES && i < ordered.length; i++) {
+      scale /= 256;
+      position += (ordered[i] & 0xFF) * scale;
+    }
+    return position;
+  }
+
+  private int prefix(final byte[] a, final byte[] b) {
+    if (integerKey) {
+      return 0;
+    }
+    final byte[] x = order(a);
+    final byte[] y = order(b);
+    int i = 0;
+    while (i < x.length && i < y.length && x[i] == y[i]) {
+      i++;
+    }
+    return i;
+  }
+
+  private static <T> KeyRange<T> forward(final KeyRange<T> range) {
+    return range.getType().isDirectionForward() ? range : flip(range);
+  }
+
+  private static <T> KeyRange<T> reversed(final KeyRange<T> range) {
+    return range.getType().isDirectionForward() ? flip(range) : range;
+  }
+
+  /** The same set of keys, iterated in the opposite direction. */
+  private static <T> KeyRange<T> flip(final KeyRange<T> range) {
+    final KeyRangeType type = range.getType();
+    for (final KeyRangeType candidate : KeyRangeType.values()) {
+      if (candidate.isDirectionForward() != type.isDirectionForward()
+          && candidate.isStartKeyRequired() == type.isStopKeyRequired()
+          && candidate.isStartKeyInclusive() == type.isStopKeyInclusive()
+          && candidate.isStopKeyRequired() == type.isStartKeyRequired()
+          && candidate.isStopKeyInclusive() == type.isStartKeyInclusive()) {
+        return new KeyRange<>(candidate, range.getStop(), range.getStart());
+      }
+    }
+    throw new IllegalStateException("No range type reverses " + type);
+  }
+}
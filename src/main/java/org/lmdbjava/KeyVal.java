@@ -17,6 +17,7 @@ package org.lmdbjava;
 
 import static java.util.Objects.requireNonNull;
 import static org.lmdbjava.BufferProxy.MDB_VAL_STRUCT_SIZE;
+import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_DATA;
 import static org.lmdbjava.BufferProxy.STRUCT_FIELD_OFFSET_SIZE;
 import static org.lmdbjava.Library.RUNTIME;
 
@@ -36,6 +37,7 @@ final class KeyVal<T> implements AutoCloseable {
   private final BufferProxy<T> proxy;
   private final Pointer ptrArray;
   private final Pointer ptrKey;
+  private Pointer ptrLongs;
   private final Pointer ptrVal;
   private T v;
 
@@ -67,6 +69,23 @@ final class KeyVal<T> implements AutoCloseable {
     return proxy.in(key, ptrKey);
   }
 
+  Pointer keyIn(final long key) {
+    final Pointer longs = longs();
+    longs.putLong(0, key);
+    ptrKey.putLong(STRUCT_FIELD_OFFSET_SIZE, Long.BYTES);
+    ptrKey.putAddress(STRUCT_FIELD_OFFSET_DATA, longs.address());
+    return longs;
+  }
+
+  void keyIn(final Pointer data, final int size) {
+    ptrKey.putLong(STRUCT_FIELD_OFFSET_SIZE, size);
+    ptrKey.putAddress(STRUCT_FIELD_OFFSET_DATA, data.address());
+  }
+
+  long keyLong() {
+    return readNumber(ptrKey, Long.BYTES);
+  }
+
   T keyOut() {
     k = proxy.out(k, ptrKey);
     return k;
@@ -88,6 +107,64 @@ final class KeyVal<T> implements AutoCloseable {
     return proxy.in(val, ptrVal);
   }
 
+  void valIn(final Pointer data, final int size) {
+    ptrVal.putLong(STRUCT_FIELD_OFFSET_SIZE, size);
+    ptrVal.putAddress(STRUCT_FIELD_OFFSET_DATA, data.address());
+  }
+
+  Pointer valIn(final long val) {
+    return valIn(val, Long.BYTES);
+  }
+
+  Pointer valIn(final long val, final int size) {
+    final Pointer longs = longs();
+    if (size == Integer.BYTES) {
+      longs.putInt(Long.BYTES, (int) val);
+    } else {
+      longs.putLong(Long.BYTES, val);
+    }
+    ptrVal.putLong(STRUCT_FIELD_OFFSET_SIZE, size);
+    ptrVal.putAddress(STRUCT_FIELD_OFFSET_DATA, longs.address() + Long.BYTES);
+    return longs;
+  }
+
+  void valRead(final int offset, final byte[] dst, final int length) {
+    MEM_MGR.newPointer(ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA)).get(offset, dst, 0, length);
+  }
+
+  void valWrite(final int offset, final byte[] src, final int srcOffset, final int length) {
+    MEM_MGR
+        .newPointer(ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA))
+        .put(offset, src, srcOffset, length);
+  }
+
+  void valWrite(final int offset, final long address, final int length) {
+    MEM_MGR
+        .newPointer(ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA))
+        .transferFrom(offset, MEM_MGR.newPointer(address), 0, length);
+  }
+
+  void valWriteLong(final int offset, final long value) {
+    MEM_MGR.newPointer(ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA)).putLong(offset, value);
+  }
+
+  long valLong() {
+    return readNumber(ptrVal, Long.BYTES);
+  }
+
+  long valReadLong(final int offset) {
+    final long actual = ptrVal.getLong(STRUCT_FIELD_OFFSET_SIZE);
+    if (actual < offset + Long.BYTES) {
+      throw new IllegalStateException(
+          "Expected at least " + (offset + Long.BYTES) + " bytes but found " + actual);
+    }
+    return MEM_MGR.newPointer(ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA)).getLong(offset);
+  }
+
+  long valNumber(final int size) {
+    return readNumber(ptrVal, size);
+  }
+
   Pointer valIn(final int size) {
     return proxy.in(v, size, ptrVal);
   }
@@ -124,4 +201,35 @@ final class KeyVal<T> implements AutoCloseable {
     v = proxy.out(v, ptrVal);
     return v;
   }
+
+  T valOut(final KeyVal<T> from) {
+    ptrVal.putLong(STRUCT_FIELD_OFFSET_SIZE, from.ptrVal.getLong(STRUCT_FIELD_OFFSET_SIZE));
+    ptrVal.putAddress(STRUCT_FIELD_OFFSET_DATA, from.ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA));
+    return valOut();
+  }
+
+  long valAddress() {
+    return ptrVal.getAddress(STRUCT_FIELD_OFFSET_DATA);
+  }
+
+  int valSize() {
+    return (int) ptrVal.getLong(STRUCT_FIELD_OFFSET_SIZE);
+  }
+
+  /** Native memory staging primitive keys and values, allocated on first use. */
+  private Pointer longs() {
+    if (ptrLongs == null) {
+      ptrLongs = MEM_MGR.allocateTemporary(Long.BYTES * 2, false);
+    }
+    return ptrLongs;
+  }
+
+  private static long readNumber(final Pointer ptr, final int size) {
+    final long actual = ptr.getLong(STRUCT_FIELD_OFFSET_SIZE);
+    if (actual != size) {
+      throw new IllegalStateException("Expected " + size + " bytes but found " + actual);
+    }
+    final Pointer data = MEM_MGR.newPointer(ptr.getAddress(STRUCT_FIELD_OFFSET_DATA));
+    return size == Integer.BYTES ? data.getInt(0) : data.getLong(0);
+  }
 }
@@ -0,0 +1,134 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.CopyFlags.MDB_CP_COMPACT;
+import static org.lmdbjava.GetOp.MDB_SET_RANGE;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+
+/**
+ * Sends the records of a leader's {@link ChangeLog} to a {@link Replica} through a {@link
+ * ChangeTransport}.
+ *
+ * <p>A follower is bootstrapped with {@link #snapshot(Env, Path)}, which copies the leader and
+ * returns the transaction id to begin shipping from. Re-applying a change the copy already contains
+ * leaves the follower unchanged, so the copy and the shipped changes may overlap. When resuming an
+ * existing follower, ship from the transaction after {@link Replica#appliedTxnId()}.
+ *
+ * <p>Instances are not thread safe.
+ *
+ * @param <T> buffer type
+ */
+public final class LogShipper<T> {
+
+  private final Dbi<T> log;
+  private long next;
+  private final BufferProxy<T> proxy;
+  private final ChangeTransport transport;
+
+  /**
+   * Create a shipper.
+   *
+   * @param log the leader's change log (required)
+   * @param transport the transport to send batches with (required)
+   * @param fromTxnId the first transaction id to ship
+   */
+  public LogShipper(final ChangeLog<T> log, final ChangeTransport transport, final long fromTxnId) {
+    requireNonNull(log);
+    requireNonNull(transport);
+    this.log = log.dbi();
+    this.proxy = this.log.proxy();
+    this.transport = transport;
+    this.next = fromTxnId;
+  }
+
+  /**
+   * Copy the leader's data with compaction, for use as the starting point of a follower.
+   *
+   * @param <T> buffer type
+   * @param leader the environment to copy (required)
+   * @param path destination, as described by {@link Env#copy(Path, CopyFlagSet)}
+   * @return the transaction id to begin shipping from
+   */
+  public static <T> long snapshot(final Env<T> leader, final Path path) {
+    // Every transaction committed before the copy begins is contained in the copy
+    final long committed = leader.info().lastTransactionId;
+    leader.copy(path, CopyFlagSet.of(MDB_CP_COMPACT));
+    return committed + 1;
+  }
+
+  /**
+   * The next transaction id that will be shipped.
+   *
+   * @return transaction id
+   */
+  public long nextTxnId() {
+    return next;
+  }
+
+  /**
+   * Send the committed changes that have not yet been shipped, as one batch.
+   *
+   * <p>A batch holds at least the passed number of changes if available, extended to end on a
+   * transaction boundary. Nothing is sent if there are no new changes.
+   *
+   * @param maxChanges the number of changes after which the batch ends at the next transaction
+   *     boundary (must be positive)
+   * @return the number of changes sent
+   * @throws IOException if the transport failed, in which case the same changes are sent again by
+   *     the next call
+   */
+  public int ship(final int maxChanges) throws IOException {
+    if (maxChanges <= 0) {
+      throw new IllegalArgumentException("Maximum changes must be positive");
+    }
+    final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+    final DataOutputStream batch = new DataOutputStream(bytes);
+    // The first transaction id covered lets the replica detect batches that were lost
+    batch.writeLong(next);
+    int count = 0;
+    long last = next - 1;
+    try (Txn<T> txn = log.env().txnRead();
+        Cursor<T> cursor = log.openCursor(txn)) {
+      boolean found = cursor.get(proxy.fromBytes(ChangeLog.key(next, 0)), MDB_SET_RANGE);
+      while (found) {
+        final byte[] key = proxy.getBytes(cursor.key());
+        final long txnId = ByteBuffer.wrap(key).getLong();
+        if (count >= maxChanges && txnId != last) {
+          break;
+        }
+        final byte[] record = proxy.getBytes(cursor.val());
+        batch.write(key);
+        batch.writeInt(record.length);
+        batch.write(record);
+        count++;
+        last = txnId;
+        found = cursor.next();
+      }
+    }
+    if (count > 0) {
+      transport.send(bytes.toByteArray());
+      next = last + 1;
+    }
+    return count;
+  }
+}
@@ -0,0 +1,268 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.Dbi.KeyNotFoundException.MDB_NOTFOUND;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.Env.SHOULD_CHECK;
+import static org.lmdbjava.GetOp.MDB_SET_RANGE;
+import static org.lmdbjava.Library.LIB;
+import static org.lmdbjava.ResultCodeMapper.checkRc;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import jnr.ffi.Pointer;
+
+/**
+ * {@link Dbi} keyed by 64-bit unsigned integers, with methods taking primitive {@code long} keys.
+ *
+ * <p>The database must be opened with {@link DbiFlags#MDB_INTEGERKEY}, so keys are stored as 8
+ * bytes in native byte order and ordered numerically as unsigned values. Keys passed to this class
+ * are written directly into the native memory passed to LMDB, avoiding the key buffer that {@link
+ * Dbi} requires. The {@code Long} variants do the same for 8 byte values.
+ *
+ * <p>The database must not use {@link DbiFlags#MDB_DUPSORT}. If the {@link Env} has {@link
+ * WriteListener}s, writes are made through the {@link Dbi} so the listeners still receive buffers.
+ *
+ * @param <T> buffer type
+ */
+public final class LongKeyDbi<T> {
+
+  private final Dbi<T> dbi;
+  private final Env<T> env;
+  private final BufferProxy<T> proxy;
+
+  /**
+   * Create an instance over a database opened with {@link DbiFlags#MDB_INTEGERKEY}.
+   *
+   * @param dbi the database (required)
+   */
+  public LongKeyDbi(final Dbi<T> dbi) {
+    requireNonNull(dbi);
+    if (!dbi.dbiFlagSet().isSet(MDB_INTEGERKEY) || dbi.dbiFlagSet().isSet(MDB_DUPSORT)) {
+      throw new IllegalArgumentException(
+          "Database must use " + MDB_INTEGERKEY + " without " + MDB_DUPSORT);
+    }
+    this.dbi = dbi;
+    this.env = dbi.env();
+    this.proxy = dbi.proxy();
+  }
+
+  /**
+   * Open a database with {@link DbiFlags#MDB_INTEGERKEY} and the passed flags.
+   *
+   * @param <T> buffer type
+   * @param env the environment (required)
+   * @param name name of the database (or null for the unnamed database)
+   * @param flags additional flags to open the database with, such as {@link DbiFlags#MDB_CREATE}
+   * @return an instance over the opened database
+   */
+  public static <T> LongKeyDbi<T> open(
+      final Env<T> env, final String name, final DbiFlags... flags) {
+    final Dbi<T> dbi =
+        env.createDbi()
+            .setDbName(name)
+            .withDefaultComparator()
+            .setDbiFlags(flags)
+            .addDbiFlag(MDB_INTEGERKEY)
+            .open();
+    return new LongKeyDbi<>(dbi);
+  }
+
+  /**
+   * The underlying database.
+   *
+   * @return the database
+   */
+  public Dbi<T> dbi() {
+    return dbi;
+  }
+
+  /**
+   * Delete a key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to delete from the database
+   * @return true if the key was present
+   * @see Dbi#delete(Txn, Object)
+   */
+  public boolean delete(final Txn<T> txn, final long key) {
+    checkWritable(txn);
+    if (txn.hasWriteListeners()) {
+      return dbi.delete(txn, buffer(key));
+    }
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientKey = kv.keyIn(key);
+    final int rc = LIB.mdb_del(txn.pointer(), dbi.pointer(), kv.pointerKey(), null);
+    if (rc == MDB_NOTFOUND) {
+      return false;
+    }
+    checkRc(rc);
+    ReferenceUtil.reachabilityFence0(transientKey);
+    return true;
+  }
+
+  /**
+   * Pass each entry with a key between the passed keys inclusive to the visitor, in key order.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param from the lowest key to visit, as an unsigned value
+   * @param to the highest key to visit, as an unsigned value
+   * @param visitor receives each key and value, stopping the scan when it returns false (not null)
+   * @return the number of entries passed to the visitor
+   */
+  public long forEachInRange(
+      final Txn<T> txn, final long from, final long to, final Visitor<T> visitor) {
+    requireNonNull(visitor);
+    long visited = 0;
+    try (Cursor<T> cursor = dbi.openCursor(txn)) {
+      final KeyVal<T> kv = cursor.keyVal();
+      boolean found = cursor.get(from, MDB_SET_RANGE);
+      while (found) {
+        final long key = kv.keyLong();
+        if (Long.compareUnsigned(key, to) > 0) {
+          break;
+        }
+        visited++;
+        if (!visitor.visit(key, kv.val())) {
+          break;
+        }
+        found = cursor.next();
+      }
+    }
+    return visited;
+  }
+
+  /**
+   * Get the value of a key.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database
+   * @return the data or null if not found
+   * @see Dbi#get(Txn, Object)
+   */
+  public T get(final Txn<T> txn, final long key) {
+    return find(txn, key) ? txn.kv().valOut() : null;
+  }
+
+  /**
+   * Get the 8 byte value of a key, read in native byte order.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database
+   * @param absent the value to return if the key is not found
+   * @return the value, or absent if not found
+   */
+  public long getLong(final Txn<T> txn, final long key, final long absent) {
+    return find(txn, key) ? txn.kv().valLong() : absent;
+  }
+
+  /**
+   * Store a key/data pair, replacing any existing value of the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to store in the database
+   * @param val value to store in the database (not null)
+   * @see Dbi#put(Txn, Object, Object)
+   */
+  public void put(final Txn<T> txn, final long key, final T val) {
+    requireNonNull(val);
+    checkWritable(txn);
+    if (txn.hasWriteListeners()) {
+      dbi.put(txn, buffer(key), val);
+      return;
+    }
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientKey = kv.keyIn(key);
+    final Pointer transientVal = kv.valIn(val);
+    checkRc(LIB.mdb_put(txn.pointer(), dbi.pointer(), kv.pointerKey(), kv.pointerVal(), 0));
+    ReferenceUtil.reachabilityFence0(transientKey);
+    ReferenceUtil.reachabilityFence0(transientVal);
+    ReferenceUtil.reachabilityFence0(val);
+  }
+
+  /**
+   * Store an 8 byte value in native byte order, replacing any existing value of the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to store in the database
+   * @param val value to store in the database
+   */
+  public void putLong(final Txn<T> txn, final long key, final long val) {
+    checkWritable(txn);
+    if (txn.hasWriteListeners()) {
+      dbi.put(txn, buffer(key), buffer(val));
+      return;
+    }
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientKey = kv.keyIn(key);
+    final Pointer transientVal = kv.valIn(val);
+    checkRc(LIB.mdb_put(txn.pointer(), dbi.pointer(), kv.pointerKey(), kv.pointerVal(), 0));
+    ReferenceUtil.reachabilityFence0(transientKey);
+    ReferenceUtil.reachabilityFence0(transientVal);
+  }
+
+  private T buffer(final long value) {
+    return proxy.fromBytes(
+        ByteBuffer.allocate(Long.BYTES).order(ByteOrder.nativeOrder()).putLong(value).array());
+  }
+
+  private void checkWritable(final Txn<T> txn) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      env.checkNotClosed();
+      txn.checkReady();
+      txn.checkWritesAllowed();
+    }
+  }
+
+  private boolean find(final Txn<T> txn, final long key) {
+    if (SHOULD_CHECK) {
+      requireNonNull(txn);
+      env.checkNotClosed();
+      txn.checkReady();
+    }
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientKey = kv.keyIn(key);
+    final int rc = LIB.mdb_get(txn.pointer(), dbi.pointer(), kv.pointerKey(), kv.pointerVal());
+    if (rc == MDB_NOTFOUND) {
+      return false;
+    }
+    checkRc(rc);
+    ReferenceUtil.reachabilityFence0(transientKey);
+    return true;
+  }
+
+  /**
+   * Receives the entries of {@link #forEachInRange(Txn, long, long, Visitor)}.
+   *
+   * @param <T> buffer type
+   */
+  @FunctionalInterface
+  public interface Visitor<T> {
+
+    /**
+     * Visit an entry.
+     *
+     * @param key the key
+     * @param val the value, which is only valid during the call
+     * @return true to continue the scan, or false to stop it
+     */
+    boolean visit(long key, T val);
+  }
+}
@@ -0,0 +1,211 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.lang.Math.min;
+
+import java.util.Arrays;
+
+/**
+ * {@link CompressionCodec} producing the LZ4 block format.
+ *
+ * <p>Matches are found greedily with a single-entry hash table. A dictionary is treated as content
+ * preceding the value, so matches may refer back into its last 64 KiB.
+ */
+final class Lz4Codec implements CompressionCodec {
+
+  private static final int HASH_BITS = 12;
+  private static final int LAST_LITERALS = 5;
+  private static final int MATCH_LIMIT = 12;
+  private static final int MIN_MATCH = 4;
+  private static final int WINDOW = 65_535;
+
+  private final ThreadLocal<int[]> tables = ThreadLocal.withInitial(() -> new int[1 << HASH_BITS]);
+  private final ThreadLocal<byte[][]> work = ThreadLocal.withInitial(() -> new byte[1][0]);
+
+  @Override
+  public int compress(
+      final byte[] src, final int length, final byte[] dictionary, final byte[] dst) {
+    // Place the dictionary immediately before the value so matches can span both
+    final int prefix = dictionary == null ? 0 : min(dictionary.length, WINDOW);
+    final byte[] buf;
+    if (prefix == 0) {
+      buf = src;
+    } else {
+      final byte[][] holder = work.get();
+      if (holder[0].length < prefix + length) {
+        holder[0] = new byte[prefix + length];
+      }
+      buf = holder[0];
+      System.arraycopy(dictionary, dictionary.length - prefix, buf, 0, prefix);
+      System.arraycopy(src, 0, buf, prefix, length);
+    }
+    final int end = prefix + length;
+    final int limit = length - 1;
+
+    final int[] table = tables.get();
+    Arrays.fill(table, -1);
+    for (int i = 0; i + MIN_MATCH <= prefix; i++) {
+      table[hash(buf, i)] = i;
+    }
+
+    int anchor = prefix;
+    int ip = prefix;
+    int op = 0;
+    while (ip < end - MATCH_LIMIT) {
+      final int h = hash(buf, ip);
+      final int ref = table[h];
+      table[h] = ip;
+      if (ref < 0 || ip - ref > WINDOW || !same(buf, ref, ip)) {
+        ip++;
+        continue;
+      }
+      int len = MIN_MATCH;
+      while (ip + len < end - LAST_LITERALS && buf[ref + len] == buf[ip + len]) {
+        len++;
+      }
+      op = sequence(buf, anchor, ip - anchor, dst, op, limit, ip - ref, len);
+      if (op < 0) {
+        return -1;
+      }
+      ip += len;
+      anchor = ip;
+    }
+    op = sequence(buf, anchor, end - anchor, dst, op, limit, 0, 0);
+    return op;
+  }
+
+  @Override
+  public void decompress(
+      final byte[] src,
+      final int offset,
+      final int length,
+      final byte[] dictionary,
+      final byte[] dst,
+      final int dstLength) {
+    final int dictLength = dictionary == null ? 0 : dictionary.length;
+    final int end = offset + length;
+    int ip = offset;
+    int op = 0;
+    try {
+      while (true) {
+        final int token = src[ip++] & 0xFF;
+        int literals = token >>> 4;
+        if (literals == 15) {
+          int b;
+          do {
+            b = src[ip++] & 0xFF;
+            literals += b;
+          } while (b == 255);
+        }
+        if (op + literals > dstLength || ip + literals > end) {
+          throw new IllegalStateException("Compressed value is corrupt");
+        }
+        System.arraycopy(src, ip, dst, op, literals);
+        ip += literals;
+        op += literals;
+        if (ip == end) {
+          break;
+        }
+        final int distance = (src[ip] & 0xFF) | (src[ip + 1] & 0xFF) << 8;
+        ip += 2;
+        int len = token & 0x0F;
+        if (len == 15) {
+          int b;
+          do {
+            b = src[ip++] & 0xFF;
+            len += b;
+          } while (b == 255);
+        }
+        len += MIN_MATCH;
+        int ref = op - distance;
+        if (distance == 0 || ref < -dictLength || op + len > dstLength) {
+          throw new IllegalStateException("Compressed value is corrupt");
+        }
+        // Byte by byte, as a match may overlap the bytes it produces
+        for (int i = 0; i < len; i++, ref++) {
+          dst[op++] = ref < 0 ? dictionary[dictLength + ref] : dst[ref];
+        }
+      }
+    } catch (final ArrayIndexOutOfBoundsException e) {
+      throw new IllegalStateException("Compressed value is corrupt", e);
+    }
+    if (op != dstLength) {
+      throw new IllegalStateException("Compressed value is truncated");
+    }
+  }
+
+  @Override
+  public byte id() {
+    return 2;
+  }
+
+  private static int hash(final byte[] buf, final int i) {
+    return (read32(buf, i) * -1_640_531_535) >>> (32 - HASH_BITS);
+  }
+
+  private static int read32(final byte[] buf, final int i) {
+    return buf[i] & 0xFF
+        | (buf[i + 1] & 0xFF) << 8
+        | (buf[i + 2] & 0xFF) << 16
+        | (buf[i + 3] & 0xFF) << 24;
+  }
+
+  private static boolean same(final byte[] buf, final int a, final int b) {
+    return read32(buf, a) == read32(buf, b);
+  }
+
+  /** Write a sequence, or the final literals if len is zero, returning -1 if over the limit. */
+  private static int sequence(
+      final byte[] buf,
+      final int literalStart,
+      final int literals,
+      final byte[] dst,
+      final int start,
+      final int limit,
+      final int distance,
+      final int len) {
+    if (start + 1 + literals / 255 + 1 + literals + 2 + len / 255 + 1 > limit) {
+      return -1;
+    }
+    int op = start;
+    final int matchCode = len == 0 ? 0 : len - MIN_MATCH;
+    final int token = op++;
+    dst[token] = (byte) (min(literals, 15) << 4 | min(matchCode, 15));
+    op = length(dst, op, literals);
+    System.arraycopy(buf, literalStart, dst, op, literals);
+    op += literals;
+    if (len == 0) {
+      return op;
+    }
+    dst[op++] = (byte) distance;
+    dst[op++] = (byte) (distance >>> 8);
+    return length(dst, op, matchCode);
+  }
+
+  private static int length(final byte[] dst, final int start, final int value) {
+    int op = start;
+    if (value >= 15) {
+      int rest = value - 15;
+      while (rest >= 255) {
+        dst[op++] = (byte) 255;
+        rest -= 255;
+      }
+      dst[op++] = (byte) rest;
+    }
+    return op;
+  }
+}
@@ -0,0 +1,186 @@
+/*
+ * Copyright © 2016-2025 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link Iterable} that merges several {@link CursorIterable}s into a single ordered sequence.
+ *
+ * <p>The sources may belong to different {@link Dbi}s, {@link Txn}s and {@link Env}s, but must all
+ * be ordered by the passed comparator (which must be reversed for backward ranges). The merge uses
+ * a tournament tree, so each entry costs about log2(sources) comparisons, and returns each source's
+ * own {@link CursorIterable.KeyVal} without copying. A returned entry is valid until the iterator
+ * is next used.
+ *
+ * <p>Entries with equal keys are returned in source order. With shadowing enabled only the entry
+ * from the first source holding a key is returned, so listing the newest partition first lets it
+ * override older partitions.
+ *
+ * <p>Closing this instance closes every source.
+ *
+ * @param <T> buffer type
+ */
+public final class MergeIterable<T> implements Iterable<CursorIterable.KeyVal<T>>, AutoCloseable {
+
+  private final Comparator<T> comparator;
+  private boolean iteratorReturned;
+  private final boolean shadowing;
+  private final List<CursorIterable<T>> sources;
+
+  /**
+   * Create a merge that returns every entry of every source.
+   *
+   * @param sources the sources to merge, each not yet iterated (required)
+   * @param comparator the order of every source (required)
+   */
+  public MergeIterable(final List<CursorIterable<T>> sources, final Comparator<T> comparator) {
+    this(sources, comparator, false);
+  }
+
+  /**
+   * Create a merge.
+   *
+   * @param sources the sources to merge, each not yet iterated (required)
+   * @param comparator the order of every source (required)
+   * @param shadowing whether a key in an earlier source hides the same key in later sources
+   */
+  public MergeIterable(
+      final List<CursorIterable<T>> sources,
+      final Comparator<T> comparator,
+      final boolean shadowing) {
+    requireNonNull(sources);
+    requireNonNull(comparator);
+    this.sources = new ArrayList<>(sources);
+    this.comparator = comparator;
+    this.shadowing = shadowing;
+  }
+
+  @Override
+  public void close() {
+    for (final CursorIterable<T> source : sources) {
+      source.close();
+    }
+  }
+
+  @Override
+  public Iterator<CursorIterable.KeyVal<T>> iterator() {
+    if (iteratorReturned) {
+      throw new IllegalStateException("Iterator can only be returned once");
+    }
+    iteratorReturned = true;
+    return new Tournament();
+  }
+
+  /**
+   * Tournament tree over the sources. Leaf {@code i} is node {@code k + i}, node {@code n} has
+   * children {@code 2n} and {@code 2n + 1}, and each internal node holds the source that won the
+   * matches below it, so node 1 holds the overall winner.
+   */
+  private final class Tournament implements Iterator<CursorIterable.KeyVal<T>> {
+
+    private final CursorIterable.KeyVal<T>[] heads;
+    private final Iterator<CursorIterable.KeyVal<T>>[] its;
+    private final int k = sources.size();
+    private boolean pending;
+    private final int[] tree;
+
+    @SuppressWarnings("unchecked")
+    Tournament() {
+      heads = new CursorIterable.KeyVal[k];
+      its = new Iterator[k];
+      for (int i = 0; i < k; i++) {
+        its[i] = sources.get(i).iterator();
+        heads[i] = its[i].hasNext() ? its[i].next() : null;
+      }
+      tree = new int[k];
+      for (int node = k - 1; node > 0; node--) {
+        tree[node] = play(node);
+      }
+    }
+
+    @Override
+    public boolean hasNext() {
+      if (k == 0) {
+        return false;
+      }
+      if (pending) {
+        pending = false;
+        advance(winner(1));
+      }
+      return heads[winner(1)] != null;
+    }
+
+    @Override
+    public CursorIterable.KeyVal<T> next() {
+      if (!hasNext()) {
+        throw new NoSuchElementException();
+      }
+      // The winner is advanced lazily so the returned entry stays valid until the next call
+      pending = true;
+      return heads[winner(1)];
+    }
+
+    private void advance(final int source) {
+      if (shadowing) {
+        // Withdraw the source so any others holding the same key reach the top
+        final CursorIterable.KeyVal<T> held = heads[source];
+        heads[source] = null;
+        update(source);
+        int top = winner(1);
+        while (heads[top] != null && comparator.compare(heads[top].key(), held.key()) == 0) {
+          step(top);
+          top = winner(1);
+        }
+      }
+      step(source);
+    }
+
+    private int play(final int node) {
+      final int a = winner(2 * node);
+      final int b = winner(2 * node + 1);
+      if (heads[a] == null) {
+        return b;
+      }
+      if (heads[b] == null) {
+        return a;
+      }
+      final int cmp = comparator.compare(heads[a].key(), heads[b].key());
+      return cmp < 0 || cmp == 0 && a < b ? a : b;
+    }
+
+    private void step(final int source) {
+      heads[source] = its[source].hasNext() ? its[source].next() : null;
+      update(source);
+    }
+
+    private void update(final int source) {
+      for (int node = (source + k) >> 1; node > 0; node >>= 1) {
+        tree[node] = play(node);
+      }
+    }
+
+    private int winner(final int node) {
+      return node >= k ? node - k : tree[node];
+    }
+  }
+}
@@ -0,0 +1,39 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+/**
+ * Combines the stored value of a key with an operand, for {@link Dbi#merge(Txn, Object, Object,
+ * MergeOperator)}.
+ *
+ * <p>Integer values are better combined with a {@link NumericOperator}, which {@link Dbi} applies
+ * directly to the stored bytes.
+ *
+ * @param <T> buffer type
+ */
+@FunctionalInterface
+public interface MergeOperator<T> {
+
+  /**
+   * Compute the value to store.
+   *
+   * @param existing the stored value, which is only valid during the call, or null if the key is
+   *     not present
+   * @param operand the operand passed to the merge
+   * @return the value to store, or null (or existing) to leave the database unchanged
+   */
+  T merge(T existing, T operand);
+}
@@ -0,0 +1,71 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Combines a stored integer value with an operand, for {@link Dbi#merge(Txn, Object, long,
+ * NumericOperator)}.
+ *
+ * <p>Values are 4 byte ({@code int}) or 8 byte ({@code long}) signed integers in native byte order,
+ * as used by {@link DbiFlags#MDB_INTEGERKEY}. They are read and written in place without creating
+ * buffers. A missing value takes the operand.
+ */
+public enum NumericOperator {
+
+  /** Add the operand to an {@code int} value, wrapping on overflow. */
+  ADD_INT(Integer.BYTES, Long::sum),
+  /** Add the operand to a {@code long} value, wrapping on overflow. */
+  ADD_LONG(Long.BYTES, Long::sum),
+  /** Keep the larger of an {@code int} value and the operand. */
+  MAX_INT(Integer.BYTES, Math::max),
+  /** Keep the larger of a {@code long} value and the operand. */
+  MAX_LONG(Long.BYTES, Math::max),
+  /** Keep the smaller of an {@code int} value and the operand. */
+  MIN_INT(Integer.BYTES, Math::min),
+  /** Keep the smaller of a {@code long} value and the operand. */
+  MIN_LONG(Long.BYTES, Math::min);
+
+  private final LongBinaryOperator fn;
+  private final int size;
+
+  NumericOperator(final int size, final LongBinaryOperator fn) {
+    this.size = size;
+    this.fn = fn;
+  }
+
+  /**
+   * Combine a stored value with the operand.
+   *
+   * @param existing the stored value
+   * @param operand the operand
+   * @return the value to store, truncated to the size of the operator
+   */
+  long apply(final long existing, final long operand) {
+    final long result = fn.applyAsLong(existing, operand);
+    return size == Integer.BYTES ? (int) result : result;
+  }
+
+  /**
+   * Size of the values the operator reads and writes.
+   *
+   * @return 4 or 8 bytes
+   */
+  int size() {
+    return size;
+  }
+}
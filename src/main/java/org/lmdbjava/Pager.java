@@ -0,0 +1,245 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+import static org.lmdbjava.GetOp.MDB_SET_RANGE;
+import static org.lmdbjava.SeekOp.MDB_GET_BOTH_RANGE;
+import static org.lmdbjava.SeekOp.MDB_LAST_DUP;
+import static org.lmdbjava.SeekOp.MDB_NEXT_NODUP;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Reads a {@link Dbi} key range one page at a time, across independent transactions.
+ *
+ * <p>Each {@link Page} carries an opaque, URL-safe continuation token recording the last entry
+ * returned: its key and, for {@link DbiFlags#MDB_DUPSORT} databases, its value. Passing the token
+ * to the next call seeks directly to the following entry, so every page costs a single seek plus
+ * the entries returned, however deep into the range it is. Pages reflect the data committed when
+ * each is read, and entries added or removed before the token position are not revisited.
+ *
+ * @param <T> buffer type
+ */
+public final class Pager<T> {
+
+  private static final byte VERSION = 1;
+
+  private final Comparator<T> comparator;
+  private final Dbi<T> dbi;
+  private final boolean dupsort;
+  private final BufferProxy<T> proxy;
+
+  /**
+   * Create a pager.
+   *
+   * @param dbi the database to page through (required)
+   */
+  public Pager(final Dbi<T> dbi) {
+    requireNonNull(dbi);
+    this.dbi = dbi;
+    this.proxy = dbi.proxy();
+    this.dupsort = dbi.dbiFlagSet().isSet(MDB_DUPSORT);
+    this.comparator =
+        dbi.comparator() == null ? proxy.getComparator(dbi.dbiFlagSet()) : dbi.comparator();
+  }
+
+  /**
+   * Read a page of entries.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range the range being paged through, identical for every page (not null)
+   * @param token the token of the previous page, or null for the first page
+   * @param limit maximum entries to return (must be positive)
+   * @return the page (never null)
+   */
+  public Page<T> page(
+      final Txn<T> txn, final KeyRange<T> range, final String token, final int limit) {
+    requireNonNull(range);
+    if (limit <= 0) {
+      throw new IllegalArgumentException("Limit must be positive");
+    }
+    final List<Map.Entry<T, T>> entries = new ArrayList<>(Math.min(limit, 1_024));
+    final boolean more;
+    if (token == null) {
+      try (CursorIterable<T> iterable = dbi.iterate(txn, range)) {
+        final Iterator<CursorIterable.KeyVal<T>> it = iterable.iterator();
+        while (entries.size() < limit && it.hasNext()) {
+          final CursorIterable.KeyVal<T> kv = it.next();
+          entries.add(copy(kv.key(), kv.val()));
+        }
+        more = it.hasNext();
+      }
+    } else {
+      final boolean forward = range.getType().isDirectionForward();
+      try (Cursor<T> cursor = dbi.openCursor(txn)) {
+        boolean found = resume(cursor, token, forward);
+        while (found && inRange(range, cursor.key())) {
+          if (entries.size() == limit) {
+            break;
+          }
+          entries.add(copy(cursor.key(), cursor.val()));
+          found = forward ? cursor.next() : cursor.prev();
+        }
+        more = found && entries.size() == limit && inRange(range, cursor.key());
+      }
+    }
+    String next = null;
+    if (more) {
+      final Map.Entry<T, T> last = entries.get(entries.size() - 1);
+      next =
+          encode(proxy.getBytes(last.getKey()), dupsort ? proxy.getBytes(last.getValue()) : null);
+    }
+    return new Page<>(Collections.unmodifiableList(entries), next);
+  }
+
+  private Map.Entry<T, T> copy(final T key, final T val) {
+    return new AbstractMap.SimpleImmutableEntry<>(
+        proxy.fromBytes(proxy.getBytes(key)), proxy.fromBytes(proxy.getBytes(val)));
+  }
+
+  private boolean inRange(final KeyRange<T> range, final T key) {
+    final KeyRangeType type = range.getType();
+    if (!type.isStopKeyRequired()) {
+      return true;
+    }
+    final int cmp = comparator.compare(key, range.getStop());
+    if (cmp == 0) {
+      return type.isStopKeyInclusive();
+    }
+    return type.isDirectionForward() ? cmp < 0 : cmp > 0;
+  }
+
+  /** Position the cursor on the entry following the token's, returning false if none remains. */
+  private boolean resume(final Cursor<T> cursor, final String token, final boolean forward) {
+    final byte[][] decoded = decode(token);
+    final T key = proxy.fromBytes(decoded[0]);
+    if (dupsort && decoded[1] == null) {
+      throw new IllegalArgumentException("Continuation token has no duplicate");
+    }
+    if (dupsort && cursor.get(key, proxy.fromBytes(decoded[1]), MDB_GET_BOTH_RANGE)) {
+      // Positioned on the recorded duplicate or the first one after it
+      if (!forward) {
+        return cursor.prev();
+      }
+      return !Arrays.equals(proxy.getBytes(cursor.val()), decoded[1]) || cursor.next();
+    }
+    if (dupsort && !forward && cursor.get(key, MDB_SET_KEY)) {
+      // Every remaining duplicate of the key precedes the recorded one
+      return cursor.seek(MDB_LAST_DUP);
+    }
+    if (!cursor.get(key, MDB_SET_RANGE)) {
+      return !forward && cursor.last();
+    }
+    if (!forward) {
+      return cursor.prev();
+    }
+    if (comparator.compare(cursor.key(), key) != 0) {
+      return true;
+    }
+    return dupsort ? cursor.seek(MDB_NEXT_NODUP) : cursor.next();
+  }
+
+  private static String encode(final byte[] key, final byte[] val) {
+    final int size = 1 + Integer.BYTES * 2 + key.length + (val == null ? 0 : val.length);
+    final ByteBuffer out = ByteBuffer.allocate(size);
+    out.put(VERSION).putInt(key.length).put(key);
+    if (val == null) {
+      out.putInt(-1);
+    } else {
+      out.putInt(val.length).put(val);
+    }
+    return Base64.getUrlEncoder().withoutPadding().encodeToString(out.array());
+  }
+
+  private static byte[][] decode(final String token) {
+    try {
+      final ByteBuffer in = ByteBuffer.wrap(Base64.getUrlDecoder().decode(token));
+      if (in.get() != VERSION) {
+        throw new IllegalArgumentException("Unsupported continuation token");
+      }
+      final byte[] key = new byte[in.getInt()];
+      in.get(key);
+      final int valLength = in.getInt();
+      byte[] val = null;
+      if (valLength >= 0) {
+        val = new byte[valLength];
+        in.get(val);
+      }
+      if (in.hasRemaining()) {
+        throw new IllegalArgumentException("Invalid continuation token");
+      }
+      return new byte[][] {key, val};
+    } catch (final BufferUnderflowException | NegativeArraySizeException e) {
+      throw new IllegalArgumentException("Invalid continuation token", e);
+    }
+  }
+
+  /**
+   * A page of entries.
+   *
+   * @param <T> buffer type
+   */
+  public static final class Page<T> {
+
+    private final List<Map.Entry<T, T>> entries;
+    private final String token;
+
+    Page(final List<Map.Entry<T, T>> entries, final String token) {
+      this.entries = entries;
+      this.token = token;
+    }
+
+    /**
+     * The entries of this page, copied so they remain valid after the transaction ends.
+     *
+     * @return the entries in range order (never null)
+     */
+    public List<Map.Entry<T, T>> entries() {
+      return entries;
+    }
+
+    /**
+     * Whether further entries follow this page.
+     *
+     * @return true if a continuation token is present
+     */
+    public boolean hasMore() {
+      return token != null;
+    }
+
+    /**
+     * The token that resumes after this page.
+     *
+     * @return the token, or null if the range is exhausted
+     */
+    public String token() {
+      return token;
+    }
+  }
+}
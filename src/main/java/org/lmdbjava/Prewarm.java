@@ -0,0 +1,148 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static org.lmdbjava.SeekOp.MDB_NEXT;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Loads the pages of an {@link Env} into the operating system's page cache and reports how many are
+ * resident.
+ *
+ * <p>The data file is mapped separately from LMDB's own map in fixed size regions. As both mappings
+ * share the page cache, {@link java.nio.MappedByteBuffer#load()} (which advises the kernel that the
+ * pages will be needed and then touches each one) warms LMDB's map too, and {@link
+ * java.nio.MappedByteBuffer#isLoaded()} (which uses {@code mincore} where available) reports its
+ * residency.
+ */
+final class Prewarm {
+
+  /** Regions examined when measuring residency. */
+  private static final int RESIDENCY_REGIONS = 1_024;
+
+  /** Smallest region mapped, a multiple of every common page size. */
+  private static final long MIN_REGION = 64 * 1_024;
+
+  /** Largest region loaded by one task. */
+  private static final long MAX_REGION = 64 * 1_024 * 1_024;
+
+  private Prewarm() {}
+
+  static void file(final Path file, final long used, final int threads) {
+    final long region = regionSize(used, used / MAX_REGION + 1);
+    final List<Callable<Void>> loads = new ArrayList<>();
+    for (long start = 0; start < used; start += region) {
+      final long position = start;
+      final long size = Math.min(region, used - start);
+      loads.add(
+          () -> {
+            try (FileChannel channel = FileChannel.open(file, READ)) {
+              channel.map(READ_ONLY, position, size).load();
+            }
+            return null;
+          });
+    }
+    run(threads, loads);
+  }
+
+  static <T> void dbis(final Env<T> env, final List<Dbi<T>> dbis, final int threads) {
+    final List<Callable<Void>> walks = new ArrayList<>(dbis.size());
+    for (final Dbi<T> dbi : dbis) {
+      walks.add(
+          () -> {
+            // Each entry visited faults in its leaf page and the branch pages above it
+            try (Txn<T> txn = env.txnRead();
+                Cursor<T> cursor = dbi.openCursor(txn)) {
+              boolean found = cursor.first();
+              while (found) {
+                found = cursor.seek(MDB_NEXT);
+              }
+            }
+            return null;
+          });
+    }
+    run(threads, walks);
+  }
+
+  static double residency(final Path file, final long used) {
+    if (used == 0) {
+      return 1;
+    }
+    final long region = regionSize(used, RESIDENCY_REGIONS);
+    long resident = 0;
+    try (FileChannel channel = FileChannel.open(file, READ)) {
+      for (long position = 0; position < used; position += region) {
+        final long size = Math.min(region, used - position);
+        if (channel.map(READ_ONLY, position, size).isLoaded()) {
+          resident += size;
+        }
+      }
+    } catch (final IOException e) {
+      throw new UncheckedIOException(e);
+    }
+    return (double) resident / used;
+  }
+
+  private static long regionSize(final long used, final long regions) {
+    final long size = (used + regions - 1) / regions;
+    return Math.max(MIN_REGION, (size + MIN_REGION - 1) / MIN_REGION * MIN_REGION);
+  }
+
+  private static void run(final int threads, final List<Callable<Void>> tasks) {
+    if (tasks.isEmpty()) {
+      return;
+    }
+    final ExecutorService executor =
+        Executors.newFixedThreadPool(
+            Math.min(threads, tasks.size()),
+            r -> {
+              final Thread thread = new Thread(r, "lmdb-prewarm");
+              thread.setDaemon(true);
+              return thread;
+            });
+    try {
+      for (final Future<Void> result : executor.invokeAll(tasks)) {
+        result.get();
+      }
+    } catch (final ExecutionException e) {
+      if (e.getCause() instanceof RuntimeException) {
+        throw (RuntimeException) e.getCause();
+      }
+      if (e.getCause() instanceof IOException) {
+        throw new UncheckedIOException((IOException) e.getCause());
+      }
+      throw new LmdbException("Prewarm failed", e.getCause());
+    } catch (final InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new LmdbException("Interrupted while prewarming", e);
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+}
@@ -0,0 +1,73 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Counts the entries of a {@link Dbi} within a {@link KeyRange}, either approximately or exactly.
+ *
+ * <p>LMDB does not expose the position of a cursor within the B-tree, so {@link #estimate(Txn,
+ * KeyRange)} locates the first and last keys of the range with a cursor seek each, places them
+ * within the span between the database's first and last keys, and scales the total entry count from
+ * {@link Stat} by the fraction of the span they cover. It therefore costs a few seeks, O(log n),
+ * and is accurate when keys are spread evenly over the key space. Positions are computed from the
+ * unsigned bytes of the keys, in reverse for {@link DbiFlags#MDB_REVERSEKEY}, or from their integer
+ * values for {@link DbiFlags#MDB_INTEGERKEY}. Databases using other key orders may receive poor
+ * estimates, though never more than the total entry count.
+ *
+ * <p>{@link #count(Txn, KeyRange)} visits each key in the range once, adding {@link Cursor#count()}
+ * for {@link DbiFlags#MDB_DUPSORT} databases rather than visiting every duplicate.
+ *
+ * @param <T> buffer type
+ */
+public final class RangeEstimator<T> {
+
+  private final KeySpace<T> keySpace;
+
+  /**
+   * Create an estimator.
+   *
+   * @param dbi the database to count (required)
+   */
+  public RangeEstimator(final Dbi<T> dbi) {
+    requireNonNull(dbi);
+    this.keySpace = new KeySpace<>(dbi);
+  }
+
+  /**
+   * Count the entries in the range exactly.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range the range to count (not null)
+   * @return the number of entries, including duplicates
+   */
+  public long count(final Txn<T> txn, final KeyRange<T> range) {
+    return keySpace.count(txn, requireNonNull(range));
+  }
+
+  /**
+   * Estimate the number of entries in the range.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range the range to estimate (not null)
+   * @return the estimated number of entries, including duplicates; exact when the range holds at
+   *     most one key
+   */
+  public long estimate(final Txn<T> txn, final KeyRange<T> range) {
+    return keySpace.estimate(txn, requireNonNull(range));
+  }
+}
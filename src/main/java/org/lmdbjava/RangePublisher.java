@@ -0,0 +1,341 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+import static org.lmdbjava.SeekOp.MDB_GET_BOTH_RANGE;
+import static org.lmdbjava.SeekOp.MDB_LAST_DUP;
+import static org.lmdbjava.SeekOp.MDB_NEXT_DUP;
+import static org.lmdbjava.SeekOp.MDB_PREV_DUP;
+
+import java.util.AbstractMap;
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Publishes the entries of a {@link Dbi} key range to subscribers with backpressure.
+ *
+ * <p>The {@link Subscriber} and {@link Subscription} interfaces mirror those of {@code
+ * java.util.concurrent.Flow} and Reactive Streams, so adapting to either takes a few lines. Each
+ * subscriber receives its own scan. Entries are read only as they are requested, in batches of at
+ * most the configured size, and each is delivered as a copy owned by the subscriber.
+ *
+ * <p>When releasing is enabled, every batch is read in its own read-only {@link Txn}, which is
+ * closed before the batch is delivered, so a slow subscriber does not pin old pages. The next batch
+ * resumes after the last entry read, found again by its key and, for {@link DbiFlags#MDB_DUPSORT},
+ * its value, so it observes changes committed in the meantime. Otherwise a single {@link Txn} is
+ * held from the first request until the scan ends, giving a consistent snapshot. As that {@link
+ * Txn} is then used by whichever executor thread delivers each batch, the {@link Env} must use
+ * {@link EnvFlags#MDB_NOTLS} unless the executor runs every task on one thread.
+ *
+ * <p>All signals to a subscriber are sent from the executor, one at a time.
+ *
+ * @param <T> buffer type
+ */
+public final class RangePublisher<T> {
+
+  private final int batchSize;
+  private final Dbi<T> dbi;
+  private final boolean dupsort;
+  private final Executor executor;
+  private final BufferProxy<T> proxy;
+  private final KeyRange<T> range;
+  private final boolean release;
+
+  /**
+   * Create a publisher.
+   *
+   * @param dbi the database to scan (required)
+   * @param range the range of keys to publish (required)
+   * @param executor runs the scans and delivers the entries (required)
+   * @param batchSize maximum entries to read per batch (must be positive)
+   * @param release whether to end the read transaction between batches
+   */
+  public RangePublisher(
+      final Dbi<T> dbi,
+      final KeyRange<T> range,
+      final Executor executor,
+      final int batchSize,
+      final boolean release) {
+    requireNonNull(dbi);
+    requireNonNull(range);
+    requireNonNull(executor);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive");
+    }
+    this.dbi = dbi;
+    this.range = range;
+    this.executor = executor;
+    this.batchSize = batchSize;
+    this.release = release;
+    this.proxy = dbi.proxy();
+    this.dupsort = dbi.dbiFlagSet().isSet(MDB_DUPSORT);
+  }
+
+  /**
+   * Begin a scan for a subscriber, which is first passed its {@link Subscription}.
+   *
+   * @param subscriber the subscriber (required)
+   */
+  public void subscribe(final Subscriber<? super Map.Entry<T, T>> subscriber) {
+    requireNonNull(subscriber);
+    new Scan(subscriber).schedule();
+  }
+
+  private KeyRange<T> resumeAfter(final T key) {
+    final KeyRangeType type = range.getType();
+    for (final KeyRangeType candidate : KeyRangeType.values()) {
+      if (candidate.isDirectionForward() == type.isDirectionForward()
+          && candidate.isStartKeyRequired()
+          && !candidate.isStartKeyInclusive()
+          && candidate.isStopKeyRequired() == type.isStopKeyRequired()
+          && candidate.isStopKeyInclusive() == type.isStopKeyInclusive()) {
+        return new KeyRange<>(candidate, key, range.getStop());
+      }
+    }
+    throw new IllegalStateException("No range type resumes " + type);
+  }
+
+  /**
+   * Receives the entries of a scan.
+   *
+   * @param <E> element type
+   */
+  public interface Subscriber<E> {
+
+    /**
+     * Called once, before any other method.
+     *
+     * @param subscription used to request entries or cancel the scan
+     */
+    void onSubscribe(Subscription subscription);
+
+    /**
+     * Called for each requested entry.
+     *
+     * @param item the entry
+     */
+    void onNext(E item);
+
+    /**
+     * Called once if the scan fails, after which no further methods are called.
+     *
+     * @param throwable the failure
+     */
+    void onError(Throwable throwable);
+
+    /** Called once after the last entry, after which no further methods are called. */
+    void onComplete();
+  }
+
+  /** Controls the flow of entries to a {@link Subscriber}. */
+  public interface Subscription {
+
+    /**
+     * Request further entries. A non-positive count fails the scan.
+     *
+     * @param n the number of entries
+     */
+    void request(long n);
+
+    /** Stop the scan and release its transaction. */
+    void cancel();
+  }
+
+  /** A subscriber's scan, run on the executor by at most one thread at a time. */
+  private final class Scan implements Subscription, Runnable {
+
+    private final ArrayDeque<Map.Entry<T, T>> buffer = new ArrayDeque<>();
+    private volatile boolean cancelled;
+    private boolean done;
+    private volatile Throwable error;
+    private boolean exhausted;
+    private CursorIterable<T> iterable;
+    private Iterator<CursorIterable.KeyVal<T>> iterator;
+    private byte[] lastKey;
+    private byte[] lastVal;
+    private final AtomicLong requested = new AtomicLong();
+    private boolean started;
+    private final Subscriber<? super Map.Entry<T, T>> subscriber;
+    private Txn<T> txn;
+    private final AtomicInteger wip = new AtomicInteger();
+
+    Scan(final Subscriber<? super Map.Entry<T, T>> subscriber) {
+      this.subscriber = subscriber;
+    }
+
+    @Override
+    public void cancel() {
+      cancelled = true;
+      schedule();
+    }
+
+    @Override
+    public void request(final long n) {
+      if (n <= 0) {
+        error = new IllegalArgumentException("Request must be positive: " + n);
+      } else {
+        long current;
+        long next;
+        do {
+          current = requested.get();
+          next = current + n < 0 ? Long.MAX_VALUE : current + n;
+        } while (!requested.compareAndSet(current, next));
+      }
+      schedule();
+    }
+
+    @Override
+    public void run() {
+      int missed = 1;
+      do {
+        if (!started) {
+          started = true;
+          subscriber.onSubscribe(this);
+        }
+        drain();
+        missed = wip.addAndGet(-missed);
+      } while (missed != 0);
+    }
+
+    void schedule() {
+      if (wip.getAndIncrement() == 0) {
+        executor.execute(this);
+      }
+    }
+
+    private void drain() {
+      while (!done) {
+        if (cancelled) {
+          finish();
+          return;
+        }
+        if (error != null) {
+          finish();
+          subscriber.onError(error);
+          return;
+        }
+        final long n = requested.get();
+        if (n == 0) {
+          return;
+        }
+        if (buffer.isEmpty()) {
+          if (exhausted) {
+            finish();
+            subscriber.onComplete();
+            return;
+          }
+          try {
+            fill((int) Math.min(n, batchSize));
+          } catch (final RuntimeException e) {
+            error = e;
+          }
+          continue;
+        }
+        subscriber.onNext(buffer.poll());
+        if (n != Long.MAX_VALUE) {
+          requested.decrementAndGet();
+        }
+      }
+    }
+
+    private void fill(final int wanted) {
+      if (iterable == null) {
+        txn = dbi.env().txnRead();
+        if (lastKey != null && dupsort && resumeDuplicates(wanted)) {
+          // The batch ends among the duplicates of the last key
+          close();
+          return;
+        }
+        iterable =
+            dbi.iterate(txn, lastKey == null ? range : resumeAfter(proxy.fromBytes(lastKey)));
+        iterator = iterable.iterator();
+      }
+      while (buffer.size() < wanted && iterator.hasNext()) {
+        final CursorIterable.KeyVal<T> kv = iterator.next();
+        add(kv.key(), kv.val());
+      }
+      exhausted = !iterator.hasNext();
+      if (release || exhausted) {
+        close();
+      }
+    }
+
+    /**
+     * Add the duplicates of the last key that follow the last value read, returning true if more
+     * remain than were wanted.
+     */
+    private boolean resumeDuplicates(final int wanted) {
+      final boolean forward = range.getType().isDirectionForward();
+      final T key = proxy.fromBytes(lastKey);
+      try (Cursor<T> cursor = dbi.openCursor(txn)) {
+        boolean found;
+        if (cursor.get(key, proxy.fromBytes(lastVal), MDB_GET_BOTH_RANGE)) {
+          // Positioned on the last value read or, if it was deleted, the first one after it
+          found =
+              forward
+                  ? !Arrays.equals(proxy.getBytes(cursor.val()), lastVal)
+                      || cursor.seek(MDB_NEXT_DUP)
+                  : cursor.seek(MDB_PREV_DUP);
+        } else {
+          // Every remaining duplicate of the key precedes the last value read
+          found = !forward && cursor.get(key, MDB_SET_KEY) && cursor.seek(MDB_LAST_DUP);
+        }
+        while (found) {
+          if (buffer.size() == wanted) {
+            return true;
+          }
+          add(cursor.key(), cursor.val());
+          found = cursor.seek(forward ? MDB_NEXT_DUP : MDB_PREV_DUP);
+        }
+      }
+      return false;
+    }
+
+    private void add(final T key, final T val) {
+      lastKey = proxy.getBytes(key);
+      lastVal = proxy.getBytes(val);
+      buffer.add(
+          new AbstractMap.SimpleImmutableEntry<>(
+              proxy.fromBytes(lastKey), proxy.fromBytes(lastVal)));
+    }
+
+    private void close() {
+      if (iterable != null) {
+        iterable.close();
+        iterable = null;
+        iterator = null;
+      }
+      if (txn != null) {
+        txn.close();
+        txn = null;
+      }
+    }
+
+    private void finish() {
+      done = true;
+      buffer.clear();
+      close();
+    }
+  }
+}
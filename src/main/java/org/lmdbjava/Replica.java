@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Applies the changes sent by a {@link LogShipper} to a follower {@link Env}.
+ *
+ * <p>Each batch received is applied in a single read-write transaction, which also records the id
+ * of the last leader transaction applied in the state {@link Dbi}. The follower therefore always
+ * holds a transaction-consistent state of the leader, and {@link #appliedTxnId()} survives
+ * restarts. Changes from transactions that were already applied are skipped. A batch is only
+ * acknowledged to the transport once committed, so a batch that fails to apply is received again. A
+ * batch that begins after the transaction following {@link #appliedTxnId()} is rejected, as the
+ * changes between them were lost; the first batch applied may begin anywhere, as a follower starts
+ * from a copy of the leader.
+ *
+ * <p>Every database named in the change stream must be passed to the constructor. Instances are not
+ * thread safe.
+ *
+ * @param <T> buffer type
+ */
+public final class Replica<T> {
+
+  private static final byte[] APPLIED_KEY = "applied-txn-id".getBytes(StandardCharsets.UTF_8);
+  private static final int KEY_SIZE = Long.BYTES + Integer.BYTES;
+
+  private final Map<ByteBuffer, Dbi<T>> dbis = new HashMap<>();
+  private final Env<T> env;
+  private final BufferProxy<T> proxy;
+  private final Dbi<T> state;
+  private final ChangeTransport transport;
+  private Dbi<T> unnamed;
+
+  /**
+   * Create a replica.
+   *
+   * @param state the follower database recording replication progress (required)
+   * @param transport the transport to receive batches from (required)
+   * @param dbis the follower databases that changes are applied to
+   */
+  @SafeVarargs
+  public Replica(final Dbi<T> state, final ChangeTransport transport, final Dbi<T>... dbis) {
+    requireNonNull(state);
+    requireNonNull(transport);
+    this.state = state;
+    this.transport = transport;
+    this.env = state.env();
+    this.proxy = state.proxy();
+    for (final Dbi<T> dbi : dbis) {
+      final byte[] name = dbi.getName();
+      if (name == null) {
+        unnamed = dbi;
+      } else {
+        this.dbis.put(ByteBuffer.wrap(name), dbi);
+      }
+    }
+  }
+
+  /**
+   * The id of the last leader transaction applied.
+   *
+   * @return transaction id, or 0 if none have been applied
+   */
+  public long appliedTxnId() {
+    try (Txn<T> txn = env.txnRead()) {
+      return appliedTxnId(txn);
+    }
+  }
+
+  /**
+   * Receive one batch and apply it.
+   *
+   * <p>This method begins its own transaction and must not be called by a thread that holds a
+   * read-write transaction.
+   *
+   * @return the number of changes applied, or 0 if no batch was available
+   * @throws IOException if the transport failed
+   * @throws MissingChangesException if the batch does not follow the last one applied
+   */
+  public int poll() throws IOException {
+    final byte[] batch = transport.receive();
+    if (batch == null) {
+      return 0;
+    }
+    int count = 0;
+    final ByteBuffer in = ByteBuffer.wrap(batch);
+    try (Txn<T> txn = env.txnWrite()) {
+      final long applied = appliedTxnId(txn);
+      final long from = in.getLong();
+      if (applied != 0 && from > applied + 1) {
+        throw new MissingChangesException(applied, from);
+      }
+      long last = applied;
+      while (in.hasRemaining()) {
+        final byte[] key = new byte[KEY_SIZE];
+        in.get(key);
+        final byte[] record = new byte[in.getInt()];
+        in.get(record);
+        final ChangeLog.Change<T> change =
+            ChangeLog.decode(proxy, proxy.fromBytes(key), proxy.fromBytes(record));
+        if (change.txnId() <= applied) {
+          continue;
+        }
+        apply(txn, change);
+        last = change.txnId();
+        count++;
+      }
+      if (last != applied) {
+        final byte[] val = ByteBuffer.allocate(Long.BYTES).putLong(last).array();
+        state.put(txn, proxy.fromBytes(APPLIED_KEY), proxy.fromBytes(val));
+      }
+      txn.commit();
+    }
+    transport.acknowledge();
+    return count;
+  }
+
+  private void apply(final Txn<T> txn, final ChangeLog.Change<T> change) {
+    final byte[] name = change.name();
+    final Dbi<T> dbi = name == null ? unnamed : dbis.get(ByteBuffer.wrap(name));
+    if (dbi == null) {
+      throw new UnknownDatabaseException(name);
+    }
+    switch (change.op()) {
+      case PUT:
+        // A reserved value deleted later in the same transaction has no recorded value
+        if (change.val() != null) {
+          dbi.put(txn, change.key(), change.val());
+        }
+        break;
+      case DELETE:
+        if (change.val() == null) {
+          dbi.delete(txn, change.key());
+        } else {
+          dbi.delete(txn, change.key(), change.val());
+        }
+        break;
+      case DROP:
+        dbi.drop(txn);
+        break;
+      default:
+        throw new IllegalStateException("Unexpected operation " + change.op());
+    }
+  }
+
+  private long appliedTxnId(final Txn<T> txn) {
+    final T val = state.get(txn, proxy.fromBytes(APPLIED_KEY));
+    return val == null ? 0 : ByteBuffer.wrap(proxy.getBytes(val)).getLong();
+  }
+
+  /** A batch begins after the transaction following the last one applied. */
+  public static final class MissingChangesException extends LmdbException {
+
+    private static final long serialVersionUID = 1L;
+
+    MissingChangesException(final long applied, final long from) {
+      super("Batch begins at transaction " + from + " but only " + applied + " was applied");
+    }
+  }
+
+  /** The change stream names a database that was not passed to the replica. */
+  public static final class UnknownDatabaseException extends LmdbException {
+
+    private static final long serialVersionUID = 1L;
+
+    UnknownDatabaseException(final byte[] name) {
+      super(
+          "No follower database was provided for "
+              + (name == null
+                  ? "the unnamed database"
+                  : new String(name, Env.DEFAULT_NAME_CHARSET)));
+    }
+  }
+}
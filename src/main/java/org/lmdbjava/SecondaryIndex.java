@@ -0,0 +1,349 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERDUP;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEDUP;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+import static org.lmdbjava.PutFlags.MDB_APPEND;
+import static org.lmdbjava.PutFlags.MDB_APPENDDUP;
+import static org.lmdbjava.PutFlags.MDB_NODUPDATA;
+import static org.lmdbjava.SeekOp.MDB_GET_BOTH;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.Function;
+
+/**
+ * Secondary index over the values of a primary {@link Dbi}, maintained automatically.
+ *
+ * <p>The index {@link Dbi} maps each index key, as returned by the extractor for a primary value,
+ * to the primary keys holding that value. It must be opened with {@link DbiFlags#MDB_DUPSORT} and
+ * the default duplicate ordering. The primary {@link Dbi} must not use {@link
+ * DbiFlags#MDB_DUPSORT}.
+ *
+ * <p>Once created, the index observes every read-write {@link Txn} of the {@link Env} and updates
+ * the index database in the same transaction as each put, delete or drop of the primary. Entries
+ * stored with a reservation are indexed when the transaction is about to commit, once their value
+ * has been written. Use {@link #rebuild()} to index data written before the index was created.
+ *
+ * <p>The extractor receives a buffer that is only valid for the duration of the call. It may return
+ * null to leave a value unindexed.
+ *
+ * @param <T> buffer type
+ */
+public final class SecondaryIndex<T> implements AutoCloseable {
+
+  private final Env<T> env;
+  private final Function<T, T> extractor;
+  private final Dbi<T> index;
+  private final Listener listener = new Listener();
+  private final Dbi<T> primary;
+  private final BufferProxy<T> proxy;
+  private final Map<Txn<T>, byte[]> replaced = new IdentityHashMap<>();
+  private final Map<Txn<T>, List<byte[]>> reservations = new IdentityHashMap<>();
+
+  /**
+   * Create an index and begin maintaining it.
+   *
+   * @param primary the database holding the indexed values (required)
+   * @param index the database holding the index (required)
+   * @param extractor function returning the index key of a primary value (required)
+   */
+  public SecondaryIndex(final Dbi<T> primary, final Dbi<T> index, final Function<T, T> extractor) {
+    requireNonNull(primary);
+    requireNonNull(index);
+    requireNonNull(extractor);
+    if (primary.dbiFlagSet().isSet(MDB_DUPSORT)) {
+      throw new IllegalArgumentException("Primary database must not use " + MDB_DUPSORT);
+    }
+    if (!index.dbiFlagSet().isSet(MDB_DUPSORT)
+        || index.dbiFlagSet().areAnySet(DbiFlagSet.of(MDB_INTEGERDUP, MDB_REVERSEDUP))) {
+      throw new IllegalArgumentException(
+          "Index database must use " + MDB_DUPSORT + " with default duplicate ordering");
+    }
+    this.primary = primary;
+    this.index = index;
+    this.extractor = extractor;
+    this.env = primary.env();
+    this.proxy = primary.proxy();
+    env.addWriteListener(listener);
+  }
+
+  /** Stop maintaining the index. */
+  @Override
+  public void close() {
+    env.removeWriteListener(listener);
+  }
+
+  /**
+   * Iterate the primary entries whose index keys fall within the passed range.
+   *
+   * <p>Entries are returned in index key order, and in primary key order within an index key. The
+   * returned keys and values are those of the primary database.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range range of index keys to return (not null)
+   * @return iterable that must be closed after use
+   */
+  public Join iterate(final Txn<T> txn, final KeyRange<T> range) {
+    return new Join(txn, range);
+  }
+
+  /**
+   * Rebuild the index from the primary database in a single read-write transaction.
+   *
+   * <p>The index is cleared and the extracted pairs are sorted and stored with append mode, which
+   * fills pages sequentially. All pairs are held in memory while sorting. This method begins its
+   * own transaction and must not be called by a thread that holds a read-write transaction.
+   */
+  public void rebuild() {
+    final List<byte[][]> pairs = new ArrayList<>();
+    try (Txn<T> txn = env.txnWrite()) {
+      index.drop(txn);
+      try (Cursor<T> cursor = primary.openCursor(txn)) {
+        boolean found = cursor.first();
+        while (found) {
+          final byte[] indexKey = extract(cursor.val());
+          if (indexKey != null) {
+            pairs.add(new byte[][] {indexKey, proxy.getBytes(cursor.key())});
+          }
+          found = cursor.next();
+        }
+      }
+      final Comparator<T> keyOrder =
+          index.comparator() == null ? proxy.getComparator(index.dbiFlagSet()) : index.comparator();
+      final Comparator<T> dupOrder = proxy.getComparator();
+      final List<T[]> sorted = new ArrayList<>(pairs.size());
+      for (final byte[][] pair : pairs) {
+        @SuppressWarnings("unchecked")
+        final T[] entry = (T[]) new Object[] {proxy.fromBytes(pair[0]), proxy.fromBytes(pair[1])};
+        sorted.add(entry);
+      }
+      pairs.clear();
+      sorted.sort(
+          (a, b) -> {
+            final int cmp = keyOrder.compare(a[0], b[0]);
+            return cmp == 0 ? dupOrder.compare(a[1], b[1]) : cmp;
+          });
+      try (Cursor<T> cursor = index.openCursor(txn)) {
+        T previous = null;
+        for (final T[] entry : sorted) {
+          final boolean sameKey = previous != null && keyOrder.compare(previous, entry[0]) == 0;
+          cursor.put(entry[0], entry[1], sameKey ? MDB_APPENDDUP : MDB_APPEND);
+          previous = entry[0];
+        }
+      }
+      txn.commit();
+    }
+  }
+
+  private byte[] extract(final T val) {
+    final T indexKey = extractor.apply(val);
+    return indexKey == null ? null : proxy.getBytes(indexKey);
+  }
+
+  private static <T> Txn<T> root(final Txn<T> txn) {
+    Txn<T> root = txn;
+    while (root.getParent() != null) {
+      root = root.getParent();
+    }
+    return root;
+  }
+
+  /**
+   * Primary entries located through the index.
+   *
+   * <p>The returned {@link CursorIterable.KeyVal} is reused between elements, as with {@link
+   * CursorIterable}.
+   */
+  public final class Join implements Iterable<CursorIterable.KeyVal<T>>, AutoCloseable {
+
+    private final CursorIterable<T> entries;
+    private final CursorIterable.KeyVal<T> entry = new CursorIterable.KeyVal<>();
+    private final Cursor<T> lookup;
+
+    Join(final Txn<T> txn, final KeyRange<T> range) {
+      this.entries = index.iterate(txn, range);
+      this.lookup = primary.openCursor(txn);
+    }
+
+    @Override
+    public void close() {
+      lookup.close();
+      entries.close();
+    }
+
+    @Override
+    public Iterator<CursorIterable.KeyVal<T>> iterator() {
+      final Iterator<CursorIterable.KeyVal<T>> it = entries.iterator();
+      return new Iterator<CursorIterable.KeyVal<T>>() {
+        private boolean ready;
+
+        @Override
+        public boolean hasNext() {
+          while (!ready && it.hasNext()) {
+            // Skip index entries whose primary key is absent
+            ready = lookup.get(it.next().val(), MDB_SET_KEY);
+          }
+          return ready;
+        }
+
+        @Override
+        public CursorIterable.KeyVal<T> next() {
+          if (!hasNext()) {
+            throw new NoSuchElementException();
+          }
+          ready = false;
+          entry.setK(lookup.key());
+          entry.setV(lookup.val());
+          return entry;
+        }
+      };
+    }
+  }
+
+  /** Updates the index alongside each change to the primary. */
+  private final class Listener implements WriteListener<T> {
+
+    @Override
+    public void beforePut(final Txn<T> txn, final Dbi<T> dbi, final T key) {
+      if (dbi != primary) {
+        return;
+      }
+      final byte[] previous = current(txn, key);
+      synchronized (replaced) {
+        replaced.put(root(txn), previous);
+      }
+    }
+
+    @Override
+    public void afterPut(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {
+      if (dbi == primary) {
+        reindex(txn, key, extract(val));
+      }
+    }
+
+    @Override
+    public void afterReserve(final Txn<T> txn, final Dbi<T> dbi, final T key, final T reserved) {
+      if (dbi != primary) {
+        return;
+      }
+      // The value is not yet written, so remove the previous entry and index it before commit
+      reindex(txn, key, null);
+      synchronized (replaced) {
+        reservations.computeIfAbsent(root(txn), t -> new ArrayList<>()).add(proxy.getBytes(key));
+      }
+    }
+
+    @Override
+    public void beforeDelete(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {
+      if (dbi != primary) {
+        return;
+      }
+      final byte[] previous = current(txn, key);
+      if (previous == null) {
+        return;
+      }
+      try (Cursor<T> cursor = index.openCursor(txn)) {
+        if (cursor.get(
+            proxy.fromBytes(previous), proxy.fromBytes(proxy.getBytes(key)), MDB_GET_BOTH)) {
+          cursor.delete();
+        }
+      }
+    }
+
+    @Override
+    public void beforeDrop(final Txn<T> txn, final Dbi<T> dbi) {
+      if (dbi == primary) {
+        index.drop(txn);
+      }
+    }
+
+    @Override
+    public void beforeCommit(final Txn<T> txn) {
+      final List<byte[]> keys;
+      synchronized (replaced) {
+        keys = reservations.remove(txn);
+      }
+      if (keys == null) {
+        return;
+      }
+      try (Cursor<T> data = primary.openCursor(txn);
+          Cursor<T> cursor = index.openCursor(txn)) {
+        for (final byte[] key : keys) {
+          final T primaryKey = proxy.fromBytes(key);
+          // Absent if deleted since, or reserved by a nested transaction that was aborted
+          final byte[] updated = data.get(primaryKey, MDB_SET_KEY) ? extract(data.val()) : null;
+          if (updated != null) {
+            // Already present if stored again since, or restored by an aborted nested transaction
+            cursor.put(proxy.fromBytes(updated), primaryKey, MDB_NODUPDATA);
+          }
+        }
+      }
+    }
+
+    @Override
+    public void afterCommit(final Txn<T> txn) {
+      end(txn);
+    }
+
+    @Override
+    public void afterAbort(final Txn<T> txn) {
+      end(txn);
+    }
+
+    private void end(final Txn<T> txn) {
+      synchronized (replaced) {
+        replaced.remove(txn);
+        reservations.remove(txn);
+      }
+    }
+
+    private void reindex(final Txn<T> txn, final T key, final byte[] updated) {
+      final byte[] previous;
+      synchronized (replaced) {
+        previous = replaced.remove(root(txn));
+      }
+      if (Arrays.equals(previous, updated)) {
+        return;
+      }
+      final T primaryKey = proxy.fromBytes(proxy.getBytes(key));
+      try (Cursor<T> cursor = index.openCursor(txn)) {
+        if (previous != null && cursor.get(proxy.fromBytes(previous), primaryKey, MDB_GET_BOTH)) {
+          cursor.delete();
+        }
+        if (updated != null) {
+          cursor.put(proxy.fromBytes(updated), primaryKey, MDB_NODUPDATA);
+        }
+      }
+    }
+
+    private byte[] current(final Txn<T> txn, final T key) {
+      try (Cursor<T> cursor = primary.openCursor(txn)) {
+        return cursor.get(key, MDB_SET_KEY) ? extract(cursor.val()) : null;
+      }
+    }
+  }
+}
@@ -0,0 +1,193 @@
+/*
+ * Copyright © 2016-2025 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * A {@link Dbi} opened in every shard of a {@link ShardedEnv}, with each key stored in the shard
+ * chosen by the {@link ShardedEnv.Partitioner}.
+ *
+ * @param <T> buffer type
+ */
+public final class ShardedDbi<T> {
+
+  private final Comparator<T> comparator;
+  private final List<Dbi<T>> dbis;
+  private final ShardedEnv<T> env;
+
+  ShardedDbi(final ShardedEnv<T> env, final List<Dbi<T>> dbis) {
+    this.env = env;
+    this.dbis = dbis;
+    final Dbi<T> first = dbis.get(0);
+    this.comparator =
+        first.comparator() == null
+            ? first.proxy().getComparator(first.dbiFlagSet())
+            : first.comparator();
+  }
+
+  /**
+   * Delete a key from its shard.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to delete from the database (not null)
+   * @return true if the key/data pair was found, false otherwise
+   * @see Dbi#delete(Txn, Object)
+   */
+  public boolean delete(final ShardedTxn<T> txn, final T key) {
+    final int shard = env.shardOf(key);
+    return dbis.get(shard).delete(txn.shard(shard), key);
+  }
+
+  /**
+   * Get the value of a key from its shard.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @return the data or null if not found
+   * @see Dbi#get(Txn, Object)
+   */
+  public T get(final ShardedTxn<T> txn, final T key) {
+    final int shard = env.shardOf(key);
+    return dbis.get(shard).get(txn.shard(shard), key);
+  }
+
+  /**
+   * Iterate every shard over the passed range, merging the entries into key order.
+   *
+   * <p>This begins a transaction on every shard.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param range range of keys to return (not null)
+   * @return iterable that must be closed after use
+   */
+  public MergeIterable<T> iterate(final ShardedTxn<T> txn, final KeyRange<T> range) {
+    requireNonNull(range);
+    final List<CursorIterable<T>> sources = new ArrayList<>(dbis.size());
+    try {
+      for (int shard = 0; shard < dbis.size(); shard++) {
+        sources.add(dbis.get(shard).iterate(txn.shard(shard), range));
+      }
+    } catch (final RuntimeException e) {
+      for (final CursorIterable<T> source : sources) {
+        source.close();
+      }
+      throw e;
+    }
+    final Comparator<T> order =
+        range.getType().isDirectionForward() ? comparator : comparator.reversed();
+    return new MergeIterable<>(sources, order);
+  }
+
+  /**
+   * Starts a new read-write transaction on the key's shard and puts the key/data pair.
+   *
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   * @see Dbi#put(Object, Object)
+   */
+  public void put(final T key, final T val) {
+    dbis.get(env.shardOf(key)).put(key, val);
+  }
+
+  /**
+   * Store a key/data pair in its shard.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   * @return true if the value was put
+   * @see Dbi#put(Txn, Object, Object)
+   */
+  public boolean put(final ShardedTxn<T> txn, final T key, final T val) {
+    final int shard = env.shardOf(key);
+    return dbis.get(shard).put(txn.shard(shard), key, val);
+  }
+
+  /**
+   * Store key/data pairs, writing each shard in one transaction on that shard's writer thread.
+   *
+   * <p>Shards are written in parallel. Each shard's pairs commit atomically, but if a shard fails
+   * the other shards may still commit. The buffers must remain unchanged until this method returns.
+   *
+   * @param entries the pairs to store (not null)
+   */
+  public void putAll(final Map<T, T> entries) {
+    final List<List<Map.Entry<T, T>>> byShard = new ArrayList<>(dbis.size());
+    for (int shard = 0; shard < dbis.size(); shard++) {
+      byShard.add(new ArrayList<>());
+    }
+    for (final Map.Entry<T, T> entry : entries.entrySet()) {
+      byShard.get(env.shardOf(entry.getKey())).add(entry);
+    }
+    final List<Future<?>> writes = new ArrayList<>(dbis.size());
+    for (int shard = 0; shard < dbis.size(); shard++) {
+      final List<Map.Entry<T, T>> pairs = byShard.get(shard);
+      if (pairs.isEmpty()) {
+        continue;
+      }
+      final Dbi<T> dbi = dbis.get(shard);
+      final Env<T> shardEnv = env.shard(shard);
+      writes.add(
+          env.writer(shard)
+              .submit(
+                  () -> {
+                    try (Txn<T> txn = shardEnv.txnWrite()) {
+                      for (final Map.Entry<T, T> pair : pairs) {
+                        dbi.put(txn, pair.getKey(), pair.getValue());
+                      }
+                      txn.commit();
+                    }
+                  }));
+    }
+    RuntimeException failure = null;
+    for (final Future<?> write : writes) {
+      try {
+        write.get();
+      } catch (final ExecutionException e) {
+        if (failure == null) {
+          failure =
+              e.getCause() instanceof RuntimeException
+                  ? (RuntimeException) e.getCause()
+                  : new LmdbException("Shard write failed", e.getCause());
+        }
+      } catch (final InterruptedException e) {
+        Thread.currentThread().interrupt();
+        throw new LmdbException("Interrupted waiting for shard writes", e);
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * The database in a shard.
+   *
+   * @param shard the shard index
+   * @return the shard's database
+   */
+  public Dbi<T> shard(final int shard) {
+    return dbis.get(shard);
+  }
+}
@@ -0,0 +1,230 @@
+/*
+ * Copyright © 2016-2025 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Function;
+
+/**
+ * Partitions one logical keyspace across several {@link Env}s, so that writes to different shards
+ * proceed in parallel.
+ *
+ * <p>Each shard is an independent {@link Env}, normally in its own directory, with its own write
+ * lock. A {@link Partitioner} maps each key to a shard. {@link ShardedDbi#putAll(java.util.Map)}
+ * writes to each shard on a dedicated writer thread for that shard.
+ *
+ * <p>Closing this instance stops the writer threads and closes every shard {@link Env}.
+ *
+ * @param <T> buffer type
+ */
+public final class ShardedEnv<T> implements AutoCloseable {
+
+  private final List<Env<T>> envs;
+  private final Partitioner partitioner;
+  private final BufferProxy<T> proxy;
+  private final ExecutorService[] writers;
+
+  /**
+   * Create a sharded environment.
+   *
+   * @param envs the shard environments, in shard order (at least one; all using the same buffer
+   *     type)
+   * @param partitioner maps keys to shards (required)
+   */
+  public ShardedEnv(final List<Env<T>> envs, final Partitioner partitioner) {
+    requireNonNull(envs);
+    requireNonNull(partitioner);
+    if (envs.isEmpty()) {
+      throw new IllegalArgumentException("At least one shard is required");
+    }
+    this.envs = Collections.unmodifiableList(new ArrayList<>(envs));
+    this.partitioner = partitioner;
+    this.proxy = envs.get(0).proxy();
+    this.writers = new ExecutorService[envs.size()];
+  }
+
+  @Override
+  public void close() {
+    synchronized (writers) {
+      for (final ExecutorService writer : writers) {
+        if (writer != null) {
+          writer.shutdown();
+        }
+      }
+    }
+    for (final Env<T> env : envs) {
+      env.close();
+    }
+  }
+
+  /**
+   * Open a database in every shard.
+   *
+   * @param opener opens the database in the passed shard environment (required)
+   * @return the sharded database
+   */
+  public ShardedDbi<T> openDbi(final Function<Env<T>, Dbi<T>> opener) {
+    requireNonNull(opener);
+    final List<Dbi<T>> dbis = new ArrayList<>(envs.size());
+    for (final Env<T> env : envs) {
+      dbis.add(opener.apply(env));
+    }
+    return new ShardedDbi<>(this, dbis);
+  }
+
+  /**
+   * The environment of a shard.
+   *
+   * @param shard the shard index
+   * @return the environment
+   */
+  public Env<T> shard(final int shard) {
+    return envs.get(shard);
+  }
+
+  /**
+   * Number of shards.
+   *
+   * @return shard count
+   */
+  public int shardCount() {
+    return envs.size();
+  }
+
+  /**
+   * The shard that holds a key.
+   *
+   * @param key the key (not null)
+   * @return the shard index
+   */
+  public int shardOf(final T key) {
+    final int shard = partitioner.shard(proxy.getBytes(requireNonNull(key)), envs.size());
+    if (shard < 0 || shard >= envs.size()) {
+      throw new IllegalStateException("Partitioner returned shard " + shard);
+    }
+    return shard;
+  }
+
+  /**
+   * Obtain a read-only transaction spanning the shards.
+   *
+   * @return a transaction (never null)
+   */
+  public ShardedTxn<T> txnRead() {
+    return new ShardedTxn<>(envs, true);
+  }
+
+  /**
+   * Obtain a read-write transaction spanning every shard.
+   *
+   * <p>This holds the write lock of every shard until the transaction ends. Use {@link
+   * #txnWrite(int...)} to lock only the shards a transaction writes.
+   *
+   * @return a transaction (never null)
+   */
+  public ShardedTxn<T> txnWrite() {
+    final int[] shards = new int[envs.size()];
+    for (int i = 0; i < shards.length; i++) {
+      shards[i] = i;
+    }
+    return new ShardedTxn<>(envs, false, shards);
+  }
+
+  /**
+   * Obtain a read-write transaction spanning the passed shards.
+   *
+   * <p>The write transactions are begun in ascending shard order, whatever order the shards are
+   * passed in. Use {@link #shardOf(Object)} to find the shards of the keys to be written.
+   *
+   * @param shards the shard indexes the transaction will use
+   * @return a transaction (never null)
+   */
+  public ShardedTxn<T> txnWrite(final int... shards) {
+    requireNonNull(shards);
+    return new ShardedTxn<>(envs, false, shards);
+  }
+
+  ExecutorService writer(final int shard) {
+    synchronized (writers) {
+      if (writers[shard] == null) {
+        writers[shard] =
+            Executors.newSingleThreadExecutor(
+                r -> {
+                  final Thread thread = new Thread(r, "lmdb-shard-writer-" + shard);
+                  thread.setDaemon(true);
+                  return thread;
+                });
+      }
+      return writers[shard];
+    }
+  }
+
+  /** Maps keys to shards. */
+  @FunctionalInterface
+  public interface Partitioner {
+
+    /**
+     * Hash partitioning, which spreads keys evenly but orders nothing.
+     *
+     * @return a partitioner
+     */
+    static Partitioner hash() {
+      return (key, shards) -> (int) Long.remainderUnsigned(DbiBloomFilter.hash(key), shards);
+    }
+
+    /**
+     * Range partitioning by unsigned lexicographic key order. Keys below the first split point go
+     * to shard 0, keys from the first split point up to the second go to shard 1, and so on.
+     *
+     * @param splitPoints the first key of each shard after shard 0, ascending
+     * @return a partitioner
+     */
+    static Partitioner range(final byte[]... splitPoints) {
+      final byte[][] splits = splitPoints.clone();
+      final Comparator<byte[]> order = ByteArrayProxy::compareLexicographically;
+      for (int i = 1; i < splits.length; i++) {
+        if (order.compare(splits[i - 1], splits[i]) >= 0) {
+          throw new IllegalArgumentException("Split points must be ascending");
+        }
+      }
+      return (key, shards) -> {
+        if (splits.length + 1 != shards) {
+          throw new IllegalStateException(
+              splits.length + " split points do not partition " + shards + " shards");
+        }
+        final int found = Arrays.binarySearch(splits, key, order);
+        return found >= 0 ? found + 1 : -found - 1;
+      };
+    }
+
+    /**
+     * The shard holding a key.
+     *
+     * @param key the key bytes
+     * @param shards the number of shards
+     * @return the shard index, from 0 inclusive to shards exclusive
+     */
+    int shard(byte[] key, int shards);
+  }
+}
@@ -0,0 +1,141 @@
+/*
+ * Copyright © 2016-2025 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * A set of {@link Txn}s, one per shard of a {@link ShardedEnv}.
+ *
+ * <p>A read-only instance begins each shard's transaction when the shard is first used. A
+ * read-write instance begins the write transactions of all its shards up front, in ascending shard
+ * order, so that threads taking several shard write locks cannot deadlock. Using a shard that was
+ * not included when the instance was created is an error.
+ *
+ * <p>{@link #commit()} commits each shard's transaction in turn, so changes are atomic within each
+ * shard but not across shards. A read-write instance must only be used by the thread that created
+ * it.
+ *
+ * @param <T> buffer type
+ */
+public final class ShardedTxn<T> implements AutoCloseable {
+
+  private final boolean[] done;
+  private final List<Env<T>> envs;
+  private final boolean readOnly;
+  private final Txn<T>[] txns;
+
+  @SuppressWarnings("unchecked")
+  ShardedTxn(final List<Env<T>> envs, final boolean readOnly, final int... shards) {
+    this.envs = envs;
+    this.readOnly = readOnly;
+    this.txns = new Txn[envs.size()];
+    this.done = new boolean[envs.size()];
+    if (readOnly) {
+      return;
+    }
+    final int[] order = shards.clone();
+    Arrays.sort(order);
+    try {
+      for (final int shard : order) {
+        if (shard < 0 || shard >= txns.length) {
+          throw new IllegalArgumentException("No shard " + shard);
+        }
+        if (txns[shard] == null) {
+          txns[shard] = envs.get(shard).txnWrite();
+        }
+      }
+    } catch (final RuntimeException e) {
+      close();
+      throw e;
+    }
+  }
+
+  /** Aborts every shard transaction that has not been committed. */
+  public void abort() {
+    for (int i = 0; i < txns.length; i++) {
+      if (txns[i] != null && !done[i]) {
+        done[i] = true;
+        txns[i].abort();
+      }
+    }
+  }
+
+  /** Closes every shard transaction, aborting those that have not been committed. */
+  @Override
+  public void close() {
+    RuntimeException failure = null;
+    for (final Txn<T> txn : txns) {
+      if (txn == null) {
+        continue;
+      }
+      try {
+        txn.close();
+      } catch (final RuntimeException e) {
+        failure = failure == null ? e : failure;
+      }
+    }
+    if (failure != null) {
+      throw failure;
+    }
+  }
+
+  /**
+   * Commits every shard transaction that has begun, in shard order.
+   *
+   * <p>If a commit fails, shards before it remain committed and later shards are left uncommitted.
+   */
+  public void commit() {
+    for (int i = 0; i < txns.length; i++) {
+      if (txns[i] != null && !done[i]) {
+        done[i] = true;
+        txns[i].commit();
+      }
+    }
+  }
+
+  /**
+   * Whether the shard transactions are read-only.
+   *
+   * @return true if read-only
+   */
+  public boolean isReadOnly() {
+    return readOnly;
+  }
+
+  /**
+   * The transaction for a shard, beginning it if this is a read-only instance.
+   *
+   * @param shard the shard index
+   * @return the shard's transaction
+   * @throws IllegalStateException if this is a read-write instance that does not include the shard
+   */
+  public Txn<T> shard(final int shard) {
+    Txn<T> txn = txns[shard];
+    if (done[shard]) {
+      throw new Txn.NotReadyException();
+    }
+    if (txn == null) {
+      if (!readOnly) {
+        throw new IllegalStateException("Shard " + shard + " is not part of this transaction");
+      }
+      txn = envs.get(shard).txnRead();
+      txns[shard] = txn;
+    }
+    return txn;
+  }
+}
@@ -0,0 +1,212 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.util.Objects.requireNonNull;
+
+import java.nio.file.Path;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+
+/**
+ * Serves reads from the current version of an immutable snapshot {@link Env}, which can be replaced
+ * by a newer snapshot while readers are active.
+ *
+ * <p>Readers {@link #acquire()} a {@link Snapshot} and close it when done. {@link #swap(Path)}
+ * opens the new snapshot and makes it current atomically, so later acquisitions see it, while the
+ * previous {@link Env} stays open until every {@link Snapshot} of it has been closed. Snapshots are
+ * normally opened with {@link Env.Builder#openSnapshot(Path)}, which avoids the reader lock table.
+ *
+ * @param <T> buffer type
+ */
+public final class SnapshotEnv<T> implements AutoCloseable {
+
+  private final AtomicReference<Generation<T>> current = new AtomicReference<>();
+  private final Function<Path, Env<T>> opener;
+
+  /**
+   * Open the initial snapshot.
+   *
+   * @param opener opens the snapshot at the passed path, for example with a new {@link Env.Builder}
+   *     and {@link Env.Builder#openSnapshot(Path)} (required)
+   * @param path the initial snapshot (required)
+   */
+  public SnapshotEnv(final Function<Path, Env<T>> opener, final Path path) {
+    requireNonNull(opener);
+    this.opener = opener;
+    current.set(new Generation<>(opener.apply(requireNonNull(path))));
+  }
+
+  /**
+   * Obtain the current snapshot, which remains open until the returned instance is closed.
+   *
+   * @return the current snapshot (never null)
+   */
+  public Snapshot<T> acquire() {
+    while (true) {
+      final Generation<T> generation = current.get();
+      if (generation == null) {
+        throw new Env.AlreadyClosedException();
+      }
+      if (generation.retain()) {
+        return new Snapshot<>(generation);
+      }
+      // The generation was retired and drained concurrently; read the replacement
+    }
+  }
+
+  /** Stop serving snapshots. The current {@link Env} closes once its snapshots are closed. */
+  @Override
+  public void close() {
+    final Generation<T> retired = current.getAndSet(null);
+    if (retired != null) {
+      retired.release();
+    }
+  }
+
+  /**
+   * Open a new snapshot and make it current. The previous {@link Env} closes once its snapshots are
+   * closed.
+   *
+   * @param path the new snapshot (required)
+   */
+  public void swap(final Path path) {
+    final Generation<T> replacement = new Generation<>(opener.apply(requireNonNull(path)));
+    Generation<T> retired;
+    do {
+      retired = current.get();
+      if (retired == null) {
+        replacement.release();
+        throw new Env.AlreadyClosedException();
+      }
+    } while (!current.compareAndSet(retired, replacement));
+    retired.release();
+  }
+
+  /** An opened snapshot and the number of references to it, including being current. */
+  private static final class Generation<T> {
+
+    final Env<T> env;
+    private final Map<String, Dbi<T>> named = new HashMap<>();
+    private final AtomicInteger references = new AtomicInteger(1);
+    private Dbi<T> unnamed;
+
+    Generation(final Env<T> env) {
+      this.env = env;
+    }
+
+    /** Databases are opened one at a time, as LMDB requires of {@code mdb_dbi_open}. */
+    synchronized Dbi<T> dbi(final String name, final DbiFlags... flags) {
+      Dbi<T> dbi = name == null ? unnamed : named.get(name);
+      if (dbi == null) {
+        final DbiBuilder.Stage2<T> builder =
+            name == null ? env.createDbi().withoutDbName() : env.createDbi().setDbName(name);
+        dbi = builder.withDefaultComparator().setDbiFlags(flags).open();
+        if (name == null) {
+          unnamed = dbi;
+        } else {
+          named.put(name, dbi);
+        }
+      }
+      return dbi;
+    }
+
+    void release() {
+      if (references.decrementAndGet() == 0) {
+        env.close();
+      }
+    }
+
+    boolean retain() {
+      int count;
+      do {
+        count = references.get();
+        if (count == 0) {
+          return false;
+        }
+      } while (!references.compareAndSet(count, count + 1));
+      return true;
+    }
+  }
+
+  /**
+   * A reference to one version of the snapshot, which keeps its {@link Env} open until closed.
+   *
+   * @param <T> buffer type
+   */
+  public static final class Snapshot<T> implements AutoCloseable {
+
+    private boolean closed;
+    private final Generation<T> generation;
+
+    Snapshot(final Generation<T> generation) {
+      this.generation = generation;
+    }
+
+    /** Release this reference. Transactions of the snapshot must already be closed. */
+    @Override
+    public void close() {
+      if (!closed) {
+        closed = true;
+        generation.release();
+      }
+    }
+
+    /**
+     * Obtain a named database of the snapshot, opening it on first use.
+     *
+     * <p>Each database is opened once per snapshot version and shared by its {@link Snapshot}s, so
+     * the flags only apply when it is first opened.
+     *
+     * @param name the database name, or null for the unnamed database
+     * @param flags the flags the database was created with, which select its comparator
+     * @return the database (never null)
+     */
+    public Dbi<T> dbi(final String name, final DbiFlags... flags) {
+      check();
+      return generation.dbi(name, flags);
+    }
+
+    /**
+     * The environment of the snapshot.
+     *
+     * @return the environment (never null)
+     */
+    public Env<T> env() {
+      check();
+      return generation.env;
+    }
+
+    /**
+     * Obtain a read-only transaction on the snapshot.
+     *
+     * @return a transaction that must be closed before this snapshot (never null)
+     */
+    public Txn<T> txnRead() {
+      check();
+      return generation.env.txnRead();
+    }
+
+    private void check() {
+      if (closed) {
+        throw new IllegalStateException("Snapshot has been closed");
+      }
+    }
+  }
+}
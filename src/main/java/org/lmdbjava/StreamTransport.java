@@ -0,0 +1,93 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+/**
+ * {@link ChangeTransport} over a pair of byte streams, such as a pipe or socket.
+ *
+ * <p>Each batch is written as a 4 byte length followed by its contents. {@link #receive()} blocks
+ * until a batch arrives, returning null once the stream has ended. A batch that is not acknowledged
+ * is held in memory and returned again, so it survives a failure to apply it but not a restart.
+ * Either stream may be null if the transport is only used in one direction.
+ */
+public final class StreamTransport implements ChangeTransport {
+
+  private final DataInputStream in;
+  private final DataOutputStream out;
+  private byte[] received;
+
+  /**
+   * Create a transport over the passed streams.
+   *
+   * @param in stream to receive batches from (null if only sending)
+   * @param out stream to send batches to (null if only receiving)
+   */
+  public StreamTransport(final InputStream in, final OutputStream out) {
+    this.in = in == null ? null : new DataInputStream(new BufferedInputStream(in));
+    this.out = out == null ? null : new DataOutputStream(new BufferedOutputStream(out));
+  }
+
+  @Override
+  public void acknowledge() {
+    received = null;
+  }
+
+  @Override
+  public void close() throws IOException {
+    try {
+      if (in != null) {
+        in.close();
+      }
+    } finally {
+      if (out != null) {
+        out.close();
+      }
+    }
+  }
+
+  @Override
+  public byte[] receive() throws IOException {
+    if (received != null) {
+      return received;
+    }
+    final int length;
+    try {
+      length = in.readInt();
+    } catch (final EOFException e) {
+      return null;
+    }
+    final byte[] batch = new byte[length];
+    in.readFully(batch);
+    received = batch;
+    return batch;
+  }
+
+  @Override
+  public void send(final byte[] batch) throws IOException {
+    out.writeInt(batch.length);
+    out.write(batch);
+    out.flush();
+  }
+}
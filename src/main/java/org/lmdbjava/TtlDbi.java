@@ -0,0 +1,275 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+import static java.nio.ByteOrder.BIG_ENDIAN;
+import static java.util.Objects.requireNonNull;
+import static org.lmdbjava.GetOp.MDB_SET_KEY;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.function.LongSupplier;
+import jnr.ffi.Pointer;
+
+/**
+ * Key/value pairs that expire after a per-entry time to live.
+ *
+ * <p>Each value stored in the data {@link Dbi} is prefixed by an 8 byte big-endian expiry time in
+ * epoch milliseconds. A second, expiry-ordered {@link Dbi} holds one key per entry, formed from the
+ * expiry time followed by the data key, so expired entries can be located without scanning the
+ * data. Both databases must be dedicated to this class and must not use {@link
+ * DbiFlags#MDB_DUPSORT}.
+ *
+ * <p>Expired entries are hidden by {@link #get(Txn, Object)} and physically removed by {@link
+ * #sweep(int)}, which deletes a bounded number of entries per read-write transaction so the write
+ * lock is only held briefly.
+ *
+ * @param <T> buffer type
+ */
+public final class TtlDbi<T> {
+
+  private static final int HEADER = Long.BYTES;
+  private static final boolean NATIVE_BIG_ENDIAN = ByteOrder.nativeOrder() == BIG_ENDIAN;
+
+  private final LongSupplier clock;
+  private final Dbi<T> dbi;
+  private final T empty;
+  private final Env<T> env;
+  private final Dbi<T> expiry;
+  private final BufferProxy<T> proxy;
+
+  /**
+   * Create an instance that uses the system clock.
+   *
+   * @param dbi the database holding the entries (required)
+   * @param expiry the database holding the expiry index (required)
+   */
+  public TtlDbi(final Dbi<T> dbi, final Dbi<T> expiry) {
+    this(dbi, expiry, System::currentTimeMillis);
+  }
+
+  TtlDbi(final Dbi<T> dbi, final Dbi<T> expiry, final LongSupplier clock) {
+    requireNonNull(dbi);
+    requireNonNull(expiry);
+    requireNonNull(clock);
+    if (dbi == expiry) {
+      throw new IllegalArgumentException("Expiry index must be a separate database");
+    }
+    this.dbi = dbi;
+    this.expiry = expiry;
+    this.clock = clock;
+    this.env = dbi.env();
+    this.proxy = dbi.proxy();
+    this.empty = proxy.fromBytes(new byte[0]);
+  }
+
+  /**
+   * Delete the entry for a key, whether or not it has expired.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to delete from the database (not null)
+   * @return true if the key was present
+   */
+  public boolean delete(final Txn<T> txn, final T key) {
+    final byte[] keyBytes = proxy.getBytes(requireNonNull(key));
+    if (!deleteIndex(txn, key, keyBytes)) {
+      return false;
+    }
+    return dbi.delete(txn, key);
+  }
+
+  /**
+   * Get the value of a key that has not expired.
+   *
+   * <p>The returned buffer is a view of the value without its expiry header and follows the usual
+   * {@link Dbi#get(Txn, Object)} validity rules.
+   *
+   * @param txn transaction handle (not null; not committed)
+   * @param key key to search for in the database (not null)
+   * @return the data or null if not found or expired
+   */
+  public T get(final Txn<T> txn, final T key) {
+    final T val = dbi.get(txn, key);
+    if (val == null) {
+      return null;
+    }
+    final int size = txn.kv().valSize();
+    if (readExpiry(txn.kv()) <= clock.getAsLong()) {
+      return null;
+    }
+    return proxy.slice(val, HEADER, size - HEADER);
+  }
+
+  /**
+   * Starts a new read-write transaction and puts the key/data pair.
+   *
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   * @param ttl time to live (must be positive)
+   * @param unit unit of the time to live (not null)
+   * @see #put(Txn, Object, Object, long, TimeUnit)
+   */
+  public void put(final T key, final T val, final long ttl, final TimeUnit unit) {
+    try (Txn<T> txn = env.txnWrite()) {
+      put(txn, key, val, ttl, unit);
+      txn.commit();
+    }
+  }
+
+  /**
+   * Store a key/data pair that expires after the passed time to live, replacing any existing entry
+   * for the key.
+   *
+   * @param txn transaction handle (not null; not committed; must be R-W)
+   * @param key key to store in the database (not null)
+   * @param val value to store in the database (not null)
+   * @param ttl time to live (must be positive)
+   * @param unit unit of the time to live (not null)
+   */
+  public void put(final Txn<T> txn, final T key, final T val, final long ttl, final TimeUnit unit) {
+    requireNonNull(val);
+    requireNonNull(unit);
+    if (ttl <= 0) {
+      throw new IllegalArgumentException("Time to live must be positive");
+    }
+    final byte[] keyBytes = proxy.getBytes(requireNonNull(key));
+    final long expires = clock.getAsLong() + unit.toMillis(ttl);
+    deleteIndex(txn, key, keyBytes);
+
+    if (txn.hasWriteListeners()) {
+      // Listeners are passed the stored value, which a reservation does not provide
+      final byte[] valBytes = proxy.getBytes(val);
+      final ByteBuffer stored = ByteBuffer.allocate(HEADER + valBytes.length);
+      stored.putLong(expires).put(valBytes);
+      dbi.put(txn, key, proxy.fromBytes(stored.array()));
+    } else {
+      putReserved(txn, key, val, expires);
+    }
+    expiry.put(txn, proxy.fromBytes(indexKey(expires, keyBytes)), empty);
+  }
+
+  /** Copy the value from its buffer straight into the space reserved after the header. */
+  private void putReserved(final Txn<T> txn, final T key, final T val, final long expires) {
+    final KeyVal<T> kv = txn.kv();
+    final Pointer transientVal = kv.valIn(val);
+    final int size = kv.valSize();
+    final long source = kv.valAddress();
+    dbi.reserve(txn, key, HEADER + size);
+    kv.valWriteLong(0, bigEndian(expires));
+    kv.valWrite(HEADER, source, size);
+    ReferenceUtil.reachabilityFence0(transientVal);
+    ReferenceUtil.reachabilityFence0(val);
+  }
+
+  /**
+   * Schedule {@link #sweep(int)} to run periodically until all expired entries are deleted.
+   *
+   * <p>Each run commits one transaction per batch, releasing the write lock between batches. Cancel
+   * the returned future to stop sweeping.
+   *
+   * @param executor the executor to run the sweeper (not null)
+   * @param period the interval between runs (must be positive)
+   * @param unit unit of the interval (not null)
+   * @param batchSize maximum entries to delete per transaction (must be positive)
+   * @return the future representing the scheduled sweeper
+   */
+  public ScheduledFuture<?> scheduleSweeper(
+      final ScheduledExecutorService executor,
+      final long period,
+      final TimeUnit unit,
+      final int batchSize) {
+    requireNonNull(executor);
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive");
+    }
+    return executor.scheduleWithFixedDelay(
+        () -> {
+          while (sweep(batchSize) == batchSize) {
+            // continue until a partial batch shows nothing further has expired
+          }
+        },
+        period,
+        period,
+        unit);
+  }
+
+  /**
+   * Delete up to the passed number of expired entries in a single read-write transaction.
+   *
+   * <p>This method begins its own transaction and must not be called by a thread that holds a
+   * read-write transaction.
+   *
+   * @param batchSize maximum entries to delete (must be positive)
+   * @return the number of entries deleted
+   */
+  public int sweep(final int batchSize) {
+    if (batchSize <= 0) {
+      throw new IllegalArgumentException("Batch size must be positive");
+    }
+    final long now = clock.getAsLong();
+    int deleted = 0;
+    try (Txn<T> txn = env.txnWrite()) {
+      try (Cursor<T> index = expiry.openCursor(txn);
+          Cursor<T> data = dbi.openCursor(txn)) {
+        while (deleted < batchSize && index.first()) {
+          final byte[] indexKey = proxy.getBytes(index.key());
+          final long expires = ByteBuffer.wrap(indexKey).getLong();
+          if (expires > now) {
+            break;
+          }
+          final T key = proxy.fromBytes(Arrays.copyOfRange(indexKey, HEADER, indexKey.length));
+          if (data.get(key, MDB_SET_KEY) && readExpiry(data.keyVal()) == expires) {
+            data.delete();
+          }
+          index.delete();
+          deleted++;
+        }
+      }
+      txn.commit();
+    }
+    return deleted;
+  }
+
+  private boolean deleteIndex(final Txn<T> txn, final T key, final byte[] keyBytes) {
+    final T existing = dbi.get(txn, key);
+    if (existing == null) {
+      return false;
+    }
+    final long expires = readExpiry(txn.kv());
+    expiry.delete(txn, proxy.fromBytes(indexKey(expires, keyBytes)));
+    return true;
+  }
+
+  private static byte[] indexKey(final long expires, final byte[] key) {
+    final ByteBuffer indexKey = ByteBuffer.allocate(HEADER + key.length);
+    indexKey.putLong(expires).put(key);
+    return indexKey.array();
+  }
+
+  /** The expiry header of the value last read into the passed key/value holder. */
+  private static long readExpiry(final KeyVal<?> kv) {
+    return bigEndian(kv.valReadLong(0));
+  }
+
+  /** Converts between native and big-endian byte order, in either direction. */
+  private static long bigEndian(final long value) {
+    return NATIVE_BIG_ENDIAN ? value : Long.reverseBytes(value);
+  }
+}
@@ -27,6 +27,9 @@ import static org.lmdbjava.Txn.State.RELEASED;
 import static org.lmdbjava.Txn.State.RESET;
 import static org.lmdbjava.TxnFlags.MDB_RDONLY_TXN;
 
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
 import java.util.Objects;
 import jnr.ffi.Pointer;
 
@@ -37,12 +40,15 @@ import jnr.ffi.Pointer;
  */
 public final class Txn<T> implements AutoCloseable {
 
+  private Cursor<T> cursor;
   private final KeyVal<T> keyVal;
+  private final List<WriteListener<T>> listeners;
   private final Txn<T> parent;
   private final BufferProxy<T> proxy;
   private final Pointer ptr;
   private final boolean readOnly;
   private final Env<T> env;
+  private long id = -1;
   private State state;
 
   Txn(final Env<T> env, final Txn<T> parent, final BufferProxy<T> proxy, final TxnFlagSet flags) {
@@ -64,6 +70,12 @@ public final class Txn<T> implements AutoCloseable {
     final Pointer txnParentPtr = parent == null ? null : parent.ptr;
     checkRc(LIB.mdb_txn_begin(env.pointer(), txnParentPtr, flags.getMask(), txnPtr));
     ptr = txnPtr.getPointer(0);
+    if (this.readOnly || env.writeListeners().isEmpty()) {
+      listeners = Collections.emptyList();
+    } else {
+      // Snapshot so registrations during this transaction cannot affect it
+      listeners = new ArrayList<>(env.writeListeners());
+    }
 
     state = READY;
   }
@@ -74,12 +86,15 @@ public final class Txn<T> implements AutoCloseable {
       env.checkNotClosed();
     }
     checkReady();
+    closeCursor();
     state = DONE;
     LIB.mdb_txn_abort(ptr);
+    notifyAbort();
   }
 
   /**
-   * Closes this transaction by aborting if not already committed.
+   * Closes this transaction by aborting if not already committed, including a read-only transaction
+   * that was {@link #reset()} and not renewed.
    *
    * <p>Closing the transaction will invoke {@link BufferProxy#deallocate(java.lang.Object)} for
    * each read-only buffer (ie the key and value).
@@ -93,6 +108,12 @@ public final class Txn<T> implements AutoCloseable {
       return;
     }
     if (state == READY) {
+      closeCursor();
+      LIB.mdb_txn_abort(ptr);
+      notifyAbort();
+    } else if (state == RESET) {
+      // A reset handle still holds its native memory and, under MDB_NOTLS, its reader slot
+      closeCursor();
       LIB.mdb_txn_abort(ptr);
     }
     keyVal.close();
@@ -105,8 +126,25 @@ public final class Txn<T> implements AutoCloseable {
       env.checkNotClosed();
     }
     checkReady();
+    final boolean notify = parent == null && !listeners.isEmpty();
+    if (notify) {
+      for (final WriteListener<T> listener : listeners) {
+        listener.beforeCommit(this);
+      }
+    }
+    closeCursor();
     state = DONE;
-    checkRc(LIB.mdb_txn_commit(ptr));
+    final int rc = LIB.mdb_txn_commit(ptr);
+    if (notify) {
+      for (final WriteListener<T> listener : listeners) {
+        if (rc == 0) {
+          listener.afterCommit(this);
+        } else {
+          listener.afterAbort(this);
+        }
+      }
+    }
+    checkRc(rc);
   }
 
   /**
@@ -118,7 +156,11 @@ public final class Txn<T> implements AutoCloseable {
     if (SHOULD_CHECK) {
       env.checkNotClosed();
     }
-    return LIB.mdb_txn_id(ptr);
+    // The ID cannot change until a read-only transaction is reset, so avoid repeat native calls
+    if (id < 0) {
+      id = LIB.mdb_txn_id(ptr);
+    }
+    return id;
   }
 
   /**
@@ -160,6 +202,7 @@ public final class Txn<T> implements AutoCloseable {
       throw new NotResetException();
     }
     state = DONE;
+    id = -1;
     checkRc(LIB.mdb_txn_renew(ptr));
     state = READY;
   }
@@ -177,6 +220,7 @@ public final class Txn<T> implements AutoCloseable {
       throw new ResetException();
     }
     state = RESET;
+    id = -1;
     LIB.mdb_txn_reset(ptr);
   }
 
@@ -198,6 +242,38 @@ public final class Txn<T> implements AutoCloseable {
     }
   }
 
+  /**
+   * Take a cursor on the passed database for a single operation of {@link Dbi}, reusing the one
+   * returned by an earlier operation when it is on the same database.
+   *
+   * @param dbi the database
+   * @return a cursor to give back with {@link #giveBackCursor(Cursor)}
+   */
+  Cursor<T> takeCursor(final Dbi<T> dbi) {
+    final Cursor<T> taken = cursor;
+    if (taken != null && taken.dbi() == dbi) {
+      cursor = null;
+      return taken;
+    }
+    return dbi.openCursor(this);
+  }
+
+  /**
+   * Keep a cursor from {@link #takeCursor(Dbi)} for the next operation. It is closed when this
+   * transaction ends, or when a cursor on another database replaces it.
+   *
+   * @param given the cursor
+   */
+  void giveBackCursor(final Cursor<T> given) {
+    if (state != READY) {
+      return;
+    }
+    if (cursor != null) {
+      cursor.close();
+    }
+    cursor = given;
+  }
+
   void checkReady() {
     if (state != READY) {
       throw new NotReadyException();
@@ -223,6 +299,75 @@ public final class Txn<T> implements AutoCloseable {
     return keyVal;
   }
 
+  Env<T> env() {
+    return env;
+  }
+
+  void notifyBeforePut(final Dbi<T> dbi, final T key) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).beforePut(this, dbi, key);
+    }
+  }
+
+  void notifyPut(final Dbi<T> dbi, final T key, final T val) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).afterPut(this, dbi, key, val);
+    }
+  }
+
+  void notifyPutMultiple(
+      final Dbi<T> dbi, final T key, final T val, final int size, final int elements) {
+    if (listeners.isEmpty()) {
+      return;
+    }
+    final BufferProxy<T> proxy = dbi.proxy();
+    for (int e = 0; e < elements; e++) {
+      final T element = proxy.slice(val, e * size, size);
+      for (int i = 0; i < listeners.size(); i++) {
+        listeners.get(i).afterPut(this, dbi, key, element);
+      }
+    }
+  }
+
+  void notifyReserve(final Dbi<T> dbi, final T key, final T reserved) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).afterReserve(this, dbi, key, reserved);
+    }
+  }
+
+  void notifyDelete(final Dbi<T> dbi, final T key, final T val) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).beforeDelete(this, dbi, key, val);
+    }
+  }
+
+  void notifyDrop(final Dbi<T> dbi) {
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).beforeDrop(this, dbi);
+    }
+  }
+
+  private void closeCursor() {
+    if (cursor != null) {
+      final Cursor<T> closing = cursor;
+      cursor = null;
+      closing.close();
+    }
+  }
+
+  private void notifyAbort() {
+    if (parent != null) {
+      return;
+    }
+    for (int i = 0; i < listeners.size(); i++) {
+      listeners.get(i).afterAbort(this);
+    }
+  }
+
+  boolean hasWriteListeners() {
+    return !listeners.isEmpty();
+  }
+
   KeyVal<T> newKeyVal() {
     return proxy.keyVal();
   }
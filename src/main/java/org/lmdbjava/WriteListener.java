@@ -0,0 +1,108 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+package org.lmdbjava;
+
+/**
+ * Receives notification of mutations made through a read-write {@link Txn}.
+ *
+ * <p>Listeners are registered with {@link Env#addWriteListener(WriteListener)} and are captured by
+ * each read-write {@link Txn} when it begins. Notifications are delivered on the thread using the
+ * transaction. The passed buffers are only valid for the duration of the callback. A listener that
+ * needs to access the database from a callback must use its own {@link Cursor}, as the {@link Dbi}
+ * methods share buffers with the operation being reported.
+ *
+ * <p>Nested transactions notify with the child {@link Txn}. Only a top-level transaction invokes
+ * {@link #beforeCommit(Txn)}, {@link #afterCommit(Txn)} and {@link #afterAbort(Txn)}.
+ *
+ * @param <T> buffer type
+ */
+interface WriteListener<T> {
+
+  /**
+   * A key/data pair is about to be stored. The store may still fail or be rejected by {@link
+   * PutFlags#MDB_NOOVERWRITE} or {@link PutFlags#MDB_NODUPDATA}, in which case {@link
+   * #afterPut(Txn, Dbi, Object, Object)} is not invoked.
+   *
+   * @param txn the transaction storing the pair
+   * @param dbi the database being modified
+   * @param key the key to store
+   */
+  default void beforePut(final Txn<T> txn, final Dbi<T> dbi, final T key) {}
+
+  /**
+   * A key/data pair was stored.
+   *
+   * @param txn the transaction that stored the pair
+   * @param dbi the database modified
+   * @param key the key stored
+   * @param val the value stored (for {@link Cursor#putMultiple(Object, Object, int)} this is called
+   *     once per element)
+   */
+  default void afterPut(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {}
+
+  /**
+   * Space for a value was reserved. The contents are not written until after this call returns.
+   *
+   * <p>By default this calls {@link #afterPut(Txn, Dbi, Object, Object)}.
+   *
+   * @param txn the transaction that stored the pair
+   * @param dbi the database modified
+   * @param key the key stored
+   * @param reserved the reserved space
+   */
+  default void afterReserve(final Txn<T> txn, final Dbi<T> dbi, final T key, final T reserved) {
+    afterPut(txn, dbi, key, reserved);
+  }
+
+  /**
+   * A key/data pair is about to be deleted.
+   *
+   * @param txn the transaction deleting the pair
+   * @param dbi the database being modified
+   * @param key the key to delete
+   * @param val the specific duplicate to delete, or null for all values of the key
+   */
+  default void beforeDelete(final Txn<T> txn, final Dbi<T> dbi, final T key, final T val) {}
+
+  /**
+   * All data in the database is about to be dropped.
+   *
+   * @param txn the transaction dropping the data
+   * @param dbi the database being dropped
+   */
+  default void beforeDrop(final Txn<T> txn, final Dbi<T> dbi) {}
+
+  /**
+   * The top-level transaction is about to commit. The transaction remains usable for writes.
+   *
+   * @param txn the transaction
+   */
+  default void beforeCommit(final Txn<T> txn) {}
+
+  /**
+   * The top-level transaction committed successfully.
+   *
+   * @param txn the transaction
+   */
+  default void afterCommit(final Txn<T> txn) {}
+
+  /**
+   * The top-level transaction was aborted or failed to commit.
+   *
+   * @param txn the transaction
+   */
+  default void afterAbort(final Txn<T> txn) {}
+}
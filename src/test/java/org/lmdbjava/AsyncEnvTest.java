@@ -0,0 +1,133 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.EnvFlags.MDB_NOTLS;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link AsyncEnv} and {@link AsyncDbi}. */
+public final class AsyncEnvTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+  private AsyncEnv<ByteBuffer> async;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR, MDB_NOTLS)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    async = new AsyncEnv<>(env, 2);
+  }
+
+  @AfterEach
+  void afterEach() {
+    async.close();
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void putGetDelete() throws Exception {
+    final AsyncDbi<ByteBuffer> adb = async.dbi(db);
+    adb.put(bb(1), bb(10)).get();
+    assertThat(adb.get(bb(1)).get().getInt(0)).isEqualTo(10);
+    assertThat(adb.get(bb(2)).get()).isNull();
+    assertThat(adb.delete(bb(1)).get()).isTrue();
+    assertThat(adb.get(bb(1)).get()).isNull();
+  }
+
+  @Test
+  void readsReuseTransactionsAndSeeCommits() throws Exception {
+    final AsyncDbi<ByteBuffer> adb = async.dbi(db);
+    final List<CompletableFuture<Void>> writes = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      writes.add(adb.put(bb(i), bb(i * 10)));
+    }
+    CompletableFuture.allOf(writes.toArray(new CompletableFuture<?>[0])).get();
+    final List<CompletableFuture<ByteBuffer>> reads = new ArrayList<>();
+    for (int i = 0; i < 50; i++) {
+      reads.add(adb.get(bb(i)));
+    }
+    for (int i = 0; i < 50; i++) {
+      assertThat(reads.get(i).get().getInt(0)).isEqualTo(i * 10);
+    }
+    // only the pool threads ever held readers
+    assertThat(env.info().numReaders).isLessThanOrEqualTo(2);
+  }
+
+  @Test
+  void failedWriteAborts() {
+    final CompletableFuture<Object> write =
+        async.write(
+            txn -> {
+              db.put(txn, bb(1), bb(10));
+              throw new IllegalStateException("fail");
+            });
+    assertThatThrownBy(write::get)
+        .isInstanceOf(ExecutionException.class)
+        .hasCauseInstanceOf(IllegalStateException.class);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(db.get(txn, bb(1))).isNull();
+    }
+  }
+
+  @Test
+  void readFunction() throws Exception {
+    db.put(bb(1), bb(10));
+    db.put(bb(2), bb(20));
+    final long count = async.read(txn -> db.stat(txn).entries).get();
+    assertThat(count).isEqualTo(2);
+  }
+
+  @Test
+  void closeReleasesReaderSlots() throws Exception {
+    db.put(bb(1), bb(10));
+    for (int i = 0; i < 10; i++) {
+      try (AsyncEnv<ByteBuffer> other = new AsyncEnv<>(env, 1)) {
+        assertThat(other.dbi(db).get(bb(1)).get().getInt(0)).isEqualTo(10);
+      }
+    }
+  }
+
+  @Test
+  void readThreadsMustBePositive() {
+    assertThatThrownBy(() -> new AsyncEnv<>(env, 0)).isInstanceOf(IllegalArgumentException.class);
+  }
+}
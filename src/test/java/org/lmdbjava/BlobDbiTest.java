@@ -0,0 +1,163 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.ByteArrayProxy.PROXY_BA;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ReadableByteChannel;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link BlobDbi}. */
+public final class BlobDbiTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private BlobDbi<ByteBuffer> blobs;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(32, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    final Dbi<ByteBuffer> db =
+        env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    blobs = new BlobDbi<>(db, 1_000_000);
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void streamsAcrossChunks() throws IOException {
+    final byte[] content = random(2_500_000);
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      blobs.put(txn, bb(1), new ByteArrayInputStream(content), content.length);
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(blobs.size(txn, bb(1))).isEqualTo(content.length);
+      try (InputStream in = blobs.openStream(txn, bb(1))) {
+        assertThat(readAll(in)).isEqualTo(content);
+      }
+      assertThat(blobs.open(txn, bb(2))).isNull();
+      assertThat(blobs.openStream(txn, bb(2))).isNull();
+      assertThat(blobs.size(txn, bb(2))).isEqualTo(-1L);
+    }
+  }
+
+  @Test
+  void replaceShorterAndDelete() throws IOException {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      final byte[] longer = random(1_500_000);
+      blobs.put(txn, bb(1), new ByteArrayInputStream(longer), longer.length);
+      final byte[] shorter = random(10);
+      blobs.put(txn, bb(1), Channels.newChannel(new ByteArrayInputStream(shorter)), 10);
+      assertThat(blobs.size(txn, bb(1))).isEqualTo(10L);
+      assertThat(readAll(Channels.newInputStream(blobs.open(txn, bb(1))))).isEqualTo(shorter);
+
+      blobs.put(txn, bb(2), new ByteArrayInputStream(new byte[0]), 0);
+      assertThat(blobs.size(txn, bb(2))).isZero();
+      assertThat(readAll(blobs.openStream(txn, bb(2)))).isEmpty();
+
+      assertThat(blobs.delete(txn, bb(1))).isTrue();
+      assertThat(blobs.delete(txn, bb(1))).isFalse();
+      assertThat(blobs.size(txn, bb(1))).isEqualTo(-1L);
+    }
+  }
+
+  @Test
+  void shortSourceRejected() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThatThrownBy(() -> blobs.put(txn, bb(1), new ByteArrayInputStream(new byte[5]), 6))
+          .isInstanceOf(EOFException.class);
+    }
+  }
+
+  @Test
+  void closedChannelRejectsReads() throws IOException {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      blobs.put(txn, bb(1), new ByteArrayInputStream(new byte[5]), 5);
+      final ReadableByteChannel channel = blobs.open(txn, bb(1));
+      assertThat(channel.read(ByteBuffer.allocate(3))).isEqualTo(3);
+      channel.close();
+      assertThat(channel.isOpen()).isFalse();
+      assertThatThrownBy(() -> channel.read(ByteBuffer.allocate(3)))
+          .isInstanceOf(ClosedChannelException.class);
+    }
+  }
+
+  @Test
+  void byteArrayProxy() throws IOException {
+    try (Env<byte[]> envBa =
+        create(PROXY_BA)
+            .setMapSize(8, ByteUnit.MEBIBYTES)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      final Dbi<byte[]> db =
+          envBa.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      final BlobDbi<byte[]> blobsBa = new BlobDbi<>(db, 100);
+      final byte[] content = random(1_000);
+      try (Txn<byte[]> txn = envBa.txnWrite()) {
+        blobsBa.put(txn, new byte[] {1}, new ByteArrayInputStream(content), content.length);
+        assertThat(readAll(blobsBa.openStream(txn, new byte[] {1}))).isEqualTo(content);
+      }
+    }
+  }
+
+  private static byte[] random(final int size) {
+    final byte[] bytes = new byte[size];
+    new Random(size).nextBytes(bytes);
+    return bytes;
+  }
+
+  private static byte[] readAll(final InputStream in) throws IOException {
+    final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    final byte[] buf = new byte[8_192];
+    int n;
+    while ((n = in.read(buf)) >= 0) {
+      out.write(buf, 0, n);
+    }
+    return out.toByteArray();
+  }
+}
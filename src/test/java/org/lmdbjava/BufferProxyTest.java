@@ -0,0 +1,170 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.ByteArrayProxy.PROXY_BA;
+import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPFIXED;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.PutFlags.MDB_MULTIPLE;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import jnr.ffi.Pointer;
+import org.junit.jupiter.api.Test;
+
+/** Test the default methods of {@link BufferProxy}. */
+public final class BufferProxyTest {
+
+  @Test
+  void fromBytesCopiesForCopyingProxies() {
+    final BufferProxy<byte[]> proxy = new Delegating<>(PROXY_BA);
+    final byte[] bytes = {1, 2, 3};
+    final byte[] copy = proxy.fromBytes(bytes);
+    assertThat(copy).containsExactly(1, 2, 3).isNotSameAs(bytes);
+    assertThat(proxy.fromBytes(new byte[0])).isEmpty();
+  }
+
+  @Test
+  void fromBytesNeedsOverrideForViews() {
+    final BufferProxy<ByteBuffer> proxy = new Delegating<>(PROXY_OPTIMAL);
+    assertThatThrownBy(() -> proxy.fromBytes(new byte[] {1}))
+        .isInstanceOf(UnsupportedOperationException.class);
+  }
+
+  @Test
+  void sliceViewsBuffer() {
+    final BufferProxy<ByteBuffer> proxy = new Delegating<>(PROXY_OPTIMAL);
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(8);
+    buffer.putInt(0, 1).putInt(4, 2);
+    buffer.position(2);
+    final ByteBuffer slice = proxy.slice(buffer, 2, 4);
+    assertThat(slice.remaining()).isEqualTo(4);
+    assertThat(slice.getInt(0)).isEqualTo(2);
+    buffer.putInt(4, 3);
+    assertThat(slice.getInt(0)).isEqualTo(3);
+    assertThatThrownBy(() -> proxy.slice(buffer, 4, 4))
+        .isInstanceOf(IndexOutOfBoundsException.class);
+  }
+
+  @Test
+  void sliceCopiesForCopyingProxies() {
+    final BufferProxy<byte[]> proxy = new Delegating<>(PROXY_BA);
+    assertThat(proxy.slice(new byte[] {1, 2, 3, 4}, 1, 2)).containsExactly(2, 3);
+  }
+
+  @Test
+  void putMultipleNotifiesWithDefaultSlice() {
+    final TempDir tempDir = new TempDir();
+    try (Env<ByteBuffer> env =
+        create(new Delegating<>(PROXY_OPTIMAL))
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      final Dbi<ByteBuffer> db =
+          env.createDbi()
+              .setDbName(DB_1)
+              .withDefaultComparator()
+              .setDbiFlags(MDB_CREATE, MDB_DUPSORT, MDB_DUPFIXED)
+              .open();
+      final List<Integer> seen = new ArrayList<>();
+      final WriteListener<ByteBuffer> listener =
+          new WriteListener<ByteBuffer>() {
+            @Override
+            public void afterPut(
+                final Txn<ByteBuffer> txn,
+                final Dbi<ByteBuffer> dbi,
+                final ByteBuffer key,
+                final ByteBuffer val) {
+              seen.add(val.getInt(0));
+            }
+          };
+      env.addWriteListener(listener);
+      final ByteBuffer values = ByteBuffer.allocateDirect(12);
+      values.putInt(0, 1).putInt(4, 2).putInt(8, 3);
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+          c.putMultiple(bb(1), values, 3, MDB_MULTIPLE);
+        }
+        txn.commit();
+      }
+      assertThat(seen).containsExactly(1, 2, 3);
+    } finally {
+      tempDir.cleanup();
+    }
+  }
+
+  /** A proxy implementing only the abstract methods, as a third-party proxy might. */
+  private static final class Delegating<T> extends BufferProxy<T> {
+
+    private final BufferProxy<T> delegate;
+
+    Delegating(final BufferProxy<T> delegate) {
+      this.delegate = delegate;
+    }
+
+    @Override
+    protected T allocate() {
+      return delegate.allocate();
+    }
+
+    @Override
+    protected void deallocate(final T buff) {
+      delegate.deallocate(buff);
+    }
+
+    @Override
+    protected byte[] getBytes(final T buffer) {
+      return delegate.getBytes(buffer);
+    }
+
+    @Override
+    public Comparator<T> getComparator(final DbiFlagSet dbiFlagSet) {
+      return delegate.getComparator(dbiFlagSet);
+    }
+
+    @Override
+    protected Pointer in(final T buffer, final Pointer ptr) {
+      return delegate.in(buffer, ptr);
+    }
+
+    @Override
+    protected Pointer in(final T buffer, final int size, final Pointer ptr) {
+      return delegate.in(buffer, size, ptr);
+    }
+
+    @Override
+    protected T out(final T buffer, final Pointer ptr) {
+      return delegate.out(buffer, ptr);
+    }
+
+    @Override
+    protected boolean outIsView() {
+      return delegate.outIsView();
+    }
+  }
+}
@@ -0,0 +1,182 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link ChangeLog}. */
+public final class ChangeLogTest {
+
+  private Dbi<ByteBuffer> db;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> logDb;
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    logDb = env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void recordsCommittedChangesInOrder() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      db.put(bb(1), bb(10));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.put(txn, bb(2), bb(20));
+        db.delete(txn, bb(1));
+        txn.commit();
+      }
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.drop(txn);
+        txn.commit();
+      }
+      final List<String> changes = readAll(log, 0);
+      assertThat(changes)
+          .containsExactly("PUT 1=10", "PUT 2=20", "DELETE 1=null", "DROP null=null");
+    }
+  }
+
+  @Test
+  void abortedChangesNotRecorded() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.put(txn, bb(1), bb(10));
+        try (Txn<ByteBuffer> child = env.txn(txn)) {
+          db.put(child, bb(2), bb(20));
+          child.abort();
+        }
+        txn.commit();
+      }
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.put(txn, bb(3), bb(30));
+        txn.abort();
+      }
+      assertThat(readAll(log, 0)).containsExactly("PUT 1=10");
+    }
+  }
+
+  @Test
+  void reservationsRecordWrittenValue() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.reserve(txn, bb(1), Integer.BYTES).putInt(0, 10);
+        txn.commit();
+      }
+      assertThat(readAll(log, 0)).containsExactly("PUT 1=10");
+    }
+  }
+
+  @Test
+  void cursorDeleteAfterPutRecordsKey() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      db.put(bb(1), bb(10));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+          c.put(bb(2), bb(20));
+          c.delete();
+        }
+        txn.commit();
+      }
+      assertThat(readAll(log, 0)).containsExactly("PUT 1=10", "PUT 2=20", "DELETE 2=20");
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        assertThat(db.get(txn, bb(1))).isNotNull();
+        assertThat(db.get(txn, bb(2))).isNull();
+      }
+    }
+  }
+
+  @Test
+  void missingKeyDeleteNotRecorded() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      db.put(bb(1), bb(10));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        assertThat(db.delete(txn, bb(2))).isFalse();
+        assertThat(db.delete(txn, bb(1))).isTrue();
+        assertThat(db.delete(txn, bb(1))).isFalse();
+        txn.commit();
+      }
+      assertThat(readAll(log, 0)).containsExactly("PUT 1=10", "DELETE 1=null");
+    }
+  }
+
+  @Test
+  void tailsFromTxnIdAndTruncates() {
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      db.put(bb(1), bb(10));
+      long next;
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        next = log.read(txn, 0, c -> {});
+      }
+      db.put(bb(2), bb(20));
+      db.put(bb(3), bb(30));
+      assertThat(readAll(log, next)).containsExactly("PUT 2=20", "PUT 3=30");
+
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        assertThat(log.truncate(txn, next)).isEqualTo(1);
+        txn.commit();
+      }
+      assertThat(readAll(log, 0)).containsExactly("PUT 2=20", "PUT 3=30");
+    }
+  }
+
+  private List<String> readAll(final ChangeLog<ByteBuffer> log, final long from) {
+    final List<String> changes = new ArrayList<>();
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      log.read(
+          txn,
+          from,
+          c -> {
+            assertThat(new String(c.name(), UTF_8)).isEqualTo(DB_1);
+            changes.add(c.op() + " " + toInt(c.key()) + "=" + toInt(c.val()));
+          });
+    }
+    return changes;
+  }
+
+  private static Integer toInt(final ByteBuffer buffer) {
+    return buffer == null ? null : buffer.getInt(0);
+  }
+}
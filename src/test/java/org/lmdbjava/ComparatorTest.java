@@ -18,6 +18,7 @@ package org.lmdbjava;
 
 import static io.netty.buffer.PooledByteBufAllocator.DEFAULT;
 import static java.nio.charset.StandardCharsets.US_ASCII;
+import static java.util.Arrays.asList;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.lmdbjava.ByteArrayProxy.PROXY_BA;
 import static org.lmdbjava.ByteBufProxy.PROXY_NETTY;
@@ -25,17 +26,33 @@ import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
 import static org.lmdbjava.ComparatorResult.EQUAL_TO;
 import static org.lmdbjava.ComparatorResult.GREATER_THAN;
 import static org.lmdbjava.ComparatorResult.LESS_THAN;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERDUP;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEDUP;
+import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.DirectBufferProxy.PROXY_DB;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
 
 import com.google.common.primitives.SignedBytes;
 import com.google.common.primitives.UnsignedBytes;
 import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
 import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.function.Function;
 import java.util.stream.Stream;
 import org.agrona.DirectBuffer;
 import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtensionContext;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
@@ -134,6 +151,115 @@ public final class ComparatorTest {
     assertThat(TestUtils.compare(comparator, LLLLLLLX, LLLLLLLX)).isEqualTo(EQUAL_TO);
   }
 
+  @Test
+  void dupComparatorsMatchLmdbOrder() {
+    final Random random = new Random(7);
+    for (final DbiFlagSet flags :
+        asList(
+            DbiFlagSet.of(MDB_DUPSORT),
+            DbiFlagSet.of(MDB_DUPSORT, MDB_REVERSEDUP),
+            DbiFlagSet.of(MDB_DUPSORT, MDB_INTEGERDUP))) {
+      final List<byte[]> values = new ArrayList<>();
+      for (int i = 0; i < 300; i++) {
+        values.add(
+            flags.isSet(MDB_INTEGERDUP)
+                ? ByteBuffer.allocate(Integer.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .putInt(random.nextInt())
+                    .array()
+                : randomBytes(random));
+      }
+      final List<byte[]> lmdbOrder = lmdbOrder(flags, values, true);
+      assertProxyOrder(lmdbOrder, proxy -> proxy.getDupComparator(flags));
+    }
+  }
+
+  @Test
+  void keyComparatorsMatchLmdbOrder() {
+    final Random random = new Random(3);
+    for (final DbiFlagSet flags :
+        asList(DbiFlagSet.empty(), DbiFlagSet.of(MDB_REVERSEKEY), DbiFlagSet.of(MDB_INTEGERKEY))) {
+      final List<byte[]> keys = new ArrayList<>();
+      for (int i = 0; i < 300; i++) {
+        keys.add(
+            flags.isSet(MDB_INTEGERKEY)
+                ? ByteBuffer.allocate(Long.BYTES)
+                    .order(ByteOrder.nativeOrder())
+                    .putLong(random.nextLong())
+                    .array()
+                : randomBytes(random));
+      }
+      final List<byte[]> lmdbOrder = lmdbOrder(flags, keys, false);
+      assertProxyOrder(lmdbOrder, proxy -> proxy.getComparator(flags));
+    }
+  }
+
+  private static void assertProxyOrder(
+      final List<byte[]> expected, final Function<BufferProxy<?>, Comparator<?>> comparators) {
+    assertSorted(expected, comparators.apply(PROXY_BA), b -> b);
+    assertSorted(expected, comparators.apply(PROXY_OPTIMAL), ByteBuffer::wrap);
+    assertSorted(expected, comparators.apply(PROXY_DB), UnsafeBuffer::new);
+    assertSorted(expected, comparators.apply(PROXY_NETTY), Unpooled::wrappedBuffer);
+  }
+
+  @SuppressWarnings("unchecked")
+  private static <T> void assertSorted(
+      final List<byte[]> expected,
+      final Comparator<?> comparator,
+      final Function<byte[], T> wrapper) {
+    final List<byte[]> shuffled = new ArrayList<>(expected);
+    Collections.shuffle(shuffled, new Random(11));
+    final Comparator<T> c = (Comparator<T>) comparator;
+    shuffled.sort((a, b) -> c.compare(wrapper.apply(a), wrapper.apply(b)));
+    assertThat(shuffled).containsExactlyElementsOf(expected);
+  }
+
+  private static List<byte[]> lmdbOrder(
+      final DbiFlagSet flags, final List<byte[]> items, final boolean dups) {
+    final List<byte[]> ordered = new ArrayList<>();
+    try (TempDir tempDir = new TempDir();
+        Env<byte[]> env =
+            Env.create(PROXY_BA)
+                .setMapSize(10, ByteUnit.MEBIBYTES)
+                .setMaxDbs(1)
+                .setEnvFlags(MDB_NOSUBDIR)
+                .open(tempDir.createTempFile())) {
+      final Dbi<byte[]> db =
+          env.createDbi()
+              .setDbName(DB_1)
+              .withNativeComparator()
+              .setDbiFlags(flags)
+              .addDbiFlag(MDB_CREATE)
+              .open();
+      try (Txn<byte[]> txn = env.txnWrite()) {
+        for (final byte[] item : items) {
+          if (dups) {
+            db.put(txn, buffer(1), item);
+          } else {
+            db.put(txn, item, buffer(1));
+          }
+        }
+        txn.commit();
+      }
+      try (Txn<byte[]> txn = env.txnRead();
+          CursorIterable<byte[]> c = db.iterate(txn)) {
+        for (final CursorIterable.KeyVal<byte[]> kv : c) {
+          ordered.add(dups ? kv.val() : kv.key());
+        }
+      }
+    }
+    return ordered;
+  }
+
+  private static byte[] randomBytes(final Random random) {
+    // Short lengths over few values give many shared prefixes and suffixes
+    final byte[] bytes = new byte[1 + random.nextInt(12)];
+    for (int i = 0; i < bytes.length; i++) {
+      bytes[i] = (byte) (random.nextInt(4) * 85);
+    }
+    return bytes;
+  }
+
   /** Tests {@link ByteArrayProxy}. */
   private static final class ByteArrayRunner implements ComparatorRunner {
 
@@ -0,0 +1,236 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.ByteArrayProxy.PROXY_BA;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.ba;
+
+import java.util.Arrays;
+import java.util.Random;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+/** Test {@link CompressedDbi}. */
+public final class CompressedDbiTest {
+
+  private Dbi<byte[]> db;
+  private Dbi<byte[]> dictionaries;
+  private Env<byte[]> env;
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create(PROXY_BA)
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    dictionaries =
+        env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"DEFLATE", "LZ4"})
+  void roundTrip(final String name) {
+    final CompressedDbi<byte[]> c = new CompressedDbi<>(db, codec(name));
+    final byte[] json = (json(1) + json(2) + json(3)).getBytes(UTF_8);
+    final byte[] small = "tiny".getBytes(UTF_8);
+    final byte[] random = new byte[500];
+    new Random(1).nextBytes(random);
+    final byte[] repetitive = new byte[100_000];
+    Arrays.fill(repetitive, (byte) 'a');
+    try (Txn<byte[]> txn = env.txnWrite()) {
+      c.put(txn, ba(1), json);
+      c.put(txn, ba(2), small);
+      c.put(txn, ba(3), random);
+      c.put(txn, ba(4), repetitive);
+      c.put(txn, ba(5), new byte[0]);
+      txn.commit();
+    }
+    try (Txn<byte[]> txn = env.txnRead()) {
+      assertThat(c.get(txn, ba(1))).isEqualTo(json);
+      assertThat(c.get(txn, ba(2))).isEqualTo(small);
+      assertThat(c.get(txn, ba(3))).isEqualTo(random);
+      assertThat(c.get(txn, ba(4))).isEqualTo(repetitive);
+      assertThat(c.get(txn, ba(5))).isEmpty();
+      assertThat(c.get(txn, ba(6))).isNull();
+      assertThat(db.get(txn, ba(1)).length).isLessThan(json.length);
+      assertThat(db.get(txn, ba(2)).length).isEqualTo(small.length + 1);
+      assertThat(db.get(txn, ba(3)).length).isEqualTo(random.length + 1);
+      assertThat(db.get(txn, ba(4)).length).isLessThan(repetitive.length / 50);
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"DEFLATE", "LZ4"})
+  void trainedDictionaryShrinksValues(final String name) {
+    final CompressedDbi<byte[]> c = new CompressedDbi<>(db, dictionaries, codec(name));
+    try (Txn<byte[]> txn = env.txnWrite()) {
+      for (int i = 0; i < 200; i++) {
+        c.put(txn, ba(i), json(i).getBytes(UTF_8));
+      }
+      txn.commit();
+    }
+    final int before;
+    try (Txn<byte[]> txn = env.txnRead()) {
+      before = db.get(txn, ba(7)).length;
+    }
+    assertThat(c.train(100, 4_096)).isEqualTo(1);
+    try (Txn<byte[]> txn = env.txnWrite()) {
+      c.put(txn, ba(7), json(7).getBytes(UTF_8));
+      txn.commit();
+    }
+    assertThat(c.train(100, 4_096)).isEqualTo(2);
+
+    // A new instance finds the dictionaries, including the one an older value used
+    final CompressedDbi<byte[]> reopened = new CompressedDbi<>(db, dictionaries, codec(name));
+    try (Txn<byte[]> txn = env.txnRead()) {
+      assertThat(db.get(txn, ba(7)).length).isLessThan(before / 2);
+      for (int i = 0; i < 200; i++) {
+        assertThat(new String(reopened.get(txn, ba(i)), UTF_8)).isEqualTo(json(i));
+      }
+    }
+    try (Txn<byte[]> txn = env.txnWrite()) {
+      reopened.put(txn, ba(8), json(8).getBytes(UTF_8));
+      assertThat(db.get(txn, ba(8))[4]).isEqualTo((byte) 2);
+      assertThat(reopened.delete(txn, ba(8))).isTrue();
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"DEFLATE", "LZ4"})
+  void codecRoundTrip(final String name) {
+    final CompressionCodec codec = codec(name);
+    final Random random = new Random(42);
+    final byte[] dictionary = json(99).getBytes(UTF_8);
+    for (int n = 0; n < 200; n++) {
+      // Runs of repeated and random content of varying lengths
+      final byte[] value = new byte[random.nextInt(5_000)];
+      int i = 0;
+      while (i < value.length) {
+        final int run = Math.min(value.length - i, 1 + random.nextInt(300));
+        if (random.nextBoolean()) {
+          Arrays.fill(value, i, i + run, (byte) random.nextInt(4));
+        } else {
+          for (int j = i; j < i + run; j++) {
+            value[j] = (byte) random.nextInt(256);
+          }
+        }
+        i += run;
+      }
+      for (final byte[] dict : new byte[][] {null, dictionary}) {
+        final byte[] compressed = new byte[value.length];
+        final int length = codec.compress(value, value.length, dict, compressed);
+        if (length < 0) {
+          continue;
+        }
+        assertThat(length).isLessThan(value.length);
+        final byte[] out = new byte[value.length];
+        codec.decompress(compressed, 0, length, dict, out, value.length);
+        assertThat(out).isEqualTo(value);
+      }
+    }
+  }
+
+  @ParameterizedTest
+  @ValueSource(strings = {"DEFLATE", "LZ4"})
+  void valuesReadWithStoredCodec(final String name) {
+    final CompressedDbi<byte[]> c = new CompressedDbi<>(db, codec(name));
+    final CompressedDbi<byte[]> other =
+        new CompressedDbi<>(
+            db,
+            codec(name) == CompressionCodec.LZ4 ? CompressionCodec.DEFLATE : CompressionCodec.LZ4);
+    final CompressionCodec custom = renumbered(codec(name), (byte) 99);
+    final CompressedDbi<byte[]> written = new CompressedDbi<>(db, custom);
+    final CompressedDbi<byte[]> decoding = new CompressedDbi<>(db, null, codec(name), custom);
+    final byte[] value = (json(1) + json(2)).getBytes(UTF_8);
+    try (Txn<byte[]> txn = env.txnWrite()) {
+      c.put(txn, ba(1), value);
+      assertThat(other.get(txn, ba(1))).isEqualTo(value);
+      written.put(txn, ba(2), value);
+      assertThat(decoding.get(txn, ba(2))).isEqualTo(value);
+      assertThatThrownBy(() -> c.get(txn, ba(2))).isInstanceOf(IllegalStateException.class);
+    }
+    assertThatThrownBy(() -> c.train(1, 1)).isInstanceOf(IllegalStateException.class);
+    assertThatThrownBy(() -> new CompressedDbi<>(db, renumbered(custom, (byte) 0)))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static CompressionCodec renumbered(final CompressionCodec codec, final byte id) {
+    return new CompressionCodec() {
+      @Override
+      public int compress(
+          final byte[] src, final int length, final byte[] dictionary, final byte[] dst) {
+        return codec.compress(src, length, dictionary, dst);
+      }
+
+      @Override
+      public void decompress(
+          final byte[] src,
+          final int offset,
+          final int length,
+          final byte[] dictionary,
+          final byte[] dst,
+          final int dstLength) {
+        codec.decompress(src, offset, length, dictionary, dst, dstLength);
+      }
+
+      @Override
+      public byte id() {
+        return id;
+      }
+    };
+  }
+
+  private static CompressionCodec codec(final String name) {
+    return "LZ4".equals(name) ? CompressionCodec.LZ4 : CompressionCodec.DEFLATE;
+  }
+
+  private static String json(final int i) {
+    return "{\"id\":"
+        + i
+        + ",\"type\":\"order\",\"status\":\"SHIPPED\",\"customer\":{\"name\":\"Customer "
+        + (i * 7919 % 1000)
+        + "\",\"country\":\"AU\",\"tier\":\"gold\"},\"items\":[{\"sku\":\"SKU-"
+        + (i % 17)
+        + "\",\"quantity\":"
+        + (i % 5 + 1)
+        + ",\"currency\":\"AUD\"}],\"created\":\"2026-10-"
+        + (10 + i % 9)
+        + "T12:00:00Z\"}";
+  }
+}
@@ -291,6 +291,19 @@ public final class CursorIterableRangeTest {
             }
           }
           assertThat(writer.toString()).isEqualTo(expectedKV == null ? "" : expectedKV);
+
+          final StringBuilder scanned = new StringBuilder();
+          try (Txn<ByteBuffer> txn = env.txnRead()) {
+            dbi.scan(
+                txn,
+                keyRange,
+                (key, val) -> {
+                  scanned.append("[").append(getLong(key, byteOrder));
+                  scanned.append(" ").append(getLong(val, ByteOrder.BIG_ENDIAN)).append("]");
+                  return true;
+                });
+          }
+          assertThat(scanned.toString()).isEqualTo(writer.toString());
         } catch (final IOException e) {
           throw new UncheckedIOException(e);
         }
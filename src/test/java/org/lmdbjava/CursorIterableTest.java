@@ -347,6 +347,48 @@ public final class CursorIterableTest {
     verify(db, all(), 4, 8);
   }
 
+  @Test
+  void resetRetargetsIterable() {
+    final Dbi<ByteBuffer> db = getDb();
+    final Txn<ByteBuffer> first = env.txnRead();
+    try (CursorIterable<ByteBuffer> c = db.iterate(first, closed(bb(3), bb(7)))) {
+      final List<Integer> results = new ArrayList<>();
+      for (final KeyVal<ByteBuffer> kv : c) {
+        results.add(kv.key().getInt());
+      }
+      assertThat(results).containsExactly(4, 6);
+      first.close();
+
+      results.clear();
+      try (Txn<ByteBuffer> second = env.txnRead()) {
+        c.reset(second, allBackward());
+        for (final KeyVal<ByteBuffer> kv : c) {
+          results.add(kv.key().getInt());
+        }
+      }
+      assertThat(results).containsExactly(8, 6, 4, 2);
+    }
+  }
+
+  @Test
+  void scanStopsWhenVisitorReturnsFalse() {
+    final Dbi<ByteBuffer> db = getDb();
+    final List<Integer> results = new ArrayList<>();
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        CursorIterable<ByteBuffer> c = db.iterate(txn, atLeast(bb(3)))) {
+      final long visited =
+          c.scan(
+              (key, val) -> {
+                results.add(key.getInt(0));
+                assertThat(val.getInt(0)).isEqualTo(key.getInt(0) + 1);
+                return results.size() < 2;
+              });
+      assertThat(visited).isEqualTo(2);
+      assertThatThrownBy(c::iterator).isInstanceOf(IllegalStateException.class);
+    }
+    assertThat(results).containsExactly(4, 6);
+  }
+
   @Test
   void nextWithClosedEnvTest() {
     assertThatThrownBy(
@@ -0,0 +1,146 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.KeyRange.closed;
+import static org.lmdbjava.KeyRange.greaterThanBackward;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link CursorPool}. */
+public final class CursorPoolTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    for (int i = 1; i <= 9; i++) {
+      db.put(bb(i), bb(i * 10));
+    }
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void cursorIsReusedAcrossTransactions() {
+    try (CursorPool<ByteBuffer> pool = new CursorPool<>(db, 2)) {
+      final Cursor<ByteBuffer> first;
+      try (Txn<ByteBuffer> txn = env.txnRead();
+          Cursor<ByteBuffer> cursor = pool.acquire(txn)) {
+        assertThat(cursor.first()).isTrue();
+        assertThat(cursor.key().getInt()).isEqualTo(1);
+        first = cursor;
+      }
+      assertThat(pool.idle()).isEqualTo(1);
+
+      db.put(bb(10), bb(100));
+      try (Txn<ByteBuffer> txn = env.txnRead();
+          Cursor<ByteBuffer> cursor = pool.acquire(txn)) {
+        assertThat(cursor).isSameAs(first);
+        assertThat(pool.idle()).isZero();
+        assertThat(cursor.last()).isTrue();
+        assertThat(cursor.key().getInt()).isEqualTo(10);
+      }
+      assertThat(pool.idle()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void closedPoolFreesReturnedCursors() {
+    final CursorPool<ByteBuffer> pool = new CursorPool<>(db, 1);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final Cursor<ByteBuffer> cursor = pool.acquire(txn);
+      pool.close();
+      cursor.close();
+      assertThat(pool.idle()).isZero();
+      assertThatThrownBy(() -> pool.acquire(txn)).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void iterateReturnsCursorOnClose() {
+    try (CursorPool<ByteBuffer> pool = new CursorPool<>(db, 1)) {
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        try (CursorIterable<ByteBuffer> c = pool.iterate(txn, closed(bb(3), bb(5)))) {
+          assertThat(keys(c)).isEqualTo(asList(3, 4, 5));
+        }
+        assertThat(pool.idle()).isEqualTo(1);
+        try (CursorIterable<ByteBuffer> c = pool.iterate(txn, greaterThanBackward(bb(3)))) {
+          assertThat(pool.idle()).isZero();
+          assertThat(keys(c)).isEqualTo(asList(2, 1));
+        }
+      }
+    }
+  }
+
+  @Test
+  void maxIdleBoundsRetainedCursors() {
+    try (CursorPool<ByteBuffer> pool = new CursorPool<>(db, 1);
+        Txn<ByteBuffer> txn = env.txnRead()) {
+      final Cursor<ByteBuffer> a = pool.acquire(txn);
+      final Cursor<ByteBuffer> b = pool.acquire(txn);
+      assertThat(a).isNotSameAs(b);
+      a.close();
+      b.close();
+      assertThat(pool.idle()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void writeTransactionRejected() {
+    try (CursorPool<ByteBuffer> pool = new CursorPool<>(db, 1);
+        Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThatThrownBy(() -> pool.acquire(txn)).isInstanceOf(Txn.ReadOnlyRequiredException.class);
+    }
+  }
+
+  private static List<Integer> keys(final CursorIterable<ByteBuffer> c) {
+    final List<Integer> keys = new ArrayList<>();
+    for (final CursorIterable.KeyVal<ByteBuffer> kv : c) {
+      keys.add(kv.key().getInt());
+    }
+    return keys;
+  }
+}
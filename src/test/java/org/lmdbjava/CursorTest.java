@@ -561,6 +561,59 @@ public final class CursorTest {
     }
   }
 
+  @Test
+  void valForUpdate() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    final ByteBuffer large = allocateDirect(4_096);
+    large.putInt(0, 7).putInt(4_092, 8);
+    db.put(bb(1), bb(10));
+    db.put(bb(2), large);
+    try (Txn<ByteBuffer> rtx = env.txnRead()) {
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+          assertThat(c.first()).isTrue();
+          c.valForUpdate().putInt(0, 11);
+          c.valForUpdate().putInt(0, c.val().getInt(0) + 1);
+          assertThat(c.next()).isTrue();
+          final ByteBuffer val = c.valForUpdate();
+          assertThat(val.capacity()).isEqualTo(4_096);
+          assertThat(val.getInt(0)).isEqualTo(7);
+          assertThat(val.getInt(4_092)).isEqualTo(8);
+          val.putInt(4_092, 9);
+        }
+        txn.commit();
+      }
+      assertThat(db.get(rtx, bb(1)).getInt(0)).isEqualTo(10);
+      assertThat(db.get(rtx, bb(2)).getInt(4_092)).isEqualTo(8);
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(db.get(txn, bb(1)).getInt(0)).isEqualTo(12);
+      assertThat(db.get(txn, bb(2)).getInt(0)).isEqualTo(7);
+      assertThat(db.get(txn, bb(2)).getInt(4_092)).isEqualTo(9);
+      try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+        assertThat(c.first()).isTrue();
+        assertThatThrownBy(c::valForUpdate).isInstanceOf(Txn.ReadWriteRequiredException.class);
+      }
+    }
+  }
+
+  @Test
+  void valForUpdateRejectsDupsort() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi()
+            .setDbName(DB_1)
+            .withDefaultComparator()
+            .setDbiFlags(MDB_CREATE, MDB_DUPSORT)
+            .open();
+    db.put(bb(1), bb(10));
+    try (Txn<ByteBuffer> txn = env.txnWrite();
+        Cursor<ByteBuffer> c = db.openCursor(txn)) {
+      assertThat(c.first()).isTrue();
+      assertThatThrownBy(c::valForUpdate).isInstanceOf(UnsupportedOperationException.class);
+    }
+  }
+
   @Test
   void testCursorByteBufferDuplicate() {
     final Dbi<ByteBuffer> db =
@@ -0,0 +1,231 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.nio.ByteOrder.LITTLE_ENDIAN;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.ByteArrayProxy.PROXY_BA;
+import static org.lmdbjava.ByteBufProxy.PROXY_NETTY;
+import static org.lmdbjava.ByteBufferProxy.PROXY_OPTIMAL;
+import static org.lmdbjava.ByteBufferProxy.PROXY_SAFE;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DirectBufferProxy.PROXY_DB;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.EnvFlags.MDB_NOTLS;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import io.netty.buffer.Unpooled;
+import java.nio.ByteBuffer;
+import java.util.Random;
+import org.agrona.concurrent.UnsafeBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link DbiBloomFilter}. */
+public final class DbiBloomFilterTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+  private Dbi<ByteBuffer> store;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR, MDB_NOTLS)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    store = env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void buildScansExistingKeys() {
+    for (int i = 0; i < 100; i++) {
+      db.put(bb(i), bb(i * 10));
+    }
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.build(db, 1_000, 0.01);
+        Txn<ByteBuffer> txn = env.txnRead()) {
+      for (int i = 0; i < 100; i++) {
+        assertThat(filter.mightContain(bb(i))).isTrue();
+        assertThat(filter.get(txn, bb(i)).getInt(0)).isEqualTo(i * 10);
+      }
+      assertThat(filter.get(txn, bb(5_000))).isNull();
+    }
+  }
+
+  @Test
+  void absentKeysMostlyExcluded() {
+    for (int i = 0; i < 1_000; i++) {
+      db.put(bb(i), bb(i));
+    }
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.build(db, 1_000, 0.01)) {
+      int falsePositives = 0;
+      for (int i = 1_000; i < 11_000; i++) {
+        if (filter.mightContain(bb(i))) {
+          falsePositives++;
+        }
+      }
+      assertThat(falsePositives).isLessThan(300);
+    }
+  }
+
+  @Test
+  void putsAreAdded() {
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.build(db, 100, 0.01)) {
+      assertThat(filter.mightContain(bb(1))).isFalse();
+      db.put(bb(1), bb(10));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+          c.put(bb(2), bb(20));
+        }
+        txn.commit();
+      }
+      assertThat(filter.mightContain(bb(1))).isTrue();
+      assertThat(filter.mightContain(bb(2))).isTrue();
+    }
+  }
+
+  @Test
+  void saveAndReopen() {
+    for (int i = 0; i < 50; i++) {
+      db.put(bb(i), bb(i));
+    }
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.open(db, store, 100, 0.01);
+        Txn<ByteBuffer> txn = env.txnWrite()) {
+      filter.save(txn);
+      txn.commit();
+    }
+    // a filter loaded from the store does not require the keys to be rescanned
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      db.drop(txn);
+      txn.abort();
+    }
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.open(db, store, 100, 0.01)) {
+      for (int i = 0; i < 50; i++) {
+        assertThat(filter.mightContain(bb(i))).isTrue();
+      }
+    }
+  }
+
+  @Test
+  void malformedSavedFilterRebuilt() {
+    for (int i = 0; i < 50; i++) {
+      db.put(bb(i), bb(i));
+    }
+    final ByteBuffer storeKey = bytes(("bloom:" + DB_1).getBytes(UTF_8));
+    // no hash functions, then a bit array too short for the number of bits
+    final ByteBuffer noHashes = ByteBuffer.allocateDirect(20).putInt(0).putLong(64).putLong(-1);
+    final ByteBuffer tooShort = ByteBuffer.allocateDirect(20).putInt(3).putLong(128).putLong(-1);
+    for (final ByteBuffer saved : new ByteBuffer[] {noHashes, tooShort}) {
+      saved.flip();
+      store.put(storeKey, saved);
+      try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.open(db, store, 100, 0.01)) {
+        for (int i = 0; i < 50; i++) {
+          assertThat(filter.mightContain(bb(i))).isTrue();
+        }
+        assertThat(filter.mightContain(bb(5_000))).isFalse();
+      }
+    }
+  }
+
+  @Test
+  void proxiesHashInPlace() {
+    final Random random = new Random(3);
+    for (int len = 0; len <= 20; len++) {
+      final byte[] data = new byte[len];
+      random.nextBytes(data);
+      final long expected = DbiBloomFilter.hash(data);
+      final byte[] padded = new byte[len + 3];
+      System.arraycopy(data, 0, padded, 3, len);
+      final ByteBuffer direct = bytes(padded);
+      direct.position(3);
+      assertThat(PROXY_OPTIMAL.hash(direct)).isEqualTo(expected);
+      assertThat(PROXY_SAFE.hash(direct.order(LITTLE_ENDIAN))).isEqualTo(expected);
+      assertThat(direct.position()).isEqualTo(3);
+      assertThat(PROXY_BA.hash(data)).isEqualTo(expected);
+      assertThat(PROXY_DB.hash(new UnsafeBuffer(data))).isEqualTo(expected);
+      assertThat(PROXY_NETTY.hash(Unpooled.wrappedBuffer(padded).readerIndex(3)))
+          .isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void writeRemovesSavedFilter() {
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.open(db, store, 100, 0.01)) {
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        filter.save(txn);
+        txn.commit();
+      }
+      assertThat(savedFilterPresent()).isTrue();
+
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.put(txn, bb(1), bb(10));
+        txn.abort();
+      }
+      assertThat(savedFilterPresent()).isTrue();
+
+      db.put(bb(1), bb(10));
+      assertThat(savedFilterPresent()).isFalse();
+    }
+  }
+
+  @Test
+  void saveRequiresStore() {
+    try (DbiBloomFilter<ByteBuffer> filter = DbiBloomFilter.build(db, 100, 0.01);
+        Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThatThrownBy(() -> filter.save(txn)).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void argumentsValidated() {
+    assertThatThrownBy(() -> DbiBloomFilter.build(db, 0, 0.01))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> DbiBloomFilter.build(db, 10, 1.0))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private static ByteBuffer bytes(final byte[] data) {
+    final ByteBuffer buffer = ByteBuffer.allocateDirect(data.length).put(data);
+    buffer.flip();
+    return buffer;
+  }
+
+  private boolean savedFilterPresent() {
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        Cursor<ByteBuffer> c = store.openCursor(txn)) {
+      return c.first();
+    }
+  }
+}
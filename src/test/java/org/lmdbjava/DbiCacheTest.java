@@ -0,0 +1,169 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.EnvFlags.MDB_NOTLS;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link DbiCache}. */
+public final class DbiCacheTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR, MDB_NOTLS)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void hitAfterMiss() {
+    db.put(bb(1), bb(10));
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 1_024);
+        Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(cache.get(txn, bb(1)).getInt(0)).isEqualTo(10);
+      assertThat(cache.get(txn, bb(1)).getInt(0)).isEqualTo(10);
+      assertThat(cache.get(txn, bb(2))).isNull();
+      assertThat(cache.hits()).isEqualTo(1);
+      assertThat(cache.misses()).isEqualTo(2);
+      assertThat(cache.size()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void commitInvalidates() {
+    db.put(bb(1), bb(10));
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 1_024)) {
+      readExpecting(cache, 1, 10);
+      db.put(bb(1), bb(11));
+      assertThat(cache.size()).isZero();
+      readExpecting(cache, 1, 11);
+
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = db.openCursor(txn)) {
+          assertThat(c.first()).isTrue();
+          c.delete();
+        }
+        txn.commit();
+      }
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        assertThat(cache.get(txn, bb(1))).isNull();
+      }
+    }
+  }
+
+  @Test
+  void abortRetainsEntries() {
+    db.put(bb(1), bb(10));
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 1_024)) {
+      readExpecting(cache, 1, 10);
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.put(txn, bb(1), bb(11));
+        assertThat(cache.get(txn, bb(1)).getInt(0)).isEqualTo(11);
+        txn.abort();
+      }
+      assertThat(cache.size()).isEqualTo(1);
+      readExpecting(cache, 1, 10);
+    }
+  }
+
+  @Test
+  void dropInvalidatesAll() {
+    db.put(bb(1), bb(10));
+    db.put(bb(2), bb(20));
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 1_024)) {
+      readExpecting(cache, 1, 10);
+      readExpecting(cache, 2, 20);
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.drop(txn);
+        txn.commit();
+      }
+      assertThat(cache.size()).isZero();
+    }
+  }
+
+  @Test
+  void olderSnapshotNotServedNewerValue() {
+    db.put(bb(1), bb(10));
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 1_024);
+        Txn<ByteBuffer> old = env.txnRead()) {
+      db.put(bb(1), bb(11));
+      readExpecting(cache, 1, 11);
+      assertThat(cache.get(old, bb(1)).getInt(0)).isEqualTo(10);
+      // the stale reader must not have replaced the newer entry
+      readExpecting(cache, 1, 11);
+    }
+  }
+
+  @Test
+  void evictsToLimits() {
+    for (int i = 0; i < 10; i++) {
+      db.put(bb(i), bb(i * 10));
+    }
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 4, 1_024);
+        Txn<ByteBuffer> txn = env.txnRead()) {
+      for (int i = 0; i < 10; i++) {
+        assertThat(cache.get(txn, bb(i)).getInt(0)).isEqualTo(i * 10);
+      }
+      assertThat(cache.size()).isEqualTo(4);
+    }
+    try (DbiCache<ByteBuffer> cache = new DbiCache<>(db, 16, 20);
+        Txn<ByteBuffer> txn = env.txnRead()) {
+      for (int i = 0; i < 10; i++) {
+        assertThat(cache.get(txn, bb(i)).getInt(0)).isEqualTo(i * 10);
+      }
+      assertThat(cache.size()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void limitsMustBePositive() {
+    assertThatThrownBy(() -> new DbiCache<>(db, 0, 1)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private void readExpecting(final DbiCache<ByteBuffer> cache, final int key, final int val) {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(cache.get(txn, bb(key)).getInt(0)).isEqualTo(val);
+    }
+  }
+}
@@ -19,7 +19,10 @@ package org.lmdbjava;
 import static java.lang.Long.MAX_VALUE;
 import static java.lang.System.getProperty;
 import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.ByteOrder.nativeOrder;
 import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.WRITE;
 import static java.util.Collections.nCopies;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static java.util.stream.Collectors.toList;
@@ -34,21 +37,30 @@ import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
 import static org.lmdbjava.DbiFlags.MDB_REVERSEKEY;
 import static org.lmdbjava.Env.create;
 import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.EnvFlags.MDB_WRITEMAP;
 import static org.lmdbjava.GetOp.MDB_SET_KEY;
 import static org.lmdbjava.KeyRange.atMost;
 import static org.lmdbjava.PutFlags.MDB_NODUPDATA;
 import static org.lmdbjava.PutFlags.MDB_NOOVERWRITE;
 import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
 import static org.lmdbjava.TestUtils.ba;
 import static org.lmdbjava.TestUtils.bb;
 import static org.lmdbjava.TestUtils.fromBa;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
 import java.nio.file.Path;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Random;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
@@ -620,6 +632,216 @@ public final class DbiTest {
     }
   }
 
+  @Test
+  void sampleSmallRangeIsExact() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi()
+            .setDbName(DB_1)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+    for (int i = 0; i < 10; i++) {
+      db.put(bb(i), bb(1));
+      db.put(bb(i), bb(2));
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(db.sample(txn, KeyRange.closed(bb(2), bb(5)), 10))
+          .extracting(b -> b.getInt(0))
+          .containsExactlyInAnyOrder(2, 3, 4, 5);
+      assertThat(db.sample(txn, KeyRange.all(), 3, new Random(1)))
+          .extracting(b -> b.getInt(0))
+          .hasSize(3)
+          .doesNotHaveDuplicates();
+      assertThat(db.sample(txn, KeyRange.greaterThan(bb(9)), 3)).isEmpty();
+      assertThatThrownBy(() -> db.sample(txn, KeyRange.all(), 0))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  void sampleLargeRange() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi()
+            .setDbName(DB_1)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_REVERSEKEY)
+            .open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      for (int i = 0; i < 10_000; i++) {
+        db.put(txn, bb(i), bb(i));
+      }
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final List<Integer> sample =
+          db.sample(txn, KeyRange.all(), 100, new Random(42)).stream()
+              .map(b -> b.getInt(0))
+              .collect(toList());
+      assertThat(sample).hasSizeGreaterThan(90).doesNotHaveDuplicates();
+      // keys spread across the low bytes, which order a reverse key database
+      assertThat(sample.stream().filter(i -> (i & 0xFF) < 128).count()).isBetween(25L, 75L);
+    }
+  }
+
+  @Test
+  void addAndGet() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThat(db.addAndGet(txn, bb(1), 5)).isEqualTo(5L);
+      assertThat(db.addAndGet(txn, bb(1), -7)).isEqualTo(-2L);
+      assertThat(db.addAndGet(txn, bb(2), MAX_VALUE)).isEqualTo(MAX_VALUE);
+      assertThat(db.addAndGet(txn, bb(2), 1)).isEqualTo(Long.MIN_VALUE);
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(db.get(txn, bb(1)).order(nativeOrder()).getLong(0)).isEqualTo(-2L);
+      assertThatThrownBy(() -> db.addAndGet(txn, bb(1), 1))
+          .isInstanceOf(Txn.ReadWriteRequiredException.class);
+    }
+    db.put(bb(3), bb(3));
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThatThrownBy(() -> db.addAndGet(txn, bb(3), 1))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void compareAndSet() {
+    final Dbi<ByteBuffer> db =
+        env.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThat(db.compareAndSet(txn, bb(1), bb(5), bb(6))).isFalse();
+      assertThat(db.compareAndSet(txn, bb(1), null, bb(5))).isTrue();
+      assertThat(db.compareAndSet(txn, bb(1), null, bb(6))).isFalse();
+      assertThat(db.compareAndSet(txn, bb(1), bb(4), bb(6))).isFalse();
+      assertThat(db.compareAndSet(txn, bb(1), bb(5L), bb(6))).isFalse();
+      assertThat(db.get(txn, bb(1)).getInt(0)).isEqualTo(5);
+      assertThat(db.compareAndSet(txn, bb(1), bb(5), bb(6L))).isTrue();
+      assertThat(db.get(txn, bb(1)).getLong(0)).isEqualTo(6L);
+    }
+  }
+
+  @Test
+  void mergeCustomOperator() {
+    final Dbi<byte[]> db =
+        envBa.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    final MergeOperator<byte[]> append =
+        (existing, operand) -> {
+          if (existing == null) {
+            return operand;
+          }
+          final byte[] merged = Arrays.copyOf(existing, existing.length + operand.length);
+          System.arraycopy(operand, 0, merged, existing.length, operand.length);
+          return merged;
+        };
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      db.merge(txn, ba(1), "ab".getBytes(UTF_8), append);
+      db.merge(txn, ba(1), "cde".getBytes(UTF_8), append);
+      db.merge(txn, ba(1), "x".getBytes(UTF_8), (existing, operand) -> null);
+      assertThat(new String(db.get(txn, ba(1)), UTF_8)).isEqualTo("abcde");
+    }
+  }
+
+  @Test
+  void mergeNumericOperators() {
+    final Dbi<byte[]> db =
+        envBa.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      assertThat(db.merge(txn, ba(1), 3, NumericOperator.ADD_INT)).isEqualTo(3L);
+      assertThat(db.merge(txn, ba(1), Integer.MAX_VALUE, NumericOperator.ADD_INT))
+          .isEqualTo(Integer.MIN_VALUE + 2L);
+      db.merge(txn, ba(2), -4, NumericOperator.MAX_INT);
+      db.merge(txn, ba(2), -9, NumericOperator.MAX_INT);
+      db.merge(txn, ba(3), 4, NumericOperator.MIN_INT);
+      db.merge(txn, ba(3), -9, NumericOperator.MIN_INT);
+      db.merge(txn, ba(4), 10L, NumericOperator.ADD_LONG);
+      assertThat(db.merge(txn, ba(4), -3L, NumericOperator.ADD_LONG)).isEqualTo(7L);
+      db.merge(txn, ba(5), 7L, NumericOperator.MAX_LONG);
+      db.merge(txn, ba(5), 8L, NumericOperator.MAX_LONG);
+      db.merge(txn, ba(6), 7L, NumericOperator.MIN_LONG);
+      db.merge(txn, ba(6), 8L, NumericOperator.MIN_LONG);
+      txn.commit();
+    }
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      assertThat(nativeBuffer(db.get(txn, ba(1))).getInt()).isEqualTo(Integer.MIN_VALUE + 2);
+      assertThat(nativeBuffer(db.get(txn, ba(2))).getInt()).isEqualTo(-4);
+      assertThat(nativeBuffer(db.get(txn, ba(3))).getInt()).isEqualTo(-9);
+      assertThat(nativeBuffer(db.get(txn, ba(4))).getLong()).isEqualTo(7L);
+      assertThat(nativeBuffer(db.get(txn, ba(5))).getLong()).isEqualTo(8L);
+      assertThat(nativeBuffer(db.get(txn, ba(6))).getLong()).isEqualTo(7L);
+      assertThatThrownBy(() -> db.merge(txn, ba(1), 1L << 32, NumericOperator.ADD_INT))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> db.merge(txn, ba(4), 1, NumericOperator.ADD_INT))
+          .isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void mergeReusesCursorAcrossDatabases() {
+    final Dbi<byte[]> first =
+        envBa.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    final Dbi<byte[]> second =
+        envBa.createDbi().setDbName(DB_2).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      for (int i = 0; i < 100; i++) {
+        first.merge(txn, ba(i % 10), 1L, NumericOperator.ADD_LONG);
+        assertThat(first.compareAndSet(txn, ba(100), null, ba(i))).isEqualTo(i == 0);
+        second.merge(txn, ba(i % 5), 2L, NumericOperator.ADD_LONG);
+      }
+      first.merge(txn, ba(1), ba(2), (existing, operand) -> operand);
+      txn.commit();
+    }
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      assertThat(first.merge(txn, ba(0), 0L, NumericOperator.ADD_LONG)).isEqualTo(10L);
+      assertThat(second.merge(txn, ba(0), 0L, NumericOperator.ADD_LONG)).isEqualTo(40L);
+      assertThat(first.get(txn, ba(1))).isEqualTo(ba(2));
+      txn.abort();
+    }
+  }
+
+  @Test
+  void getForUpdate() {
+    final Path file = tempDir.createTempFile();
+    try (Env<ByteBuffer> writeMap =
+        create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR, MDB_WRITEMAP)
+            .open(file)) {
+      final Dbi<ByteBuffer> db =
+          writeMap
+              .createDbi()
+              .setDbName(DB_1)
+              .withDefaultComparator()
+              .setDbiFlags(MDB_CREATE)
+              .open();
+      db.put(bb(1), bb(5L));
+      db.put(bb(2), bb(7L));
+      try (Txn<ByteBuffer> txn = writeMap.txnWrite()) {
+        final ByteBuffer val = db.getForUpdate(txn, bb(1));
+        // Later reads through the txn must not re-point the returned buffer
+        assertThat(db.get(txn, bb(2)).getLong(0)).isEqualTo(7L);
+        assertThat(db.getForUpdate(txn, bb(3))).isNull();
+        val.putLong(0, val.getLong(0) * 3);
+        txn.commit();
+      }
+      try (Txn<ByteBuffer> txn = writeMap.txnRead()) {
+        assertThat(db.get(txn, bb(1)).getLong(0)).isEqualTo(15L);
+        assertThat(db.get(txn, bb(2)).getLong(0)).isEqualTo(7L);
+      }
+    }
+    final Dbi<byte[]> dbBa =
+        envBa.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    dbBa.put(ba(1), ba(1));
+    try (Txn<byte[]> txn = envBa.txnWrite()) {
+      assertThatThrownBy(() -> dbBa.getForUpdate(txn, ba(1)))
+          .isInstanceOf(UnsupportedOperationException.class);
+    }
+  }
+
   @Test
   void stats() {
     final Dbi<ByteBuffer> db =
@@ -640,6 +862,37 @@ public final class DbiTest {
     assertThat(stat.pageSize % 4_096).isEqualTo(0);
   }
 
+  @Test
+  void transferTo() throws IOException {
+    final Dbi<ByteBuffer> db =
+        env.createDbi().setDbName(DB_1).withDefaultComparator().setDbiFlags(MDB_CREATE).open();
+    final byte[] large = new byte[100_000];
+    new Random(42).nextBytes(large);
+    final ByteBuffer largeVal = allocateDirect(large.length).put(large);
+    largeVal.flip();
+    db.put(bb(1), largeVal);
+    db.put(bb(2), bb(7));
+
+    final Path out = tempDir.createTempFile();
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        FileChannel target = FileChannel.open(out, CREATE, WRITE)) {
+      assertThat(db.transferTo(txn, bb(1), target)).isEqualTo(large.length);
+      assertThat(db.transferTo(txn, bb(2), target)).isEqualTo(Integer.BYTES);
+      assertThat(db.transferTo(txn, bb(3), target)).isEqualTo(-1L);
+    }
+    final byte[] written = Files.readAllBytes(out);
+    assertThat(Arrays.copyOf(written, large.length)).isEqualTo(large);
+    assertThat(ByteBuffer.wrap(written, large.length, Integer.BYTES).getInt()).isEqualTo(7);
+
+    // a value written in the same transaction is not yet in the data file
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      db.put(txn, bb(4), bb(9));
+      final ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+      assertThat(db.transferTo(txn, bb(4), Channels.newChannel(bytes))).isEqualTo(Integer.BYTES);
+      assertThat(ByteBuffer.wrap(bytes.toByteArray()).getInt()).isEqualTo(9);
+    }
+  }
+
   @Test
   void testMapFullException() {
     assertThatThrownBy(
@@ -797,6 +1050,10 @@ public final class DbiTest {
         .isInstanceOf(AlreadyClosedException.class);
   }
 
+  private static ByteBuffer nativeBuffer(final byte[] bytes) {
+    return ByteBuffer.wrap(bytes).order(nativeOrder());
+  }
+
   private void doEnvClosedTest(
       final BiConsumer<Dbi<ByteBuffer>, Txn<ByteBuffer>> workBeforeEnvClosed,
       final BiConsumer<Dbi<ByteBuffer>, Txn<ByteBuffer>> workAfterEnvClose) {
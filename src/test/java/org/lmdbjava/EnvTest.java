@@ -17,10 +17,13 @@
 package org.lmdbjava;
 
 import static java.nio.ByteBuffer.allocateDirect;
+import static java.nio.charset.StandardCharsets.ISO_8859_1;
+import static java.nio.charset.StandardCharsets.US_ASCII;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.lmdbjava.CopyFlags.MDB_CP_COMPACT;
 import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
 import static org.lmdbjava.Env.Builder.MAX_READERS_DEFAULT;
 import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
 import static org.lmdbjava.EnvFlags.MDB_NOSYNC;
@@ -34,6 +37,7 @@ import java.io.UncheckedIOException;
 import java.nio.ByteBuffer;
 import java.nio.file.Files;
 import java.nio.file.Path;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
 import java.util.Collections;
@@ -509,6 +513,238 @@ public final class EnvTest {
     }
   }
 
+  @Test
+  void dumpAndLoad() {
+    final Path source = tempDir.createTempFile();
+    final Path dir = tempDir.createTempDir().resolve("dump");
+    final List<String> entries;
+    final List<String> dupEntries;
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(source)) {
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      final Dbi<ByteBuffer> dups =
+          env.createDbi()
+              .setDbName("dup db")
+              .withDefaultComparator()
+              .setDbiFlags(MDB_CREATE, MDB_DUPSORT)
+              .open();
+      final byte[] large = new byte[20_000];
+      new Random(7).nextBytes(large);
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        for (int i = 0; i < 100; i++) {
+          db.put(txn, bb(i), bb(i * 2));
+          dups.put(txn, bb(i % 10), bb(i));
+        }
+        final ByteBuffer largeVal = allocateDirect(large.length).put(large);
+        largeVal.flip();
+        db.put(txn, bb(1_000), largeVal);
+        txn.commit();
+      }
+      entries = entries(env, db);
+      dupEntries = entries(env, dups);
+
+      final List<Path> files = env.dump(dir, 2);
+      assertThat(files)
+          .containsExactly(dir.resolve("dup%20db.dump"), dir.resolve("test-db-1.dump"));
+      assertThatThrownBy(() -> env.dump(dir, 1)).isInstanceOf(UncheckedIOException.class);
+      assertThatThrownBy(() -> env.dump(dir, 0)).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    final Path target = tempDir.createTempFile();
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(target)) {
+      assertThat(env.load(dir.resolve("test-db-1.dump"), 7)).isEqualTo(101L);
+      assertThat(env.load(dir.resolve("dup%20db.dump"), 1_000)).isEqualTo(100L);
+      final Dbi<ByteBuffer> db = env.createDbi().setDbName(DB_1).withDefaultComparator().open();
+      final Dbi<ByteBuffer> dups =
+          env.createDbi().setDbName("dup db").withDefaultComparator().open();
+      assertThat(entries(env, db)).isEqualTo(entries);
+      assertThat(entries(env, dups)).isEqualTo(dupEntries);
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        assertThat(dups.listFlags(txn)).containsExactly(MDB_DUPSORT);
+      }
+      assertThatThrownBy(() -> env.load(dir.resolve("dup%20db.dump"), 0))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  @Test
+  void dumpWritesMdbDumpFormat() throws IOException {
+    final Path dir = tempDir.createTempDir();
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxReaders(2)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName("db").withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      db.put(bytes("a"), bytes("x\n"));
+      db.put(bytes("b"), bytes(""));
+      final Path file = env.dump(dir, 1).get(0);
+      final String expected =
+          "VERSION=3\n"
+              + "format=bytevalue\n"
+              + "database=db\n"
+              + "type=btree\n"
+              + "mapsize=1048576\n"
+              + "maxreaders=2\n"
+              + "db_pagesize="
+              + env.stat().pageSize
+              + "\n"
+              + "HEADER=END\n"
+              + " 61\n"
+              + " 780a\n"
+              + " 62\n"
+              + " \n"
+              + "DATA=END\n";
+      assertThat(new String(Files.readAllBytes(file), US_ASCII)).isEqualTo(expected);
+    }
+  }
+
+  @Test
+  void dumpUnnamedDatabase() throws IOException {
+    final Path dir = tempDir.createTempDir();
+    final Path mixed = tempDir.createTempDir();
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxReaders(2)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      final Dbi<ByteBuffer> main = env.createDbi().withoutDbName().withDefaultComparator().open();
+      main.put(bytes("a"), bytes("1"));
+      main.put(bytes("c"), bytes("3"));
+      final List<Path> files = env.dump(dir, 2);
+      assertThat(files).containsExactly(dir.resolve("%main.dump"));
+      assertThat(new String(Files.readAllBytes(files.get(0)), US_ASCII))
+          .doesNotContain("database=")
+          .endsWith("HEADER=END\n 61\n 31\n 63\n 33\nDATA=END\n");
+
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName("b").withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      db.put(bytes("k"), bytes("v"));
+      assertThat(env.dump(mixed, 2))
+          .containsExactly(mixed.resolve("%main.dump"), mixed.resolve("b.dump"));
+    }
+
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      assertThat(env.load(mixed.resolve("%main.dump"), 10)).isEqualTo(2L);
+      assertThat(env.load(mixed.resolve("b.dump"), 10)).isEqualTo(1L);
+      final Dbi<ByteBuffer> db = env.createDbi().setDbName("b").withDefaultComparator().open();
+      assertThat(entries(env, db)).containsExactly("k=v");
+      final Dbi<ByteBuffer> main = env.createDbi().withoutDbName().withDefaultComparator().open();
+      assertThat(entries(env, main)).hasSize(3).startsWith("a=1").contains("c=3");
+    }
+  }
+
+  @Test
+  void loadPrintFormatOutOfOrder() throws IOException {
+    final Path file = tempDir.createTempDir().resolve("print.dump");
+    final String dump =
+        "VERSION=3\n"
+            + "format=print\n"
+            + "database=printed\n"
+            + "type=btree\n"
+            + "HEADER=END\n"
+            + " b\n"
+            + " back\\\\slash\n"
+            + " a\n"
+            + " new\\0aline\n"
+            + "DATA=END\n"
+            + "VERSION=3\n"
+            + "format=bytevalue\n"
+            + "database=printed\n"
+            + "type=btree\n"
+            + "HEADER=END\n"
+            + " 63\n"
+            + " 7a\n"
+            + " 61\n"
+            + " 79\n"
+            + "DATA=END\n";
+    Files.write(file, dump.getBytes(US_ASCII));
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setMaxDbs(1)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      assertThat(env.load(file, 1)).isEqualTo(4L);
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName("printed").withDefaultComparator().open();
+      assertThat(entries(env, db)).containsExactly("a=y", "b=back\\slash", "c=z");
+    }
+    Files.write(file, "VERSION=3\nHEADER=END\n 61\n".getBytes(US_ASCII));
+    try (Env<ByteBuffer> env =
+        Env.create()
+            .setMapSize(1, ByteUnit.MEBIBYTES)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile())) {
+      assertThatThrownBy(() -> env.load(file, 1)).isInstanceOf(UncheckedIOException.class);
+    }
+  }
+
+  private static ByteBuffer bytes(final String text) {
+    final byte[] bytes = text.getBytes(US_ASCII);
+    final ByteBuffer buffer = allocateDirect(bytes.length).put(bytes);
+    buffer.flip();
+    return buffer;
+  }
+
+  private static List<String> entries(final Env<ByteBuffer> env, final Dbi<ByteBuffer> db) {
+    final List<String> entries = new ArrayList<>();
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        CursorIterable<ByteBuffer> it = db.iterate(txn)) {
+      for (final CursorIterable.KeyVal<ByteBuffer> kv : it) {
+        entries.add(text(kv.key()) + "=" + text(kv.val()));
+      }
+    }
+    return entries;
+  }
+
+  private static String text(final ByteBuffer buffer) {
+    final byte[] bytes = new byte[buffer.remaining()];
+    buffer.duplicate().get(bytes);
+    return new String(bytes, ISO_8859_1);
+  }
+
+  @Test
+  void prewarm() {
+    final Path dir = tempDir.createTempDir();
+    try (Env<ByteBuffer> env =
+        Env.create().setMapSize(10, ByteUnit.MEBIBYTES).setMaxDbs(1).open(dir)) {
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        for (int i = 0; i < 10_000; i++) {
+          db.put(txn, bb(i), bb(i));
+        }
+        txn.commit();
+      }
+      env.prewarm(2);
+      assertThat(env.residency()).isBetween(0.0, 1.0);
+      env.prewarm(2, Collections.singletonList(db));
+      assertThatThrownBy(() -> env.prewarm(0)).isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
   @Test
   void stats() {
     final Path file = tempDir.createTempFile();
@@ -0,0 +1,168 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link LongKeyDbi}. */
+public final class LongKeyDbiTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private LongKeyDbi<ByteBuffer> db;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = LongKeyDbi.open(env, DB_1, MDB_CREATE);
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void putAndGet() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      db.put(txn, 5L, bb(50));
+      db.put(txn, -1L, bb(99));
+      assertThat(db.get(txn, 5L).getInt(0)).isEqualTo(50);
+      assertThat(db.get(txn, -1L).getInt(0)).isEqualTo(99);
+      assertThat(db.get(txn, 6L)).isNull();
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final ByteBuffer key = db.dbi().iterate(txn).iterator().next().key();
+      assertThat(key.remaining()).isEqualTo(Long.BYTES);
+      assertThat(key.order(ByteOrder.nativeOrder()).getLong(0)).isEqualTo(5L);
+    }
+  }
+
+  @Test
+  void putLongAndGetLong() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      db.putLong(txn, 1L, 100L);
+      db.putLong(txn, 1L, 101L);
+      assertThat(db.getLong(txn, 1L, -1L)).isEqualTo(101L);
+      assertThat(db.getLong(txn, 2L, -1L)).isEqualTo(-1L);
+      db.put(txn, 3L, bb(3));
+      assertThatThrownBy(() -> db.getLong(txn, 3L, 0L)).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void delete() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      db.putLong(txn, 7L, 70L);
+      assertThat(db.delete(txn, 7L)).isTrue();
+      assertThat(db.delete(txn, 7L)).isFalse();
+      assertThat(db.get(txn, 7L)).isNull();
+    }
+  }
+
+  @Test
+  void forEachInRangeVisitsInclusiveRangeInUnsignedOrder() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      for (final long key : new long[] {1L, 3L, 5L, 7L, 9L, -2L, -1L}) {
+        db.putLong(txn, key, key * 10);
+      }
+      final List<Long> keys = new ArrayList<>();
+      final List<Long> vals = new ArrayList<>();
+      final long visited =
+          db.forEachInRange(
+              txn,
+              2L,
+              7L,
+              (k, v) -> {
+                keys.add(k);
+                vals.add(v.order(ByteOrder.nativeOrder()).getLong(0));
+                return true;
+              });
+      assertThat(visited).isEqualTo(3L);
+      assertThat(keys).isEqualTo(asList(3L, 5L, 7L));
+      assertThat(vals).isEqualTo(asList(30L, 50L, 70L));
+
+      keys.clear();
+      db.forEachInRange(txn, 8L, -1L, (k, v) -> keys.add(k));
+      assertThat(keys).isEqualTo(asList(9L, -2L, -1L));
+
+      keys.clear();
+      assertThat(db.forEachInRange(txn, 0L, -1L, (k, v) -> keys.add(k) && k < 3L)).isEqualTo(2L);
+      assertThat(keys).isEqualTo(asList(1L, 3L));
+      assertThat(db.forEachInRange(txn, 10L, 20L, (k, v) -> true)).isZero();
+    }
+  }
+
+  @Test
+  void writeListenersSeeLongKeyedWrites() {
+    final Dbi<ByteBuffer> logDb =
+        env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    try (ChangeLog<ByteBuffer> log = new ChangeLog<>(logDb)) {
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        db.putLong(txn, 4L, 40L);
+        db.delete(txn, 4L);
+        assertThat(db.getLong(txn, 4L, 0L)).isZero();
+        txn.commit();
+      }
+      final List<ChangeLog.Op> ops = new ArrayList<>();
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        log.read(txn, 0L, c -> ops.add(c.op()));
+      }
+      assertThat(ops).isEqualTo(asList(ChangeLog.Op.PUT, ChangeLog.Op.DELETE));
+    }
+  }
+
+  @Test
+  void requiresIntegerKey() {
+    final Dbi<ByteBuffer> plain =
+        env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    assertThatThrownBy(() -> new LongKeyDbi<>(plain)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void readOnlyTxnRejectsWrites() {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThatThrownBy(() -> db.putLong(txn, 1L, 1L))
+          .isInstanceOf(Txn.ReadWriteRequiredException.class);
+    }
+  }
+}
@@ -0,0 +1,152 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.DB_3;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link MergeIterable}. */
+public final class MergeIterableTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private List<Dbi<ByteBuffer>> dbs;
+  private Comparator<ByteBuffer> comparator;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(3)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    dbs = new ArrayList<>();
+    for (final String name : asList(DB_1, DB_2, DB_3)) {
+      dbs.add(
+          env.createDbi().setDbName(name).withDefaultComparator().addDbiFlag(MDB_CREATE).open());
+    }
+    comparator = ByteBufferProxy.PROXY_OPTIMAL.getComparator();
+    // key * 10 + source identifies where each returned entry came from
+    put(0, 1, 4, 7, 9);
+    put(1, 2, 4, 5, 9);
+    put(2, 3, 4, 6);
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void mergesInOrderWithTiesInSourceOrder() {
+    assertThat(merge(KeyRange.all(), comparator, false))
+        .containsExactly(10, 21, 32, 40, 41, 42, 51, 62, 70, 90, 91);
+  }
+
+  @Test
+  void shadowingReturnsFirstSource() {
+    assertThat(merge(KeyRange.all(), comparator, true))
+        .containsExactly(10, 21, 32, 40, 51, 62, 70, 90);
+  }
+
+  @Test
+  void backward() {
+    assertThat(merge(KeyRange.allBackward(), comparator.reversed(), true))
+        .containsExactly(90, 70, 62, 51, 40, 32, 21, 10);
+  }
+
+  @Test
+  void range() {
+    assertThat(merge(KeyRange.closed(bb(4), bb(6)), comparator, false))
+        .containsExactly(40, 41, 42, 51, 62);
+  }
+
+  @Test
+  void emptySources() {
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      dbs.get(1).drop(txn);
+      txn.commit();
+    }
+    assertThat(merge(KeyRange.closed(bb(8), bb(9)), comparator, true)).containsExactly(90);
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        MergeIterable<ByteBuffer> merge =
+            new MergeIterable<>(Collections.emptyList(), comparator)) {
+      assertThat(merge.iterator().hasNext()).isFalse();
+    }
+  }
+
+  @Test
+  void iteratorOnlyOnce() {
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        MergeIterable<ByteBuffer> merge =
+            new MergeIterable<>(sources(txn, KeyRange.all()), comparator)) {
+      merge.iterator();
+      assertThatThrownBy(merge::iterator).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  private List<Integer> merge(
+      final KeyRange<ByteBuffer> range,
+      final Comparator<ByteBuffer> order,
+      final boolean shadowing) {
+    final List<Integer> results = new ArrayList<>();
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        MergeIterable<ByteBuffer> merge =
+            new MergeIterable<>(sources(txn, range), order, shadowing)) {
+      for (final CursorIterable.KeyVal<ByteBuffer> kv : merge) {
+        results.add(kv.val().getInt(0));
+      }
+    }
+    return results;
+  }
+
+  private void put(final int source, final int... keys) {
+    for (final int key : keys) {
+      dbs.get(source).put(bb(key), bb(key * 10 + source));
+    }
+  }
+
+  private List<CursorIterable<ByteBuffer>> sources(
+      final Txn<ByteBuffer> txn, final KeyRange<ByteBuffer> range) {
+    final List<CursorIterable<ByteBuffer>> sources = new ArrayList<>();
+    for (final Dbi<ByteBuffer> db : dbs) {
+      sources.add(db.iterate(txn, range));
+    }
+    return sources;
+  }
+}
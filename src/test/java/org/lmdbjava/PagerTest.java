@@ -0,0 +1,179 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link Pager}. */
+public final class PagerTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+  private Dbi<ByteBuffer> dups;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    dups =
+        env.createDbi()
+            .setDbName(DB_2)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+    for (int i = 1; i <= 9; i++) {
+      db.put(bb(i), bb(i * 10));
+    }
+    for (int key = 1; key <= 3; key++) {
+      for (int dup = 1; dup <= 3; dup++) {
+        dups.put(bb(key), bb(key * 10 + dup));
+      }
+    }
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void pagesForward() {
+    final List<List<Integer>> pages = pageAll(db, KeyRange.all(), 4);
+    assertThat(pages).hasSize(3);
+    assertThat(pages.get(0)).containsExactly(10, 20, 30, 40);
+    assertThat(pages.get(1)).containsExactly(50, 60, 70, 80);
+    assertThat(pages.get(2)).containsExactly(90);
+  }
+
+  @Test
+  void exactFinalPageHasNoToken() {
+    assertThat(pageAll(db, KeyRange.closed(bb(2), bb(7)), 3))
+        .containsExactly(asList(20, 30, 40), asList(50, 60, 70));
+  }
+
+  @Test
+  void pagesBackward() {
+    assertThat(pageAll(db, KeyRange.openBackward(bb(9), bb(3)), 2))
+        .containsExactly(asList(80, 70), asList(60, 50), asList(40));
+  }
+
+  @Test
+  void duplicatesForwardAndBackward() {
+    assertThat(flatten(pageAll(dups, KeyRange.all(), 2)))
+        .containsExactly(11, 12, 13, 21, 22, 23, 31, 32, 33);
+    assertThat(flatten(pageAll(dups, KeyRange.allBackward(), 2)))
+        .containsExactly(33, 32, 31, 23, 22, 21, 13, 12, 11);
+  }
+
+  @Test
+  void resumesAfterTokenEntryDeleted() {
+    final Pager<ByteBuffer> pager = new Pager<>(dups);
+    final String token;
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      token = pager.page(txn, KeyRange.all(), null, 5).token();
+    }
+    // the page ended on 2/22
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      dups.delete(txn, bb(2), bb(22));
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(values(pager.page(txn, KeyRange.all(), token, 10)))
+          .containsExactly(23, 31, 32, 33);
+      assertThat(values(pager.page(txn, KeyRange.allBackward(), token, 10)))
+          .containsExactly(21, 13, 12, 11);
+    }
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      dups.delete(txn, bb(2));
+      txn.commit();
+    }
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(values(pager.page(txn, KeyRange.all(), token, 10))).containsExactly(31, 32, 33);
+      assertThat(values(pager.page(txn, KeyRange.allBackward(), token, 10)))
+          .containsExactly(13, 12, 11);
+    }
+  }
+
+  @Test
+  void invalidToken() {
+    final Pager<ByteBuffer> pager = new Pager<>(db);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThatThrownBy(() -> pager.page(txn, KeyRange.all(), "AAAA", 1))
+          .isInstanceOf(IllegalArgumentException.class);
+      assertThatThrownBy(() -> pager.page(txn, KeyRange.all(), null, 0))
+          .isInstanceOf(IllegalArgumentException.class);
+    }
+  }
+
+  private List<List<Integer>> pageAll(
+      final Dbi<ByteBuffer> dbi, final KeyRange<ByteBuffer> range, final int limit) {
+    final Pager<ByteBuffer> pager = new Pager<>(dbi);
+    final List<List<Integer>> pages = new ArrayList<>();
+    String token = null;
+    do {
+      // each page uses its own transaction, as separate requests would
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        final Pager.Page<ByteBuffer> page = pager.page(txn, range, token, limit);
+        pages.add(values(page));
+        token = page.token();
+        assertThat(page.hasMore()).isEqualTo(token != null);
+      }
+    } while (token != null);
+    return pages;
+  }
+
+  private static List<Integer> values(final Pager.Page<ByteBuffer> page) {
+    final List<Integer> values = new ArrayList<>();
+    for (final Map.Entry<ByteBuffer, ByteBuffer> entry : page.entries()) {
+      values.add(entry.getValue().getInt(0));
+    }
+    return values;
+  }
+
+  private static List<Integer> flatten(final List<List<Integer>> pages) {
+    final List<Integer> all = new ArrayList<>();
+    pages.forEach(all::addAll);
+    return all;
+  }
+}
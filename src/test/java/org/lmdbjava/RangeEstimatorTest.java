@@ -0,0 +1,158 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.DbiFlags.MDB_INTEGERKEY;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.DB_3;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link RangeEstimator}. */
+public final class RangeEstimatorTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(3)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      for (int i = 0; i < 1_000; i++) {
+        db.put(txn, bb(i * 10), bb(i));
+      }
+      txn.commit();
+    }
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void estimatesEvenlySpreadKeys() {
+    final RangeEstimator<ByteBuffer> estimator = new RangeEstimator<>(db);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(estimator.estimate(txn, KeyRange.all())).isEqualTo(1_000);
+      assertThat(estimator.estimate(txn, KeyRange.closedOpen(bb(1_000), bb(3_000))))
+          .isCloseTo(200, within(10L));
+      assertThat(estimator.estimate(txn, KeyRange.closedOpenBackward(bb(3_000), bb(1_000))))
+          .isCloseTo(200, within(10L));
+      assertThat(estimator.estimate(txn, KeyRange.atLeast(bb(9_000)))).isCloseTo(100, within(5L));
+    }
+  }
+
+  @Test
+  void smallRangesAreExact() {
+    final RangeEstimator<ByteBuffer> estimator = new RangeEstimator<>(db);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(estimator.estimate(txn, KeyRange.open(bb(10), bb(20)))).isZero();
+      assertThat(estimator.estimate(txn, KeyRange.closed(bb(11), bb(29)))).isEqualTo(1);
+      assertThat(estimator.estimate(txn, KeyRange.greaterThan(bb(99_999)))).isZero();
+    }
+  }
+
+  @Test
+  void countsExactly() {
+    final RangeEstimator<ByteBuffer> estimator = new RangeEstimator<>(db);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(estimator.count(txn, KeyRange.all())).isEqualTo(1_000);
+      assertThat(estimator.count(txn, KeyRange.openClosed(bb(1_000), bb(3_000)))).isEqualTo(200);
+      assertThat(estimator.count(txn, KeyRange.lessThanBackward(bb(50)))).isEqualTo(994);
+      assertThat(estimator.count(txn, KeyRange.open(bb(10), bb(20)))).isZero();
+    }
+  }
+
+  @Test
+  void duplicates() {
+    final Dbi<ByteBuffer> dups =
+        env.createDbi()
+            .setDbName(DB_2)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      for (int key = 0; key < 100; key++) {
+        for (int dup = 0; dup < 5; dup++) {
+          dups.put(txn, bb(key), bb(dup));
+        }
+      }
+      txn.commit();
+    }
+    final RangeEstimator<ByteBuffer> estimator = new RangeEstimator<>(dups);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(estimator.count(txn, KeyRange.closed(bb(10), bb(19)))).isEqualTo(50);
+      assertThat(estimator.estimate(txn, KeyRange.closed(bb(10), bb(10)))).isEqualTo(5);
+      assertThat(estimator.estimate(txn, KeyRange.closedOpen(bb(0), bb(50))))
+          .isCloseTo(250, within(10L));
+    }
+  }
+
+  @Test
+  void integerKeys() {
+    final Dbi<ByteBuffer> ints =
+        env.createDbi()
+            .setDbName(DB_3)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_INTEGERKEY)
+            .open();
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      for (int i = 0; i < 1_000; i++) {
+        ints.put(txn, nativeInt(i), bb(i));
+      }
+      txn.commit();
+    }
+    final RangeEstimator<ByteBuffer> estimator = new RangeEstimator<>(ints);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      assertThat(estimator.estimate(txn, KeyRange.closedOpen(nativeInt(250), nativeInt(500))))
+          .isCloseTo(250, within(5L));
+      assertThat(estimator.count(txn, KeyRange.closedOpen(nativeInt(250), nativeInt(500))))
+          .isEqualTo(250);
+    }
+  }
+
+  private static ByteBuffer nativeInt(final int value) {
+    final ByteBuffer bb = ByteBuffer.allocateDirect(Integer.BYTES).order(ByteOrder.nativeOrder());
+    bb.putInt(value).flip();
+    return bb;
+  }
+}
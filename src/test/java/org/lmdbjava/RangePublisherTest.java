@@ -0,0 +1,242 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.EnvFlags.MDB_NOTLS;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link RangePublisher}. */
+public final class RangePublisherTest {
+
+  private TempDir tempDir;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> db;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(4)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR, MDB_NOTLS)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    for (int i = 1; i <= 5; i++) {
+      db.put(bb(i * 2), bb(i * 20));
+    }
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void releasingSeesLaterCommits() {
+    final Collector collector = new Collector();
+    new RangePublisher<>(db, KeyRange.all(), Runnable::run, 2, true).subscribe(collector);
+    collector.subscription.request(2);
+    assertThat(collector.keys).containsExactly(2, 4);
+    db.put(bb(5), bb(50));
+    db.delete(bb(6));
+    collector.subscription.request(Long.MAX_VALUE);
+    assertThat(collector.keys).containsExactly(2, 4, 5, 8, 10);
+    assertThat(collector.completed).isTrue();
+    assertThat(env.info().numReaders).isLessThanOrEqualTo(1);
+  }
+
+  @Test
+  void holdingSeesSnapshot() {
+    final Collector collector = new Collector();
+    new RangePublisher<>(db, KeyRange.closed(bb(4), bb(8)), Runnable::run, 1, false)
+        .subscribe(collector);
+    collector.subscription.request(1);
+    db.put(bb(5), bb(50));
+    collector.subscription.request(5);
+    assertThat(collector.keys).containsExactly(4, 6, 8);
+    assertThat(collector.completed).isTrue();
+  }
+
+  @Test
+  void backward() {
+    final Collector collector = new Collector();
+    new RangePublisher<>(db, KeyRange.openBackward(bb(10), bb(2)), Runnable::run, 1, true)
+        .subscribe(collector);
+    collector.subscription.request(1);
+    collector.subscription.request(1);
+    collector.subscription.request(1);
+    assertThat(collector.keys).containsExactly(8, 6, 4);
+    assertThat(collector.completed).isFalse();
+    collector.subscription.request(1);
+    assertThat(collector.completed).isTrue();
+  }
+
+  @Test
+  void duplicatesResumeWithinKey() {
+    final Dbi<ByteBuffer> dups =
+        env.createDbi()
+            .setDbName(DB_2)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+    for (int i = 1; i <= 3; i++) {
+      dups.put(bb(1), bb(i));
+      dups.put(bb(2), bb(i));
+    }
+    final Collector collector = new Collector();
+    new RangePublisher<>(dups, KeyRange.all(), Runnable::run, 2, true).subscribe(collector);
+    collector.subscription.request(Long.MAX_VALUE);
+    assertThat(collector.keys).containsExactly(1, 1, 1, 2, 2, 2);
+    assertThat(collector.vals).containsExactly(1, 2, 3, 1, 2, 3);
+  }
+
+  @Test
+  void duplicatesResumeAfterLastValue() {
+    final Dbi<ByteBuffer> dups =
+        env.createDbi()
+            .setDbName(DB_2)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+    for (int i = 1; i <= 3; i++) {
+      dups.put(bb(1), bb(i));
+      dups.put(bb(2), bb(i));
+    }
+    final Collector forward = new Collector();
+    new RangePublisher<>(dups, KeyRange.all(), Runnable::run, 1, true).subscribe(forward);
+    forward.subscription.request(2);
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      dups.delete(txn, bb(1), bb(1));
+      dups.delete(txn, bb(1), bb(2));
+      dups.put(txn, bb(1), bb(5));
+      txn.commit();
+    }
+    forward.subscription.request(Long.MAX_VALUE);
+    assertThat(forward.keys).containsExactly(1, 1, 1, 1, 2, 2, 2);
+    assertThat(forward.vals).containsExactly(1, 2, 3, 5, 1, 2, 3);
+
+    final Collector backward = new Collector();
+    new RangePublisher<>(dups, KeyRange.allBackward(), Runnable::run, 2, true).subscribe(backward);
+    backward.subscription.request(2);
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      dups.delete(txn, bb(2), bb(2));
+      dups.put(txn, bb(2), bb(0));
+      txn.commit();
+    }
+    backward.subscription.request(Long.MAX_VALUE);
+    assertThat(backward.keys).containsExactly(2, 2, 2, 2, 1, 1);
+    assertThat(backward.vals).containsExactly(3, 2, 1, 0, 5, 3);
+  }
+
+  @Test
+  void cancelStopsDelivery() {
+    final Collector collector = new Collector();
+    new RangePublisher<>(db, KeyRange.all(), Runnable::run, 2, false).subscribe(collector);
+    collector.subscription.request(1);
+    collector.subscription.cancel();
+    collector.subscription.request(5);
+    assertThat(collector.keys).containsExactly(2);
+    assertThat(collector.completed).isFalse();
+    assertThat(collector.error).isNull();
+  }
+
+  @Test
+  void nonPositiveRequestFails() {
+    final Collector collector = new Collector();
+    new RangePublisher<>(db, KeyRange.all(), Runnable::run, 2, true).subscribe(collector);
+    collector.subscription.request(0);
+    assertThat(collector.error).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  @Test
+  void requestsFromExecutorThreads() throws InterruptedException {
+    final ExecutorService executor = Executors.newFixedThreadPool(3);
+    final Collector collector =
+        new Collector() {
+          @Override
+          public void onNext(final Map.Entry<ByteBuffer, ByteBuffer> item) {
+            super.onNext(item);
+            subscription.request(1);
+          }
+        };
+    new RangePublisher<>(db, KeyRange.all(), executor, 1, false).subscribe(collector);
+    while (collector.subscription == null) {
+      Thread.sleep(1);
+    }
+    collector.subscription.request(1);
+    while (!collector.completed) {
+      Thread.sleep(1);
+    }
+    executor.shutdown();
+    assertThat(executor.awaitTermination(10, TimeUnit.SECONDS)).isTrue();
+    assertThat(collector.keys).containsExactly(2, 4, 6, 8, 10);
+  }
+
+  private static class Collector
+      implements RangePublisher.Subscriber<Map.Entry<ByteBuffer, ByteBuffer>> {
+
+    volatile boolean completed;
+    volatile Throwable error;
+    final List<Integer> keys = new ArrayList<>();
+    volatile RangePublisher.Subscription subscription;
+    final List<Integer> vals = new ArrayList<>();
+
+    @Override
+    public void onSubscribe(final RangePublisher.Subscription subscription) {
+      this.subscription = subscription;
+    }
+
+    @Override
+    public void onNext(final Map.Entry<ByteBuffer, ByteBuffer> item) {
+      keys.add(item.getKey().getInt(0));
+      vals.add(item.getValue().getInt(0));
+    }
+
+    @Override
+    public void onError(final Throwable throwable) {
+      error = throwable;
+    }
+
+    @Override
+    public void onComplete() {
+      completed = true;
+    }
+  }
+}
@@ -0,0 +1,195 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.DB_3;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.io.IOException;
+import java.io.PipedInputStream;
+import java.io.PipedOutputStream;
+import java.nio.ByteBuffer;
+import java.nio.file.Path;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link Replica}, {@link LogShipper} and the {@link ChangeTransport} implementations. */
+public final class ReplicaTest {
+
+  private Dbi<ByteBuffer> leaderDb;
+  private Env<ByteBuffer> leader;
+  private ChangeLog<ByteBuffer> log;
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    leader = open(tempDir.createTempFile());
+    leaderDb = openDbi(leader, DB_1);
+    log = new ChangeLog<>(openDbi(leader, DB_2));
+  }
+
+  @AfterEach
+  void afterEach() {
+    log.close();
+    leader.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void bootstrapThenApplyBatches() throws IOException {
+    leaderDb.put(bb(1), bb(10));
+    leaderDb.put(bb(2), bb(20));
+    final Path copy = tempDir.createTempFile();
+    final long from = LogShipper.snapshot(leader, copy);
+
+    final ChangeTransport transport = new DirectoryTransport(tempDir.createTempDir());
+    final LogShipper<ByteBuffer> shipper = new LogShipper<>(log, transport, from);
+    assertThat(shipper.ship(10)).isZero();
+
+    for (int i = 3; i <= 6; i++) {
+      leaderDb.put(bb(i), bb(i * 10));
+    }
+    leaderDb.delete(bb(1));
+    assertThat(shipper.ship(2)).isEqualTo(2);
+    assertThat(shipper.ship(2)).isEqualTo(2);
+    assertThat(shipper.ship(2)).isEqualTo(1);
+
+    try (Env<ByteBuffer> follower = open(copy)) {
+      final Dbi<ByteBuffer> db = openDbi(follower, DB_1);
+      final Replica<ByteBuffer> replica = new Replica<>(openDbi(follower, DB_3), transport, db);
+      assertThat(read(follower, db, 2)).isEqualTo(20);
+      assertThat(read(follower, db, 3)).isNull();
+      assertThat(replica.poll() + replica.poll() + replica.poll()).isEqualTo(5);
+      assertThat(replica.poll()).isZero();
+      assertThat(read(follower, db, 1)).isNull();
+      assertThat(read(follower, db, 6)).isEqualTo(60);
+      assertThat(replica.appliedTxnId()).isEqualTo(shipper.nextTxnId() - 1);
+    }
+  }
+
+  @Test
+  void appliedTransactionsSkipped() throws IOException {
+    final Path copy = tempDir.createTempFile();
+    final long from = LogShipper.snapshot(leader, copy);
+    final ChangeTransport transport = new DirectoryTransport(tempDir.createTempDir());
+    leaderDb.put(bb(1), bb(10));
+    new LogShipper<>(log, transport, from).ship(10);
+    leaderDb.put(bb(1), bb(11));
+    // a restarted shipper resends everything from the start
+    new LogShipper<>(log, transport, from).ship(10);
+
+    try (Env<ByteBuffer> follower = open(copy)) {
+      final Dbi<ByteBuffer> db = openDbi(follower, DB_1);
+      final Replica<ByteBuffer> replica = new Replica<>(openDbi(follower, DB_3), transport, db);
+      assertThat(replica.poll()).isEqualTo(1);
+      assertThat(replica.poll()).isEqualTo(1);
+      assertThat(read(follower, db, 1)).isEqualTo(11);
+    }
+  }
+
+  @Test
+  void streamTransport() throws IOException {
+    final Path copy = tempDir.createTempFile();
+    final long from = LogShipper.snapshot(leader, copy);
+    final PipedInputStream pipeIn = new PipedInputStream(64 * 1024);
+    final PipedOutputStream pipeOut = new PipedOutputStream(pipeIn);
+    try (ChangeTransport sender = new StreamTransport(null, pipeOut);
+        ChangeTransport receiver = new StreamTransport(pipeIn, null);
+        Env<ByteBuffer> follower = open(copy)) {
+      leaderDb.put(bb(1), bb(10));
+      new LogShipper<>(log, sender, from).ship(10);
+      final Dbi<ByteBuffer> db = openDbi(follower, DB_1);
+      final Replica<ByteBuffer> replica = new Replica<>(openDbi(follower, DB_3), receiver, db);
+      assertThat(replica.poll()).isEqualTo(1);
+      assertThat(read(follower, db, 1)).isEqualTo(10);
+    }
+  }
+
+  @Test
+  void unknownDatabaseRejected() throws IOException {
+    final Path copy = tempDir.createTempFile();
+    final long from = LogShipper.snapshot(leader, copy);
+    final ChangeTransport transport = new DirectoryTransport(tempDir.createTempDir());
+    leaderDb.put(bb(1), bb(10));
+    new LogShipper<>(log, transport, from).ship(10);
+    try (Env<ByteBuffer> follower = open(copy)) {
+      final Replica<ByteBuffer> replica = new Replica<>(openDbi(follower, DB_3), transport);
+      assertThatThrownBy(replica::poll).isInstanceOf(Replica.UnknownDatabaseException.class);
+      assertThat(replica.appliedTxnId()).isZero();
+
+      // the batch that failed is kept until a replica applies it
+      final Dbi<ByteBuffer> db = openDbi(follower, DB_1);
+      final Replica<ByteBuffer> retry = new Replica<>(openDbi(follower, DB_3), transport, db);
+      assertThat(retry.poll()).isEqualTo(1);
+      assertThat(read(follower, db, 1)).isEqualTo(10);
+      assertThat(retry.poll()).isZero();
+    }
+  }
+
+  @Test
+  void missingChangesRejected() throws IOException {
+    final Path copy = tempDir.createTempFile();
+    final long from = LogShipper.snapshot(leader, copy);
+    final ChangeTransport transport = new DirectoryTransport(tempDir.createTempDir());
+    leaderDb.put(bb(1), bb(10));
+    final LogShipper<ByteBuffer> shipper = new LogShipper<>(log, transport, from);
+    shipper.ship(10);
+    leaderDb.put(bb(2), bb(20));
+    final long lost = shipper.nextTxnId();
+    leaderDb.put(bb(3), bb(30));
+    // a shipper that skips the transaction writing key 2
+    new LogShipper<>(log, transport, lost + 1).ship(10);
+
+    try (Env<ByteBuffer> follower = open(copy)) {
+      final Dbi<ByteBuffer> db = openDbi(follower, DB_1);
+      final Replica<ByteBuffer> replica = new Replica<>(openDbi(follower, DB_3), transport, db);
+      assertThat(replica.poll()).isEqualTo(1);
+      assertThatThrownBy(replica::poll).isInstanceOf(Replica.MissingChangesException.class);
+      assertThat(read(follower, db, 3)).isNull();
+      assertThat(replica.appliedTxnId()).isEqualTo(lost - 1);
+    }
+  }
+
+  private static Env<ByteBuffer> open(final Path path) {
+    return create()
+        .setMapSize(10, ByteUnit.MEBIBYTES)
+        .setMaxReaders(2)
+        .setMaxDbs(3)
+        .setEnvFlags(MDB_NOSUBDIR)
+        .open(path);
+  }
+
+  private static Dbi<ByteBuffer> openDbi(final Env<ByteBuffer> env, final String name) {
+    return env.createDbi().setDbName(name).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+  }
+
+  private static Integer read(final Env<ByteBuffer> env, final Dbi<ByteBuffer> db, final int key) {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final ByteBuffer val = db.get(txn, bb(key));
+      return val == null ? null : val.getInt(0);
+    }
+  }
+}
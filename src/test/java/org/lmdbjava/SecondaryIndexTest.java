@@ -0,0 +1,222 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.DbiFlags.MDB_DUPSORT;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link SecondaryIndex}. */
+public final class SecondaryIndexTest {
+
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> index;
+  private Dbi<ByteBuffer> primary;
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    primary = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    index =
+        env.createDbi()
+            .setDbName(DB_2)
+            .withDefaultComparator()
+            .addDbiFlag(MDB_CREATE)
+            .addDbiFlag(MDB_DUPSORT)
+            .open();
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void maintainedOnPutAndDelete() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      primary.put(bb(1), bb(100));
+      primary.put(bb(2), bb(200));
+      primary.put(bb(3), bb(100));
+      assertThat(lookup(idx, 100)).containsExactly(1, 3);
+
+      primary.put(bb(1), bb(200));
+      assertThat(lookup(idx, 100)).containsExactly(3);
+      assertThat(lookup(idx, 200)).containsExactly(1, 2);
+
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        primary.delete(txn, bb(2));
+        try (Cursor<ByteBuffer> c = primary.openCursor(txn)) {
+          assertThat(c.get(bb(3), GetOp.MDB_SET_KEY)).isTrue();
+          c.delete();
+        }
+        txn.commit();
+      }
+      assertThat(lookup(idx, 100)).isEmpty();
+      assertThat(lookup(idx, 200)).containsExactly(1);
+      assertThat(indexEntries()).isEqualTo(1);
+    }
+  }
+
+  @Test
+  void abortLeavesIndexUnchanged() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      primary.put(bb(1), bb(100));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        primary.put(txn, bb(1), bb(200));
+        txn.abort();
+      }
+      assertThat(lookup(idx, 100)).containsExactly(1);
+      assertThat(lookup(idx, 200)).isEmpty();
+    }
+  }
+
+  @Test
+  void reservedValuesIndexedOnCommit() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      primary.put(bb(1), bb(100));
+      primary.put(bb(4), bb(400));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        primary.reserve(txn, bb(1), Integer.BYTES).putInt(0, 300);
+        primary.reserve(txn, bb(2), Integer.BYTES).putInt(0, 300);
+        try (Cursor<ByteBuffer> c = primary.openCursor(txn)) {
+          c.reserve(bb(3), Integer.BYTES).putInt(0, 300);
+        }
+        primary.reserve(txn, bb(5), Integer.BYTES).putInt(0, 500);
+        primary.delete(txn, bb(5));
+        try (Txn<ByteBuffer> child = env.txn(txn)) {
+          primary.reserve(child, bb(6), Integer.BYTES).putInt(0, 600);
+          child.abort();
+        }
+        txn.commit();
+      }
+      assertThat(lookup(idx, 100)).isEmpty();
+      assertThat(lookup(idx, 300)).containsExactly(1, 2, 3);
+      assertThat(indexEntries()).isEqualTo(4);
+    }
+  }
+
+  @Test
+  void inPlaceUpdatesStayIndexed() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      primary.put(bb(1), bb(100));
+      primary.put(bb(2), bb(200));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        try (Cursor<ByteBuffer> c = primary.openCursor(txn)) {
+          assertThat(c.get(bb(1), GetOp.MDB_SET_KEY)).isTrue();
+          c.valForUpdate().putInt(0, 300);
+          assertThat(c.get(bb(2), GetOp.MDB_SET_KEY)).isTrue();
+          c.valForUpdate();
+        }
+        txn.commit();
+      }
+      assertThat(lookup(idx, 100)).isEmpty();
+      assertThat(lookup(idx, 200)).containsExactly(2);
+      assertThat(lookup(idx, 300)).containsExactly(1);
+      assertThat(indexEntries()).isEqualTo(2);
+    }
+  }
+
+  @Test
+  void rangeJoinsPrimary() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      for (int i = 0; i < 10; i++) {
+        primary.put(bb(i), bb(50 - i));
+      }
+      final List<Integer> keys = new ArrayList<>();
+      try (Txn<ByteBuffer> txn = env.txnRead();
+          SecondaryIndex<ByteBuffer>.Join join =
+              idx.iterate(txn, KeyRange.closed(bb(43), bb(45)))) {
+        for (final CursorIterable.KeyVal<ByteBuffer> kv : join) {
+          assertThat(kv.val().getInt(0)).isEqualTo(50 - kv.key().getInt(0));
+          keys.add(kv.key().getInt(0));
+        }
+      }
+      assertThat(keys).containsExactly(7, 6, 5);
+    }
+  }
+
+  @Test
+  void rebuildIndexesExistingData() {
+    for (int i = 0; i < 100; i++) {
+      primary.put(bb(i), bb(i % 7));
+    }
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      assertThat(indexEntries()).isZero();
+      idx.rebuild();
+      assertThat(indexEntries()).isEqualTo(100);
+      assertThat(lookup(idx, 3)).hasSize(14).startsWith(3, 10, 17);
+    }
+  }
+
+  @Test
+  void dropClearsIndex() {
+    try (SecondaryIndex<ByteBuffer> idx = new SecondaryIndex<>(primary, index, v -> v)) {
+      primary.put(bb(1), bb(100));
+      try (Txn<ByteBuffer> txn = env.txnWrite()) {
+        primary.drop(txn);
+        txn.commit();
+      }
+      assertThat(indexEntries()).isZero();
+    }
+  }
+
+  @Test
+  void indexMustBeDupsort() {
+    assertThatThrownBy(() -> new SecondaryIndex<>(primary, primary, v -> v))
+        .isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private int indexEntries() {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      return (int) index.stat(txn).entries;
+    }
+  }
+
+  private List<Integer> lookup(final SecondaryIndex<ByteBuffer> idx, final int indexKey) {
+    final List<Integer> keys = new ArrayList<>();
+    try (Txn<ByteBuffer> txn = env.txnRead();
+        SecondaryIndex<ByteBuffer>.Join join =
+            idx.iterate(txn, KeyRange.closed(bb(indexKey), bb(indexKey)))) {
+      for (final CursorIterable.KeyVal<ByteBuffer> kv : join) {
+        keys.add(kv.key().getInt(0));
+      }
+    }
+    return keys;
+  }
+}
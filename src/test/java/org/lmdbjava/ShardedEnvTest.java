@@ -0,0 +1,201 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link ShardedEnv} and {@link ShardedDbi}. */
+public final class ShardedEnvTest {
+
+  private static final int SHARDS = 3;
+
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+  }
+
+  @AfterEach
+  void afterEach() {
+    tempDir.cleanup();
+  }
+
+  @Test
+  void hashPartitionedReadWrite() {
+    try (ShardedEnv<ByteBuffer> env = open(ShardedEnv.Partitioner.hash())) {
+      final ShardedDbi<ByteBuffer> db = openDbi(env);
+      for (int i = 0; i < 30; i++) {
+        db.put(bb(i), bb(i * 10));
+      }
+      try (ShardedTxn<ByteBuffer> txn = env.txnWrite()) {
+        assertThat(db.delete(txn, bb(5))).isTrue();
+        db.put(txn, bb(100), bb(1_000));
+        txn.commit();
+      }
+      try (ShardedTxn<ByteBuffer> txn = env.txnRead()) {
+        assertThat(db.get(txn, bb(7)).getInt(0)).isEqualTo(70);
+        assertThat(db.get(txn, bb(5))).isNull();
+        assertThat(db.get(txn, bb(100)).getInt(0)).isEqualTo(1_000);
+      }
+      for (int shard = 0; shard < SHARDS; shard++) {
+        assertThat(entries(env.shard(shard), db.shard(shard))).isPositive();
+      }
+    }
+  }
+
+  @Test
+  void iterationMergesShardsInOrder() {
+    try (ShardedEnv<ByteBuffer> env = open(ShardedEnv.Partitioner.hash())) {
+      final ShardedDbi<ByteBuffer> db = openDbi(env);
+      final Map<ByteBuffer, ByteBuffer> entries = new LinkedHashMap<>();
+      for (int i = 0; i < 50; i++) {
+        entries.put(bb(i), bb(i));
+      }
+      db.putAll(entries);
+
+      final List<Integer> forward = new ArrayList<>();
+      final List<Integer> backward = new ArrayList<>();
+      try (ShardedTxn<ByteBuffer> txn = env.txnRead()) {
+        try (MergeIterable<ByteBuffer> it = db.iterate(txn, KeyRange.closed(bb(10), bb(19)))) {
+          for (final CursorIterable.KeyVal<ByteBuffer> kv : it) {
+            forward.add(kv.key().getInt(0));
+          }
+        }
+        try (MergeIterable<ByteBuffer> it = db.iterate(txn, KeyRange.allBackward())) {
+          for (final CursorIterable.KeyVal<ByteBuffer> kv : it) {
+            backward.add(kv.val().getInt(0));
+          }
+        }
+      }
+      assertThat(forward).containsExactly(10, 11, 12, 13, 14, 15, 16, 17, 18, 19);
+      assertThat(backward).hasSize(50).startsWith(49, 48, 47).endsWith(1, 0);
+    }
+  }
+
+  @Test
+  void oppositeShardOrdersDoNotDeadlock() throws Exception {
+    final ShardedEnv.Partitioner p =
+        ShardedEnv.Partitioner.range(new byte[] {0, 0, 0, 10}, new byte[] {0, 0, 0, 20});
+    try (ShardedEnv<ByteBuffer> env = open(p)) {
+      final ShardedDbi<ByteBuffer> db = openDbi(env);
+      final CyclicBarrier barrier = new CyclicBarrier(2);
+      final ExecutorService pool = Executors.newFixedThreadPool(2);
+      try {
+        final Future<?> forward = pool.submit(() -> writeBoth(env, db, barrier, 0, 2, 5, 25));
+        final Future<?> backward = pool.submit(() -> writeBoth(env, db, barrier, 2, 0, 26, 6));
+        forward.get(30, SECONDS);
+        backward.get(30, SECONDS);
+      } finally {
+        pool.shutdownNow();
+      }
+      assertThat(entries(env.shard(0), db.shard(0))).isEqualTo(2);
+      assertThat(entries(env.shard(1), db.shard(1))).isZero();
+      assertThat(entries(env.shard(2), db.shard(2))).isEqualTo(2);
+
+      try (ShardedTxn<ByteBuffer> txn = env.txnWrite(2)) {
+        assertThatThrownBy(() -> db.put(txn, bb(1), bb(1)))
+            .isInstanceOf(IllegalStateException.class);
+      }
+    }
+  }
+
+  @Test
+  void rangePartitioner() {
+    final ShardedEnv.Partitioner p =
+        ShardedEnv.Partitioner.range(new byte[] {0, 0, 0, 10}, new byte[] {0, 0, 0, 20});
+    assertThat(p.shard(new byte[] {0, 0, 0, 9}, SHARDS)).isZero();
+    assertThat(p.shard(new byte[] {0, 0, 0, 10}, SHARDS)).isEqualTo(1);
+    assertThat(p.shard(new byte[] {0, 0, 0, 19}, SHARDS)).isEqualTo(1);
+    assertThat(p.shard(new byte[] {1}, SHARDS)).isEqualTo(2);
+    assertThatThrownBy(() -> ShardedEnv.Partitioner.range(new byte[] {2}, new byte[] {1}))
+        .isInstanceOf(IllegalArgumentException.class);
+
+    try (ShardedEnv<ByteBuffer> env = open(p)) {
+      final ShardedDbi<ByteBuffer> db = openDbi(env);
+      for (int i = 0; i < 30; i++) {
+        db.put(bb(i), bb(i));
+      }
+      assertThat(entries(env.shard(0), db.shard(0))).isEqualTo(10);
+      assertThat(entries(env.shard(2), db.shard(2))).isEqualTo(10);
+    }
+  }
+
+  private static Void writeBoth(
+      final ShardedEnv<ByteBuffer> env,
+      final ShardedDbi<ByteBuffer> db,
+      final CyclicBarrier barrier,
+      final int firstShard,
+      final int secondShard,
+      final int firstKey,
+      final int secondKey)
+      throws Exception {
+    barrier.await(10, SECONDS);
+    try (ShardedTxn<ByteBuffer> txn = env.txnWrite(firstShard, secondShard)) {
+      db.put(txn, bb(firstKey), bb(firstKey));
+      Thread.sleep(50);
+      db.put(txn, bb(secondKey), bb(secondKey));
+      txn.commit();
+    }
+    return null;
+  }
+
+  private ShardedEnv<ByteBuffer> open(final ShardedEnv.Partitioner partitioner) {
+    final List<Env<ByteBuffer>> envs = new ArrayList<>();
+    for (int i = 0; i < SHARDS; i++) {
+      envs.add(
+          create()
+              .setMapSize(10, ByteUnit.MEBIBYTES)
+              .setMaxReaders(2)
+              .setMaxDbs(1)
+              .setEnvFlags(MDB_NOSUBDIR)
+              .open(tempDir.createTempFile()));
+    }
+    return new ShardedEnv<>(envs, partitioner);
+  }
+
+  private static ShardedDbi<ByteBuffer> openDbi(final ShardedEnv<ByteBuffer> env) {
+    return env.openDbi(
+        e -> e.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open());
+  }
+
+  private static long entries(final Env<ByteBuffer> env, final Dbi<ByteBuffer> db) {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      return db.stat(txn).entries;
+    }
+  }
+}
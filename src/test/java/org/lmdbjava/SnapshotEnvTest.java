@@ -0,0 +1,139 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.PosixFilePermissions;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.lmdbjava.Env.SnapshotNotSealedException;
+
+/** Test {@link SnapshotEnv} and {@link Env.Builder#openSnapshot(Path)}. */
+public final class SnapshotEnvTest {
+
+  private TempDir tempDir;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+  }
+
+  @AfterEach
+  void afterEach() {
+    tempDir.cleanup();
+  }
+
+  @Test
+  void unsealedRejected() throws IOException {
+    final Path dir = build(1, false);
+    assertThatThrownBy(() -> create().setMaxDbs(1).openSnapshot(dir))
+        .isInstanceOf(SnapshotNotSealedException.class);
+  }
+
+  @Test
+  void sealedOpensWithoutLockFile() throws IOException {
+    final Path dir = build(1, true);
+    try (Env<ByteBuffer> env = create().setMaxDbs(1).openSnapshot(dir)) {
+      assertThat(env.isReadOnly()).isTrue();
+      final Dbi<ByteBuffer> db = env.createDbi().setDbName(DB_1).withDefaultComparator().open();
+      try (Txn<ByteBuffer> txn = env.txnRead()) {
+        assertThat(db.get(txn, bb(1)).getInt(0)).isEqualTo(1);
+      }
+    }
+    assertThat(dir.resolve("lock.mdb")).doesNotExist();
+  }
+
+  @Test
+  void swapDrainsPreviousSnapshot() throws IOException {
+    final Path first = build(1, true);
+    final Path second = build(2, true);
+    try (SnapshotEnv<ByteBuffer> snapshots =
+        new SnapshotEnv<>(p -> create().setMaxDbs(1).openSnapshot(p), first)) {
+      final SnapshotEnv.Snapshot<ByteBuffer> old = snapshots.acquire();
+      assertThat(read(old)).isEqualTo(1);
+
+      snapshots.swap(second);
+      try (SnapshotEnv.Snapshot<ByteBuffer> current = snapshots.acquire()) {
+        assertThat(read(current)).isEqualTo(2);
+      }
+      // the old snapshot stays usable until released
+      assertThat(read(old)).isEqualTo(1);
+      final Env<ByteBuffer> oldEnv = old.env();
+      old.close();
+      assertThat(oldEnv.isClosed()).isTrue();
+      assertThatThrownBy(old::txnRead).isInstanceOf(IllegalStateException.class);
+    }
+  }
+
+  @Test
+  void unnamedDbiIsDistinctFromEmptyName() throws IOException {
+    try (SnapshotEnv<ByteBuffer> snapshots =
+            new SnapshotEnv<>(p -> create().setMaxDbs(1).openSnapshot(p), build(1, true));
+        SnapshotEnv.Snapshot<ByteBuffer> snapshot = snapshots.acquire()) {
+      final Dbi<ByteBuffer> unnamed = snapshot.dbi(null);
+      assertThat(snapshot.dbi(null)).isSameAs(unnamed);
+      assertThat(snapshot.dbi(DB_1)).isSameAs(snapshot.dbi(DB_1)).isNotSameAs(unnamed);
+      assertThatThrownBy(() -> snapshot.dbi("")).isInstanceOf(LmdbNativeException.class);
+    }
+  }
+
+  @Test
+  void closeReleasesCurrent() throws IOException {
+    final SnapshotEnv<ByteBuffer> snapshots =
+        new SnapshotEnv<>(p -> create().setMaxDbs(1).openSnapshot(p), build(1, true));
+    final SnapshotEnv.Snapshot<ByteBuffer> held = snapshots.acquire();
+    snapshots.close();
+    assertThat(held.env().isClosed()).isFalse();
+    assertThatThrownBy(snapshots::acquire).isInstanceOf(Env.AlreadyClosedException.class);
+    final Env<ByteBuffer> env = held.env();
+    held.close();
+    assertThat(env.isClosed()).isTrue();
+  }
+
+  private static int read(final SnapshotEnv.Snapshot<ByteBuffer> snapshot) {
+    final Dbi<ByteBuffer> db = snapshot.dbi(DB_1);
+    try (Txn<ByteBuffer> txn = snapshot.txnRead()) {
+      return db.get(txn, bb(1)).getInt(0);
+    }
+  }
+
+  private Path build(final int value, final boolean seal) throws IOException {
+    final Path dir = tempDir.createTempDir();
+    try (Env<ByteBuffer> env = create().setMaxDbs(1).open(dir)) {
+      final Dbi<ByteBuffer> db =
+          env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+      db.put(bb(1), bb(value));
+    }
+    Files.delete(dir.resolve("lock.mdb"));
+    if (seal) {
+      Files.setPosixFilePermissions(
+          dir.resolve("data.mdb"), PosixFilePermissions.fromString("r--r--r--"));
+    }
+    return dir;
+  }
+}
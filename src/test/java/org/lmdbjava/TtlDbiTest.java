@@ -0,0 +1,172 @@
+/*
+ * Copyright © 2016-2026 The LmdbJava Open Source Project
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ *     http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package org.lmdbjava;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.lmdbjava.DbiFlags.MDB_CREATE;
+import static org.lmdbjava.Env.create;
+import static org.lmdbjava.EnvFlags.MDB_NOSUBDIR;
+import static org.lmdbjava.TestUtils.DB_1;
+import static org.lmdbjava.TestUtils.DB_2;
+import static org.lmdbjava.TestUtils.bb;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+/** Test {@link TtlDbi}. */
+public final class TtlDbiTest {
+
+  private final AtomicLong clock = new AtomicLong(1_000_000L);
+  private Dbi<ByteBuffer> db;
+  private Env<ByteBuffer> env;
+  private Dbi<ByteBuffer> expiry;
+  private TempDir tempDir;
+  private TtlDbi<ByteBuffer> ttl;
+
+  @BeforeEach
+  void beforeEach() {
+    tempDir = new TempDir();
+    env =
+        create()
+            .setMapSize(10, ByteUnit.MEBIBYTES)
+            .setMaxReaders(1)
+            .setMaxDbs(2)
+            .setEnvFlags(MDB_NOSUBDIR)
+            .open(tempDir.createTempFile());
+    db = env.createDbi().setDbName(DB_1).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    expiry = env.createDbi().setDbName(DB_2).withDefaultComparator().addDbiFlag(MDB_CREATE).open();
+    ttl = new TtlDbi<>(db, expiry, clock::get);
+  }
+
+  @AfterEach
+  void afterEach() {
+    env.close();
+    tempDir.cleanup();
+  }
+
+  @Test
+  void expiredEntriesHidden() {
+    ttl.put(bb(1), bb(10), 5, SECONDS);
+    ttl.put(bb(2), bb(20), 10, SECONDS);
+    assertThat(read(1)).isEqualTo(10);
+    clock.addAndGet(5_000);
+    assertThat(read(1)).isNull();
+    assertThat(read(2)).isEqualTo(20);
+  }
+
+  @Test
+  void replaceExtendsExpiry() {
+    ttl.put(bb(1), bb(10), 100, MILLISECONDS);
+    ttl.put(bb(1), bb(11), 1, SECONDS);
+    clock.addAndGet(500);
+    assertThat(read(1)).isEqualTo(11);
+    assertThat(ttl.sweep(10)).isZero();
+    assertThat(count(expiry)).isEqualTo(1);
+  }
+
+  @Test
+  void sweepDeletesInBatches() {
+    for (int i = 0; i < 25; i++) {
+      ttl.put(bb(i), bb(i), i < 20 ? 1 : 60, SECONDS);
+    }
+    clock.addAndGet(1_000);
+    assertThat(ttl.sweep(8)).isEqualTo(8);
+    assertThat(ttl.sweep(8)).isEqualTo(8);
+    assertThat(ttl.sweep(8)).isEqualTo(4);
+    assertThat(ttl.sweep(8)).isZero();
+    assertThat(count(db)).isEqualTo(5);
+    assertThat(count(expiry)).isEqualTo(5);
+    assertThat(read(22)).isEqualTo(22);
+  }
+
+  @Test
+  void deleteRemovesIndex() {
+    ttl.put(bb(1), bb(10), 1, SECONDS);
+    try (Txn<ByteBuffer> txn = env.txnWrite()) {
+      assertThat(ttl.delete(txn, bb(1))).isTrue();
+      assertThat(ttl.delete(txn, bb(1))).isFalse();
+      txn.commit();
+    }
+    assertThat(count(db)).isZero();
+    assertThat(count(expiry)).isZero();
+  }
+
+  @Test
+  void storedValueHasExpiryHeader() {
+    ttl.put(bb(1), bb(10), 5, SECONDS);
+    final List<Integer> observed = new ArrayList<>();
+    final WriteListener<ByteBuffer> listener =
+        new WriteListener<ByteBuffer>() {
+          @Override
+          public void afterPut(
+              final Txn<ByteBuffer> txn,
+              final Dbi<ByteBuffer> dbi,
+              final ByteBuffer key,
+              final ByteBuffer val) {
+            if (dbi == db) {
+              observed.add(val.getInt(Long.BYTES));
+            }
+          }
+        };
+    env.addWriteListener(listener);
+    try {
+      ttl.put(bb(2), bb(20), 10, SECONDS);
+    } finally {
+      env.removeWriteListener(listener);
+    }
+    assertThat(observed).containsExactly(20);
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final ByteBuffer first = db.get(txn, bb(1));
+      assertThat(first.remaining()).isEqualTo(Long.BYTES + Integer.BYTES);
+      assertThat(first.getLong(0)).isEqualTo(1_005_000L);
+      assertThat(first.getInt(Long.BYTES)).isEqualTo(10);
+      final ByteBuffer second = db.get(txn, bb(2));
+      assertThat(second.getLong(0)).isEqualTo(1_010_000L);
+      assertThat(ttl.get(txn, bb(1)).getInt(0)).isEqualTo(10);
+      assertThat(ttl.get(txn, bb(2)).getInt(0)).isEqualTo(20);
+    }
+  }
+
+  @Test
+  void argumentsValidated() {
+    assertThatThrownBy(() -> ttl.put(bb(1), bb(1), 0, SECONDS))
+        .isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> ttl.sweep(0)).isInstanceOf(IllegalArgumentException.class);
+    assertThatThrownBy(() -> new TtlDbi<>(db, db)).isInstanceOf(IllegalArgumentException.class);
+  }
+
+  private int count(final Dbi<ByteBuffer> dbi) {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      return (int) dbi.stat(txn).entries;
+    }
+  }
+
+  private Integer read(final int key) {
+    try (Txn<ByteBuffer> txn = env.txnRead()) {
+      final ByteBuffer val = ttl.get(txn, bb(key));
+      return val == null ? null : val.getInt(0);
+    }
+  }
+}